@@ -52,6 +52,13 @@ public final class Application
 
 	public static void	main(String[] args)
 	{
+		// Render offscreen, without a window, for benchmarks and tests
+		if (args.length > 0 && "--headless".equals(args[0]))
+		{
+			new Headless(args).run();
+			return;
+		}
+
 		SwingUtilities.invokeLater(new Application(args));
 	}
 
@@ -0,0 +1,263 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 12:58:06 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The fences are a fixed set of boards, registered once when the model is
+// created. Every board is 24 wide and 102 tall on one side and 112 on the
+// other. Boards added together with addStrip() form a zig-zag strip, and are
+// drawn as a group (all fills, then all edges). Boards added with addBoard()
+// stand alone.
+//
+// Each board has one bit of flip state, which swaps its short and tall sides.
+// Flipping a board bumps the version, so cached layers know to redraw. The
+// model copies the flip bits into each Snapshot, and the view re-records only
+// the boards whose bits differ from the ones it last drew.
+//
+// Boards are only registered while the model is built, so after that their
+// places and groups never change. Only the flip bits do, and only the model
+// flips them, while it applies input.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Fences</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Fences
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int	WIDTH = 24;			// Width of every board
+	public static final int	SHORT = 102;		// Height of the short side
+	public static final int	TALL = 112;			// Height of the tall side
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Boards, in drawing order
+	private int[]				xs = new int[16];	// Left of base
+	private int[]				ys = new int[16];	// Bottom of base
+	private int[]				groups = new int[16];	// Boards drawn together
+	private long[]			tallLeft = new long[1];	// Before any flips
+	private long[]			flips = new long[1];	// Current flip state
+	private int				n;				// Number of boards
+	private int				groupCount;
+
+	// Board indices sorted by x, for lookup
+	private int[]				order = new int[0];
+
+	private int				version;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Fences()
+	{
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return n;
+	}
+
+	public int	getX(int i)
+	{
+		return xs[i];
+	}
+
+	public int	getY(int i)
+	{
+		return ys[i];
+	}
+
+	public int	getGroup(int i)
+	{
+		return groups[i];
+	}
+
+	public boolean	isFlipped(int i)
+	{
+		return get(flips, i);
+	}
+
+	public int	getLeftHeight(int i)
+	{
+		return getLeftHeight(i, get(flips, i));
+	}
+
+	public int	getRightHeight(int i)
+	{
+		return getRightHeight(i, get(flips, i));
+	}
+
+	// Returns the height of the left side of board i, flipped or not.
+	public int	getLeftHeight(int i, boolean flipped)
+	{
+		return ((get(tallLeft, i) != flipped) ? TALL : SHORT);
+	}
+
+	public int	getRightHeight(int i, boolean flipped)
+	{
+		return ((get(tallLeft, i) != flipped) ? SHORT : TALL);
+	}
+
+	// Increases every time a board is flipped.
+	public int	getVersion()
+	{
+		return version;
+	}
+
+	// Copies the flip bits, 64 boards to a long, into out. Returns out, or a
+	// new array if out is too short.
+	public long[]	copyFlips(long[] out)
+	{
+		if (out.length < flips.length)
+			out = new long[flips.length];
+
+		System.arraycopy(flips, 0, out, 0, flips.length);
+
+		return out;
+	}
+
+	//**********************************************************************
+	// Public Methods (Registry)
+	//**********************************************************************
+
+	// Adds a left-to-right zig-zag strip of boards with its base at dx, dy.
+	// The leftmost board is short on the left.
+	public void	addStrip(int dx, int dy, int boards)
+	{
+		for (int i=0; i<boards; i++)
+			add(dx + i * WIDTH, dy, (i % 2 == 1));
+
+		groupCount++;
+	}
+
+	// Adds a single board with its base at dx, dy, short on the left.
+	public void	addBoard(int dx, int dy)
+	{
+		add(dx, dy, false);
+		groupCount++;
+	}
+
+	// Returns the board under the scene point (x, y), or -1 if there is none.
+	// Where two boards overlap, the one further right wins.
+	public int	find(double x, double y)
+	{
+		int	lo = 0;
+		int	hi = n;
+
+		// Find the last board whose left edge is at or before x
+		while (lo < hi)
+		{
+			int	mid = (lo + hi) >>> 1;
+
+			if (xs[order[mid]] <= x)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+
+		if (lo == 0)
+			return -1;
+
+		int		i = order[lo - 1];
+		double	u = (x - xs[i]) / WIDTH;		// Across the board, 0 to 1
+		double	top = getLeftHeight(i) +
+			u * (getRightHeight(i) - getLeftHeight(i));
+
+		if (u > 1.0 || y < ys[i] || y > ys[i] + top)
+			return -1;
+
+		return i;
+	}
+
+	// Swaps the short and tall sides of board i.
+	public void	flip(int i)
+	{
+		if (i < 0 || i >= n)
+			throw new IndexOutOfBoundsException("Board: " + i);
+
+		set(flips, i, !get(flips, i));
+		version++;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	add(int x, int y, boolean left)
+	{
+		if (n == xs.length)
+		{
+			xs = Arrays.copyOf(xs, 2 * n);
+			ys = Arrays.copyOf(ys, 2 * n);
+			groups = Arrays.copyOf(groups, 2 * n);
+		}
+
+		if (n == 64 * flips.length)
+		{
+			tallLeft = Arrays.copyOf(tallLeft, 2 * tallLeft.length);
+			flips = Arrays.copyOf(flips, 2 * flips.length);
+		}
+
+		xs[n] = x;
+		ys[n] = y;
+		groups[n] = groupCount;
+		set(tallLeft, n, left);
+		n++;
+
+		// Keep the lookup order sorted by x (insertion, since boards are few)
+		order = Arrays.copyOf(order, n);
+
+		int	j = n - 1;
+
+		while (j > 0 && xs[order[j - 1]] > x)
+		{
+			order[j] = order[j - 1];
+			j--;
+		}
+
+		order[j] = n - 1;
+	}
+
+	private static boolean	get(long[] bits, int i)
+	{
+		return ((bits[i >>> 6] & (1L << i)) != 0L);
+	}
+
+	private static void	set(long[] bits, int i, boolean value)
+	{
+		if (value)
+			bits[i >>> 6] |= (1L << i);
+		else
+			bits[i >>> 6] &= ~(1L << i);
+	}
+}
+
+//******************************************************************************
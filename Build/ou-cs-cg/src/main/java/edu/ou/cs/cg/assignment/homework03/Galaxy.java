@@ -0,0 +1,198 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 10:48:31 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The background galaxy is a Lorenz attractor traced from (0.1, 0, 0). The
+// trajectory never changes, so it is integrated once, shaded by depth, and
+// kept in a vertex buffer. It is traced adaptively, with points at even
+// spacing about as far apart as Euler steps of 0.01 were. Only two things
+// animate:
+//
+//   1. A window of 41 points cycles along the trajectory in color. These are
+//      the only vertices sent per frame.
+//   2. The galaxy rises. The rise of each point is 0.00005 * k * (1.5 - 0.05
+//      * lx), which is linear in the point's x, so the whole rise is applied
+//      as one shear-and-translate on the modelview matrix.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
+import edu.ou.cs.cg.integration.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Galaxy</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Galaxy
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	FLOATS = 6;			// x, y, r, g, b, a
+	private static final int	STRIDE = FLOATS * Buffers.SIZEOF_FLOAT;
+	private static final int	WINDOW = 20;		// Half width of animation
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int			n;				// Number of points
+	private final float[]		data;			// Interleaved, in trajectory order
+	private final double[]		rise = new double[16];	// Modelview shear
+
+	private int				vbo;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// These pages are helpful:
+	// en.wikipedia.org/wiki/Lorenz_system
+	// www.algosome.com/articles/lorenz-attractor-programming-code.html
+	public Galaxy(int n)
+	{
+		this.n = n;
+
+		data = new float[FLOATS * n];
+
+		Tracer		tracer = new Tracer(new DormandPrince(new LorenzSystem(),
+															1.0e-6, 0.05), 0.75);
+		double[]	xyz = new double[3 * n];
+
+		tracer.start(0.0, new double[] { 0.1, 0.0, 0.0 }, 0.01);
+		tracer.next(xyz, 0, n);
+
+		for (int i=0; i<n; i++)
+		{
+			double	lx = xyz[3 * i];
+			double	ly = xyz[3 * i + 1];
+			double	lz = xyz[3 * i + 2];
+			float	cc = (float)((lz + 30.0) / 60.0);
+			int		o = FLOATS * i;
+
+			data[o] = (float)(-lx / 30.0);
+			data[o + 1] = (float)(ly / 30.0);
+			data[o + 2] = cc;						// Gray, depth-scaled
+			data[o + 3] = cc;
+			data[o + 4] = cc;
+			data[o + 5] = 0.05f;					// Background stars
+		}
+
+		// Identity, apart from the shear and translation set in draw()
+		rise[0] = rise[5] = rise[10] = rise[15] = 1.0;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Draws the galaxy for animation frame k in the current projection.
+	public void	draw(GL2 gl, int k)
+	{
+		if (vbo == 0)
+			upload(gl);
+
+		// The rise dy = a + b * x, with x = -lx / 30, applied as y += dy
+		double	a = 0.00005 * k * 1.5;
+		double	b = 0.00005 * k * 0.05 * 30.0;
+
+		rise[1] = b;
+		rise[13] = a;
+
+		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glMultMatrixd(rise, 0);
+
+		gl.glPointSize(5.0f);					// Set point size (in pixels)
+
+		// Points before and after the animation window come straight from
+		// the buffer. The window itself is drawn in between, in order.
+		int	c = k % n;
+		int	lo = Math.max(0, c - WINDOW);
+		int	hi = Math.min(n, c + WINDOW + 1);
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+		gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+		gl.glEnableClientState(GL2.GL_COLOR_ARRAY);
+		gl.glVertexPointer(2, GL.GL_FLOAT, STRIDE, 0L);
+		gl.glColorPointer(4, GL.GL_FLOAT, STRIDE, 2L * Buffers.SIZEOF_FLOAT);
+
+		if (lo > 0)
+			gl.glDrawArrays(GL.GL_POINTS, 0, lo);
+
+		gl.glDisableClientState(GL2.GL_COLOR_ARRAY);
+
+		gl.glBegin(GL.GL_POINTS);
+
+		for (int i=lo; i<hi; i++)
+		{
+			int	cw = (c - i + WINDOW) * 6 + 15;
+
+			gl.glColor4f(1.0f, (255 - cw) / 255.0f, cw / 255.0f,
+						 (255 - cw) / 255.0f);		// Dots cycling
+			gl.glVertex2f(data[FLOATS * i], data[FLOATS * i + 1]);
+		}
+
+		gl.glEnd();
+
+		if (hi < n)
+		{
+			gl.glEnableClientState(GL2.GL_COLOR_ARRAY);
+			gl.glDrawArrays(GL.GL_POINTS, hi, n - hi);
+			gl.glDisableClientState(GL2.GL_COLOR_ARRAY);
+		}
+
+		gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+
+		gl.glPointSize(1.0f);					// Reset point size (in pixels)
+		gl.glPopMatrix();
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		if (vbo != 0)
+			gl.glDeleteBuffers(1, new int[] { vbo }, 0);
+
+		vbo = 0;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	upload(GL2 gl)
+	{
+		int[]		ids = new int[1];
+		FloatBuffer	fb = Buffers.newDirectFloatBuffer(data);
+
+		gl.glGenBuffers(1, ids, 0);
+		vbo = ids[0];
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+		gl.glBufferData(GL.GL_ARRAY_BUFFER, (long)data.length *
+						Buffers.SIZEOF_FLOAT, fb, GL.GL_STATIC_DRAW);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,320 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 14:48:09 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Runs the same View on an offscreen drawable (a framebuffer object, or a
+// pbuffer under software Mesa), with no window, so the scene can be
+// benchmarked on machines without a display. Start it with
+//
+//   Application --headless [--frames N] [--size WxH] [--warmup N]
+//                          [--stars N] [--allocations]
+//                          [--replay FILE [--paced]]
+//
+// The animator runs as fast as it can. After the warm-up frames, it times the
+// given number of frames and reports frames per second, percentiles of the
+// time per frame, and the bytes allocated per frame on the GL thread. With
+// --allocations, it exits with a nonzero status if any timed frame allocated
+// anything.
+//
+// --replay feeds an InputJournal, recorded with the homework03.journal
+// property, into the model after the warm-up frames, and times frames until
+// it runs out instead of for a number of frames. By default each frame gets
+// the events of one recorded frame, and steps the moon by that frame's
+// recorded time, so replays are repeatable; --paced feeds them at the pace
+// they were recorded instead.
+//
+// The Model works exactly as it does with a window. Its modify methods queue
+// changes for the GL thread, so code here (or a test) can script stars and
+// other interactions while the scene runs. --stars N adds N random stars.
+// Unless it replays a journal, it moves the cursor around a circle in every
+// frame, through the InputQueue as the mouse handler does, so the cursor's
+// whole input path is timed and checked for allocations.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.util.Animator;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Headless</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Headless
+	implements Runnable
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Options
+	private int				frames = 600;	// Frames to time
+	private int				warmup = 120;	// Frames before timing starts
+	private int				w = 1280;		// Drawable width
+	private int				h = 720;		// Drawable height
+	private int				stars;			// Random stars to add
+	private boolean			allocations;	// Fail if frames allocate?
+	private String				replayPath;		// Journal to replay, or null
+	private boolean			paced;			// Replay at recorded pace?
+
+	// Results, set on the GL thread
+	private final CountDownLatch	done = new CountDownLatch(1);
+	private long				start;			// Time timing started
+	private long				end;			// Time timing ended
+	private long				maxBytes;		// Most bytes in a timed frame
+	private long				totalBytes;		// Bytes in all timed frames
+	private long[]				times = new long[1024];	// Per timed frame
+	private int				timed;			// Frames timed
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Headless(String[] args)
+	{
+		for (int i=0; i<args.length; i++)
+		{
+			String	a = args[i];
+
+			if ("--headless".equals(a))
+				continue;
+			else if ("--frames".equals(a))
+				frames = Integer.parseInt(args[++i]);
+			else if ("--warmup".equals(a))
+				warmup = Integer.parseInt(args[++i]);
+			else if ("--stars".equals(a))
+				stars = Integer.parseInt(args[++i]);
+			else if ("--allocations".equals(a))
+				allocations = true;
+			else if ("--replay".equals(a))
+				replayPath = args[++i];
+			else if ("--paced".equals(a))
+				paced = true;
+			else if ("--size".equals(a))
+			{
+				String[]	wh = args[++i].split("x");
+
+				w = Integer.parseInt(wh[0]);
+				h = Integer.parseInt(wh[1]);
+			}
+			else
+				throw new IllegalArgumentException("Unknown option: " + a);
+		}
+
+		if (frames < 1 || warmup < 1 || w < 1 || h < 1 || stars < 0)
+			throw new IllegalArgumentException("Bad headless options");
+	}
+
+	//**********************************************************************
+	// Override Methods (Runnable)
+	//**********************************************************************
+
+	public void	run()
+	{
+		GLProfile			profile = GLProfile.getDefault();
+		GLCapabilities		capabilities = new GLCapabilities(profile);
+		GLDrawableFactory	factory = GLDrawableFactory.getFactory(profile);
+
+		capabilities.setOnscreen(false);
+
+		GLOffscreenAutoDrawable	drawable =
+			factory.createOffscreenAutoDrawable(null, capabilities, null, w, h);
+		Animator				animator = new Animator(drawable);
+
+		animator.setRunAsFastAsPossible(true);
+
+		InputReplay	replay = null;
+
+		if (replayPath != null)
+		{
+			try
+			{
+				replay = new InputReplay(Paths.get(replayPath), paced);
+			}
+			catch (IOException e)
+			{
+				System.err.println("Could not read input journal: " + e);
+				System.exit(1);
+			}
+		}
+
+		View	view = new View(drawable, animator);
+
+		drawable.addGLEventListener(new FrameCounter(view, replay));
+
+		// Script the model from this thread, as the handlers would
+		Model	model = view.getModel();
+		Random	random = new Random(1);
+
+		for (int i=0; i<stars; i++)
+			model.addPolylinePointInViewCoordinates(
+				new Point(random.nextInt(w), random.nextInt(h / 2)));
+
+		try
+		{
+			done.await();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		animator.stop();
+		drawable.destroy();
+
+		double	seconds = (end - start) / 1.0e9;
+
+		System.out.println("Frames: " + timed + " at " + w + "x" + h +
+						   ", stars: " + view.getSkyStars().size());
+
+		if (replay != null)
+			System.out.println("Replayed: " + replay.getEvents() +
+							   " events" + (paced ? ", paced" : ""));
+
+		System.out.println("Seconds: " + seconds);
+		System.out.println("Frames per second: " + timed / seconds);
+		System.out.println("Frame time: " + percentile(50.0) + "/" +
+						   percentile(95.0) + "/" + percentile(99.0) + "/" +
+						   percentile(100.0) + " ms (50/95/99/max)");
+		System.out.println("Allocated per frame: " +
+						   totalBytes / Math.max(1, timed) +
+						   " bytes average, " + maxBytes + " bytes max");
+
+		if (allocations && maxBytes > 0L)
+		{
+			System.err.println("Frames allocated memory on the GL thread.");
+			System.exit(1);
+		}
+
+		System.exit(0);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Returns a percentile of the timed frame times, in milliseconds.
+	private double	percentile(double p)
+	{
+		if (timed == 0)
+			return 0.0;
+
+		long[]	sorted = Arrays.copyOf(times, timed);
+
+		Arrays.sort(sorted);
+
+		int	i = (int)Math.ceil(p / 100.0 * timed) - 1;
+
+		return sorted[Math.max(0, Math.min(timed - 1, i))] / 1.0e6;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Runs after the View in every frame, counting and timing frames,
+	// reading the View's allocation meter, and queuing replayed or scripted
+	// input for the next frame.
+	private final class FrameCounter implements GLEventListener
+	{
+		private final View			view;
+		private final InputReplay	replay;
+		private int				count;
+		private long				last;		// Time the last frame ended
+
+		public FrameCounter(View view, InputReplay replay)
+		{
+			this.view = view;
+			this.replay = replay;
+		}
+
+		public void	init(GLAutoDrawable drawable)
+		{
+		}
+
+		public void	dispose(GLAutoDrawable drawable)
+		{
+		}
+
+		public void	reshape(GLAutoDrawable drawable, int x, int y, int w, int h)
+		{
+		}
+
+		public void	display(GLAutoDrawable drawable)
+		{
+			long	now = System.nanoTime();
+
+			count++;
+
+			if (count == warmup)
+			{
+				start = now;
+
+				if (replay != null)
+					replay.feed(view.getModel().getInputQueue());
+			}
+			else if (count > warmup && done.getCount() > 0)
+			{
+				long	bytes = view.getAllocationMeter().getLastBytes();
+
+				maxBytes = Math.max(maxBytes, bytes);
+				totalBytes += bytes;
+
+				if (timed == times.length)
+					times = Arrays.copyOf(times, 2 * timed);
+
+				times[timed++] = now - last;
+
+				// Time one more frame after the last input is queued
+				boolean	finished = ((replay != null) ? replay.isDone()
+									: (count == warmup + frames));
+
+				if (replay != null && !finished)
+					replay.feed(view.getModel().getInputQueue());
+
+				if (finished)
+				{
+					end = now;
+					done.countDown();
+				}
+			}
+
+			if (replay == null)
+				moveCursor(view.getModel().getInputQueue());
+
+			last = now;
+		}
+
+		// Moves the cursor a little way around a circle in the view.
+		private void	moveCursor(InputQueue input)
+		{
+			double	a = 0.05 * count;
+			int		r = Math.min(w, h) / 3;
+
+			input.moveCursor(w / 2 + (int)(r * Math.cos(a)),
+							 h / 2 + (int)(r * Math.sin(a)));
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,386 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Tue Oct 20 10:08:40 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Checks that coalescing input in an InputQueue changes nothing the model
+// can see. Needs no display. Run it with
+//
+//   InputCheck [rounds] [events] [seed]
+//
+// Each round makes a random mix of events (500 rounds of 400 events by
+// default) and sends it to two queues. One is drained after every event, as
+// if each ran on its own. The other is drained after random runs of events,
+// as frames would. Both drain into a Trace, which writes down every change
+// it gets, in order, with changes in a row to one of the latest values (the
+// sky color, the sides, the moon) taken as one, and the cursor, origin,
+// moon keys, and profiling as they end up.
+//
+// The two traces must match in every round, or it exits with a nonzero
+// status.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Random;
+
+//******************************************************************************
+
+/**
+ * The <CODE>InputCheck</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class InputCheck
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	W = 1280;
+	private static final int	H = 720;
+	private static final int	KINDS = 14;		// Kinds of events sent
+	private static final int	MAX_RUN = 40;	// Most events in a frame
+
+	//**********************************************************************
+	// Main
+	//**********************************************************************
+
+	public static void	main(String[] args)
+	{
+		int		rounds = ((args.length > 0) ? Integer.parseInt(args[0]) : 500);
+		int		events = ((args.length > 1) ? Integer.parseInt(args[1]) : 400);
+		long	seed = ((args.length > 2) ? Long.parseLong(args[2]) : 1L);
+		Random	random = new Random(seed);
+
+		int[]	kind = new int[events];
+		int[]	xs = new int[events];
+		int[]	ys = new int[events];
+
+		for (int r=0; r<rounds; r++)
+		{
+			for (int i=0; i<events; i++)
+			{
+				kind[i] = random.nextInt(KINDS);
+				xs[i] = random.nextInt(W);
+				ys[i] = random.nextInt(H);
+			}
+
+			// Each event on its own
+			InputQueue	single = new InputQueue();
+			Trace		expected = new Trace();
+
+			for (int i=0; i<events; i++)
+			{
+				send(single, kind[i], xs[i], ys[i]);
+				single.drain(expected, 0L);
+			}
+
+			// Runs of events coalesced into frames
+			InputQueue	framed = new InputQueue();
+			Trace		actual = new Trace();
+			int		i = 0;
+
+			while (i < events)
+			{
+				int	end = Math.min(events, i + 1 + random.nextInt(MAX_RUN));
+
+				for (; i<end; i++)
+					send(framed, kind[i], xs[i], ys[i]);
+
+				framed.drain(actual, 0L);
+			}
+
+			String	a = expected.finish();
+			String	b = actual.finish();
+
+			if (!a.equals(b))
+			{
+				int	k = 0;
+
+				while (k < Math.min(a.length(), b.length()) &&
+					   a.charAt(k) == b.charAt(k))
+					k++;
+
+				int	from = Math.max(0, k - 60);
+
+				System.out.println("Round " + r + " differs at " + k + ":");
+				System.out.println("  alone:     ..." +
+					a.substring(from, Math.min(a.length(), k + 60)));
+				System.out.println("  coalesced: ..." +
+					b.substring(from, Math.min(b.length(), k + 60)));
+				System.exit(1);
+			}
+		}
+
+		System.out.println(rounds + " rounds of " + events +
+						   " events matched");
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Sends one event of the given kind, at a point where it needs one.
+	private static void	send(InputQueue q, int kind, int x, int y)
+	{
+		switch (kind)
+		{
+			case 0:	case 1:	case 2:		// Mostly points, as when dragging
+				q.addPoint(x, y);
+				break;
+
+			case 3:
+				q.deleteOldest();
+				break;
+
+			case 4:
+				q.deleteNewest();
+				break;
+
+			case 5:
+				if (x % 2 == 0)
+					q.removeNear(x, y);
+				else
+					q.removeNearInView(x, y);
+				break;
+
+			case 6:
+				q.clear();
+				break;
+
+			case 7:
+				if (x % 4 == 0)
+					q.hideCursor();
+				else
+					q.moveCursor(x, y);
+				break;
+
+			case 8:
+				if (x % 2 == 0)
+					q.setOrigin(x, y);
+				else
+					q.setOriginInView(x, y);
+				break;
+
+			case 9:
+				if (x % 2 == 0)
+					q.toggleProfiling();
+				else
+					q.setMoonKeys(x & 15);
+				break;
+
+			case 10:
+				q.flipFence(x, y);
+				break;
+
+			case 11:
+				if (x % 2 == 0)
+					q.beginStroke();
+				else
+					q.endStroke();
+				break;
+
+			case 12:
+				if (x % 4 == 0)
+					q.undo();
+				else if (x % 4 == 1)
+					q.redo();
+				else if (x % 4 == 2)
+					q.saveScene();
+				else
+					q.loadScene();
+				break;
+
+			case 13:
+				if (x % 3 == 0)
+					q.setSkyColor(x & 255, y & 255, (x + y) & 255);
+				else if (x % 3 == 1)
+					q.setSides(3 + y % 7);
+				else
+					q.moveMoon(x % 5 - 2, y % 5 - 2);
+				break;
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Writes down what a model would get from a queue.
+	private static final class Trace implements InputQueue.Target
+	{
+		private final StringBuilder	out = new StringBuilder();
+
+		// Latest values not yet written down, as changes in a row add up
+		private int			rgb = -1;
+		private int			sides;
+		private int			moonDx;
+		private int			moonDy;
+
+		// Values as they end up
+		private String			cursor = "none";
+		private String			origin = "none";
+		private int			moonKeys;
+		private boolean		profiling;
+
+		public String	finish()
+		{
+			flush();
+			out.append("cursor ").append(cursor).append(", origin ")
+				.append(origin).append(", keys ").append(moonKeys)
+				.append(", profiling ").append(profiling);
+
+			return out.toString();
+		}
+
+		// Writes down an ordered change, after the latest values before it.
+		private void	put(String s)
+		{
+			flush();
+			out.append(s).append("; ");
+		}
+
+		private void	flush()
+		{
+			if (rgb >= 0)
+				out.append("color ").append(rgb).append("; ");
+
+			if (sides != 0)
+				out.append("sides ").append(sides).append("; ");
+
+			if (moonDx != 0 || moonDy != 0)
+				out.append("moon ").append(moonDx).append(",")
+					.append(moonDy).append("; ");
+
+			rgb = -1;
+			sides = 0;
+			moonDx = 0;
+			moonDy = 0;
+		}
+
+		public void	pointsAdded(int[] xs, int[] ys, int first, int count)
+		{
+			for (int i=first; i<first+count; i++)
+				put("point " + xs[i] + "," + ys[i]);
+		}
+
+		public void	oldestDeleted()
+		{
+			put("oldest");
+		}
+
+		public void	newestDeleted()
+		{
+			put("newest");
+		}
+
+		public void	removedNear(double x, double y)
+		{
+			put("near " + x + "," + y);
+		}
+
+		public void	removedNearInView(int x, int y)
+		{
+			put("near view " + x + "," + y);
+		}
+
+		public void	cleared()
+		{
+			put("clear");
+		}
+
+		public void	moonMoved(int dx, int dy)
+		{
+			moonDx += dx;
+			moonDy += dy;
+		}
+
+		public void	moonKeysSet(int keys)
+		{
+			moonKeys = keys;
+		}
+
+		public void	originSet(double x, double y)
+		{
+			origin = x + "," + y;
+		}
+
+		public void	originSetInView(int x, int y)
+		{
+			origin = "view " + x + "," + y;
+		}
+
+		public void	skyColorSet(int red, int green, int blue)
+		{
+			rgb = (red << 16) | (green << 8) | blue;
+		}
+
+		public void	sidesSet(int sides)
+		{
+			this.sides = sides;
+		}
+
+		public void	profilingToggled()
+		{
+			profiling = !profiling;
+		}
+
+		public void	fenceFlipped(int x, int y)
+		{
+			put("flip " + x + "," + y);
+		}
+
+		public void	strokeBegun()
+		{
+			put("begin");
+		}
+
+		public void	strokeEnded()
+		{
+			put("end");
+		}
+
+		public void	undone()
+		{
+			put("undo");
+		}
+
+		public void	redone()
+		{
+			put("redo");
+		}
+
+		public void	sceneSaved()
+		{
+			put("save");
+		}
+
+		public void	sceneLoaded()
+		{
+			put("load");
+		}
+
+		public void	cursorMoved(int x, int y)
+		{
+			cursor = x + "," + y;
+		}
+
+		public void	cursorHidden()
+		{
+			cursor = "none";
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,373 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 11:19:07 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// An append-only binary journal of the input given to an InputQueue, so a
+// session can be replayed later. The file starts with a magic number, "HW3J",
+// and a version, as little-endian ints. Then each event is
+//
+//   byte      code in the low 6 bits, and how its values are stored above:
+//             0 if both are zero, 1 as zigzag varints, 2 as two doubles
+//   varint    nanoseconds since the previous event (or since the journal
+//             was opened, for the first one)
+//   ...       the two values, if any
+//
+// Most events are whole pixels a few milliseconds apart, so they take four to
+// eight bytes each. The codes are up to the InputQueue.
+//
+// Events are recorded into a buffer in memory, on whatever thread they come
+// from. A writer thread swaps it for a second buffer every FLUSH milliseconds
+// and writes it out, so the AWT and GL threads never wait on the disk. If
+// writing fails, the journal says so once and stops recording.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.io.IOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>InputJournal</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class InputJournal
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int	MAGIC = 0x4a335748;		// "HW3J", little-endian
+	public static final int	VERSION = 2;	// Drains carry frame time
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	FLUSH = 50;				// Milliseconds
+	private static final int	CAPACITY = 1 << 16;		// Initial bytes
+
+	// How an event's values are stored
+	private static final int	NONE = 0;
+	private static final int	INTS = 1;
+	private static final int	DOUBLES = 2;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final FileChannel	channel;
+	private final Thread		writer;
+
+	// Guarded by this
+	private ByteBuffer		filling = newBuffer(CAPACITY);
+	private ByteBuffer		writing = newBuffer(CAPACITY);
+	private long				last;			// Time of the last event
+	private boolean			closed;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Creates the journal, replacing the file if there is one, and starts
+	// its writer thread.
+	public InputJournal(Path path)
+		throws IOException
+	{
+		channel = FileChannel.open(path, StandardOpenOption.CREATE,
+								   StandardOpenOption.WRITE,
+								   StandardOpenOption.TRUNCATE_EXISTING);
+		last = System.nanoTime();
+
+		filling.putInt(MAGIC);
+		filling.putInt(VERSION);
+
+		writer = new Thread(new Runnable() {
+				public void	run()
+				{
+					write();
+				}
+			}, "InputJournal");
+
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Records an event with a code from 0 to 63 and two values.
+	public synchronized void	record(int code, double a, double b)
+	{
+		if (closed)
+			return;
+
+		long	now = System.nanoTime();
+		int		kind = NONE;
+
+		if (a != 0.0 || b != 0.0)
+			kind = ((a == (int)a && b == (int)b) ? INTS : DOUBLES);
+
+		if (filling.remaining() < 1 + 10 + 16)
+		{
+			ByteBuffer	bigger = newBuffer(2 * filling.capacity());
+
+			filling.flip();
+			bigger.put(filling);
+			filling = bigger;
+		}
+
+		filling.put((byte)((kind << 6) | (code & 0x3f)));
+		putVarint(filling, now - last);
+		last = now;
+
+		if (kind == INTS)
+		{
+			putVarint(filling, zigzag((int)a));
+			putVarint(filling, zigzag((int)b));
+		}
+		else if (kind == DOUBLES)
+		{
+			filling.putDouble(a);
+			filling.putDouble(b);
+		}
+	}
+
+	// Writes what is left and closes the file. Later events are dropped.
+	public void	close()
+	{
+		synchronized (this)
+		{
+			if (closed)
+				return;
+
+			closed = true;
+			notifyAll();
+		}
+
+		try
+		{
+			writer.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Runs on the writer thread until the journal is closed.
+	private void	write()
+	{
+		try
+		{
+			boolean	done = false;
+
+			while (!done)
+			{
+				ByteBuffer	b;
+
+				synchronized (this)
+				{
+					if (!closed)
+						wait(FLUSH);
+
+					done = closed;
+					b = filling;
+					filling = writing;
+					writing = b;
+				}
+
+				b.flip();
+
+				while (b.hasRemaining())
+					channel.write(b);
+
+				b.clear();
+			}
+		}
+		catch (IOException e)
+		{
+			System.err.println("Could not write input journal: " + e);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		finally
+		{
+			synchronized (this)
+			{
+				closed = true;
+			}
+
+			try
+			{
+				channel.close();
+			}
+			catch (IOException e)
+			{
+				System.err.println("Could not close input journal: " + e);
+			}
+		}
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static ByteBuffer	newBuffer(int capacity)
+	{
+		return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static long	zigzag(int v)
+	{
+		return ((v << 1) ^ (v >> 31)) & 0xffffffffL;
+	}
+
+	private static int	unzigzag(long v)
+	{
+		return (int)(v >>> 1) ^ -(int)(v & 1L);
+	}
+
+	private static void	putVarint(ByteBuffer b, long v)
+	{
+		while ((v & ~0x7fL) != 0L)
+		{
+			b.put((byte)((v & 0x7f) | 0x80));
+			v >>>= 7;
+		}
+
+		b.put((byte)v);
+	}
+
+	private static long	getVarint(ByteBuffer b)
+	{
+		long	v = 0L;
+
+		for (int shift=0; ; shift+=7)
+		{
+			int	x = b.get();
+
+			v |= (long)(x & 0x7f) << shift;
+
+			if ((x & 0x80) == 0)
+				return v;
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Reads the events of a journal in order, from a mapped file.
+	public static final class Reader
+	{
+		private final ByteBuffer	buffer;
+		private long				time;			// Since the journal opened
+		private int				code;
+		private double				a;
+		private double				b;
+
+		public Reader(Path path)
+			throws IOException
+		{
+			try (FileChannel channel = FileChannel.open(path,
+												StandardOpenOption.READ))
+			{
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L,
+									 channel.size());
+			}
+
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			if (buffer.remaining() < 8 || buffer.getInt() != MAGIC)
+				throw new IOException("Not an input journal: " + path);
+
+			if (buffer.getInt() != VERSION)
+				throw new IOException("Unsupported input journal version: " +
+									  path);
+		}
+
+		// Moves to the next event. Returns false at the end of the journal,
+		// or at an event cut off by the end of the file.
+		public boolean	next()
+		{
+			try
+			{
+				if (!buffer.hasRemaining())
+					return false;
+
+				int	x = buffer.get();
+				int	kind = (x >> 6) & 0x3;
+
+				code = x & 0x3f;
+				time += getVarint(buffer);
+
+				if (kind == INTS)
+				{
+					a = unzigzag(getVarint(buffer));
+					b = unzigzag(getVarint(buffer));
+				}
+				else if (kind == DOUBLES)
+				{
+					a = buffer.getDouble();
+					b = buffer.getDouble();
+				}
+				else
+				{
+					a = 0.0;
+					b = 0.0;
+				}
+
+				return true;
+			}
+			catch (BufferUnderflowException e)
+			{
+				return false;
+			}
+		}
+
+		public long	getTime()
+		{
+			return time;
+		}
+
+		public int	getCode()
+		{
+			return code;
+		}
+
+		public double	getA()
+		{
+			return a;
+		}
+
+		public double	getB()
+		{
+			return b;
+		}
+	}
+}
+
+//******************************************************************************
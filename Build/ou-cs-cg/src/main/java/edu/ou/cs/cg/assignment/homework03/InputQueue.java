@@ -0,0 +1,826 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Tue Oct 20 10:06:17 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Collects input from the AWT thread and hands it to the GL thread once per
+// frame, instead of posting one GLRunnable per event. Input is coalesced as
+// it arrives:
+//
+//   - The cursor, the origin, the sky color, the number of sides, and the
+//     arrow keys held down keep only their latest values.
+//   - Moon moves add up into a single delta, and profiling toggles into a
+//     count.
+//   - Points added in a row (as when dragging) form a single batch.
+//   - Everything else is kept as an ordered command: star deletions, clears,
+//     fence flips, the start and end of each dragged stroke, undo, redo, and
+//     saving and loading the scene. A clear drops nothing queued before it.
+//   - The sky color, number of sides, and moon delta queued before an
+//     ordered command (or a point after one) are applied before it, so it
+//     sees (or replaces) them.
+//
+// So the model gets the same changes, in the same order, as if every event
+// had been drained on its own, except that changes in a row to one of the
+// latest values arrive as one. InputCheck replays random mixes of events
+// both ways and compares what the model gets.
+//
+// Events are written into one set of buffers while the other set is drained,
+// and the two are swapped under a lock, so the steady state allocates nothing.
+// The number of events and commands in the last drain, and how long it took,
+// are kept as metrics.
+//
+// Each event, and each drain, can be recorded to an InputJournal as it comes
+// in, and a recorded event can be queued again with replay(). A drain is
+// recorded with the time its frame steps by. Replaying the events between two
+// drains before each frame applies the same input in the same frames as when
+// it was recorded, and once a drain has been replayed, every drain returns
+// the recorded time instead of the live one, so the frames step the same way
+// too.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>InputQueue</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class InputQueue
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Ordered commands
+	private static final int	ADD_POINTS = 0;		// A batch of points
+	private static final int	DELETE_OLDEST = 1;
+	private static final int	DELETE_NEWEST = 2;
+	private static final int	REMOVE_NEAR = 3;	// Star near a scene point
+	private static final int	CLEAR = 4;
+	private static final int	FLIP_FENCE = 5;		// Board at a view point
+	private static final int	BEGIN_STROKE = 6;
+	private static final int	END_STROKE = 7;
+	private static final int	UNDO = 8;
+	private static final int	REDO = 9;
+	private static final int	SAVE = 10;
+	private static final int	LOAD = 11;
+	private static final int	SKY_COLOR = 12;		// Settled before the above
+	private static final int	SIDES = 13;
+	private static final int	MOVE_MOON = 14;
+	private static final int	REMOVE_NEAR_IN_VIEW = 15;	// At a view point
+
+	// Events in the journal, one per public method, and one per drain
+	private static final int	E_CURSOR = 0;
+	private static final int	E_HIDE_CURSOR = 1;
+	private static final int	E_ORIGIN = 2;
+	private static final int	E_ORIGIN_IN_VIEW = 3;
+	private static final int	E_SKY_COLOR = 4;
+	private static final int	E_SIDES = 5;
+	private static final int	E_PROFILING = 6;
+	private static final int	E_FLIP_FENCE = 7;
+	private static final int	E_MOVE_MOON = 8;
+	private static final int	E_POINT = 9;
+	private static final int	E_DELETE_OLDEST = 10;
+	private static final int	E_DELETE_NEWEST = 11;
+	private static final int	E_REMOVE_NEAR = 12;
+	private static final int	E_CLEAR = 13;
+	private static final int	E_BEGIN_STROKE = 14;
+	private static final int	E_END_STROKE = 15;
+	private static final int	E_UNDO = 16;
+	private static final int	E_REDO = 17;
+	private static final int	E_SAVE = 18;
+	private static final int	E_LOAD = 19;
+	private static final int	E_DRAIN = 20;
+	private static final int	E_MOON_KEYS = 21;
+	private static final int	E_REMOVE_NEAR_IN_VIEW = 22;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private Batch				pending = new Batch();	// Written by AWT
+	private Batch				draining = new Batch();	// Read by GL
+	private boolean			replaying;		// Frame times from replay?
+	private InputJournal		journal;		// Records input, if not null
+
+	// Metrics of the last drain
+	private int				lastEvents;
+	private int				lastCommands;
+	private long				lastNanos;
+	private int				maxEvents;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public InputQueue()
+	{
+	}
+
+	//**********************************************************************
+	// Getters and Setters (Metrics)
+	//**********************************************************************
+
+	// Number of events coalesced into the last drain.
+	public synchronized int	getLastEvents()
+	{
+		return lastEvents;
+	}
+
+	// Number of commands applied in the last drain, after coalescing.
+	public synchronized int	getLastCommands()
+	{
+		return lastCommands;
+	}
+
+	// Time the last drain took, in nanoseconds.
+	public synchronized long	getLastDrainNanos()
+	{
+		return lastNanos;
+	}
+
+	// Most events coalesced into any one drain.
+	public synchronized int	getMaxEvents()
+	{
+		return maxEvents;
+	}
+
+	// Records every event, and every drain, to a journal from now on.
+	public synchronized void	setJournal(InputJournal journal)
+	{
+		this.journal = journal;
+	}
+
+	// Number of events waiting for the next drain.
+	public synchronized int	getDepth()
+	{
+		return pending.events;
+	}
+
+	//**********************************************************************
+	// Public Methods (AWT Thread)
+	//**********************************************************************
+
+	public synchronized void	moveCursor(int x, int y)
+	{
+		record(E_CURSOR, x, y);
+
+		pending.events++;
+		pending.cursorSet = true;
+		pending.cursorOn = true;
+		pending.cursorX = x;
+		pending.cursorY = y;
+	}
+
+	public synchronized void	hideCursor()
+	{
+		record(E_HIDE_CURSOR, 0, 0);
+
+		pending.events++;
+		pending.cursorSet = true;
+		pending.cursorOn = false;
+	}
+
+	public synchronized void	setOrigin(double x, double y)
+	{
+		record(E_ORIGIN, x, y);
+
+		pending.events++;
+		pending.originSet = true;
+		pending.originInView = false;
+		pending.originX = x;
+		pending.originY = y;
+	}
+
+	// Sets the origin to a point in view coordinates.
+	public synchronized void	setOriginInView(int x, int y)
+	{
+		record(E_ORIGIN_IN_VIEW, x, y);
+
+		pending.events++;
+		pending.originSet = true;
+		pending.originInView = true;
+		pending.originX = x;
+		pending.originY = y;
+	}
+
+	public synchronized void	setSkyColor(int red, int green, int blue)
+	{
+		record(E_SKY_COLOR, (red << 16) | (green << 8) | blue, 0);
+
+		pending.events++;
+		pending.colorSet = true;
+		pending.red = red;
+		pending.green = green;
+		pending.blue = blue;
+	}
+
+	public synchronized void	setSides(int sides)
+	{
+		record(E_SIDES, sides, 0);
+
+		pending.events++;
+		pending.sides = sides;
+	}
+
+	// Sets which arrow keys are held down, as Model.MOON_* bits.
+	public synchronized void	setMoonKeys(int keys)
+	{
+		record(E_MOON_KEYS, keys, 0);
+
+		pending.events++;
+		pending.moonKeysSet = true;
+		pending.moonKeys = keys;
+	}
+
+	public synchronized void	toggleProfiling()
+	{
+		record(E_PROFILING, 0, 0);
+
+		pending.events++;
+		pending.profilingToggles++;
+	}
+
+	// Flips the fence board under a point in view coordinates, if any.
+	public synchronized void	flipFence(int x, int y)
+	{
+		record(E_FLIP_FENCE, x, y);
+
+		pending.events++;
+		order(FLIP_FENCE, x, y);
+	}
+
+	public synchronized void	moveMoon(int dx, int dy)
+	{
+		record(E_MOVE_MOON, dx, dy);
+
+		pending.events++;
+		pending.moonDx += dx;
+		pending.moonDy += dy;
+	}
+
+	// Adds a point in view coordinates, to the same batch as the previous
+	// point if nothing came between them.
+	public synchronized void	addPoint(int x, int y)
+	{
+		record(E_POINT, x, y);
+
+		Batch	b = pending;
+
+		b.events++;
+		settle();
+
+		if (b.ops == 0 || b.opCode[b.ops - 1] != ADD_POINTS)
+			b.add(ADD_POINTS, 0.0);
+
+		if (b.points == b.xs.length)
+		{
+			b.xs = Arrays.copyOf(b.xs, 2 * b.points);
+			b.ys = Arrays.copyOf(b.ys, 2 * b.points);
+		}
+
+		b.xs[b.points] = x;
+		b.ys[b.points] = y;
+		b.points++;
+		b.opCount[b.ops - 1]++;
+	}
+
+	public synchronized void	deleteOldest()
+	{
+		record(E_DELETE_OLDEST, 0, 0);
+
+		pending.events++;
+		order(DELETE_OLDEST, 0.0, 0.0);
+	}
+
+	public synchronized void	deleteNewest()
+	{
+		record(E_DELETE_NEWEST, 0, 0);
+
+		pending.events++;
+		order(DELETE_NEWEST, 0.0, 0.0);
+	}
+
+	// Removes the star nearest to a point in scene coordinates, if any is
+	// close enough.
+	public synchronized void	removeNear(double x, double y)
+	{
+		record(E_REMOVE_NEAR, x, y);
+
+		pending.events++;
+		order(REMOVE_NEAR, x, y);
+	}
+
+	// Removes the star nearest to a point in view coordinates, if any is
+	// close enough. The AWT thread knows only view coordinates, so the
+	// model maps the point when it applies the removal.
+	public synchronized void	removeNearInView(int x, int y)
+	{
+		record(E_REMOVE_NEAR_IN_VIEW, x, y);
+
+		pending.events++;
+		order(REMOVE_NEAR_IN_VIEW, x, y);
+	}
+
+	public synchronized void	clear()
+	{
+		record(E_CLEAR, 0, 0);
+
+		pending.events++;
+		order(CLEAR, 0.0, 0.0);
+	}
+
+	// Points added from here to endStroke() belong to one dragged stroke.
+	public synchronized void	beginStroke()
+	{
+		record(E_BEGIN_STROKE, 0, 0);
+
+		pending.events++;
+		order(BEGIN_STROKE, 0.0, 0.0);
+	}
+
+	public synchronized void	endStroke()
+	{
+		record(E_END_STROKE, 0, 0);
+
+		pending.events++;
+		order(END_STROKE, 0.0, 0.0);
+	}
+
+	public synchronized void	undo()
+	{
+		record(E_UNDO, 0, 0);
+
+		pending.events++;
+		order(UNDO, 0.0, 0.0);
+	}
+
+	public synchronized void	redo()
+	{
+		record(E_REDO, 0, 0);
+
+		pending.events++;
+		order(REDO, 0.0, 0.0);
+	}
+
+	public synchronized void	saveScene()
+	{
+		record(E_SAVE, 0, 0);
+
+		pending.events++;
+		order(SAVE, 0.0, 0.0);
+	}
+
+	public synchronized void	loadScene()
+	{
+		record(E_LOAD, 0, 0);
+
+		pending.events++;
+		order(LOAD, 0.0, 0.0);
+	}
+
+	// Queues an event read from a journal, as the method that recorded it
+	// would. Returns true if the event was a drain, which marks the end of
+	// the events of a frame.
+	public boolean	replay(int event, double a, double b)
+	{
+		switch (event)
+		{
+			case E_CURSOR:
+				moveCursor((int)a, (int)b);
+				break;
+
+			case E_HIDE_CURSOR:
+				hideCursor();
+				break;
+
+			case E_ORIGIN:
+				setOrigin(a, b);
+				break;
+
+			case E_ORIGIN_IN_VIEW:
+				setOriginInView((int)a, (int)b);
+				break;
+
+			case E_SKY_COLOR:
+				int	rgb = (int)a;
+
+				setSkyColor((rgb >> 16) & 0xff, (rgb >> 8) & 0xff, rgb & 0xff);
+				break;
+
+			case E_SIDES:
+				setSides((int)a);
+				break;
+
+			case E_PROFILING:
+				toggleProfiling();
+				break;
+
+			case E_FLIP_FENCE:
+				flipFence((int)a, (int)b);
+				break;
+
+			case E_MOVE_MOON:
+				moveMoon((int)a, (int)b);
+				break;
+
+			case E_POINT:
+				addPoint((int)a, (int)b);
+				break;
+
+			case E_DELETE_OLDEST:
+				deleteOldest();
+				break;
+
+			case E_DELETE_NEWEST:
+				deleteNewest();
+				break;
+
+			case E_REMOVE_NEAR:
+				removeNear(a, b);
+				break;
+
+			case E_REMOVE_NEAR_IN_VIEW:
+				removeNearInView((int)a, (int)b);
+				break;
+
+			case E_CLEAR:
+				clear();
+				break;
+
+			case E_BEGIN_STROKE:
+				beginStroke();
+				break;
+
+			case E_END_STROKE:
+				endStroke();
+				break;
+
+			case E_UNDO:
+				undo();
+				break;
+
+			case E_REDO:
+				redo();
+				break;
+
+			case E_SAVE:
+				saveScene();
+				break;
+
+			case E_LOAD:
+				loadScene();
+				break;
+
+			case E_MOON_KEYS:
+				setMoonKeys((int)a);
+				break;
+
+			case E_DRAIN:
+				frameReplayed((long)a);
+				return true;
+		}
+
+		return false;
+	}
+
+	//**********************************************************************
+	// Public Methods (GL Thread)
+	//**********************************************************************
+
+	// Applies everything queued since the last drain to the target, for a
+	// frame that steps by the given nanoseconds. Returns the nanoseconds the
+	// frame should step by: the given ones, or the recorded ones if replayed
+	// drains have been queued.
+	public long	drain(Target target, long nanos)
+	{
+		long	start = System.nanoTime();
+		Batch	b;
+
+		synchronized (this)
+		{
+			b = pending;
+			pending = draining;
+			draining = b;
+
+			if (replaying)
+				nanos = b.frameNanos;
+
+			record(E_DRAIN, nanos, 0);
+		}
+
+		int	commands = b.ops;
+		int	first = 0;
+
+		for (int i=0; i<b.ops; i++)
+		{
+			switch (b.opCode[i])
+			{
+				case ADD_POINTS:
+					target.pointsAdded(b.xs, b.ys, first, b.opCount[i]);
+					first += b.opCount[i];
+					break;
+
+				case DELETE_OLDEST:
+					target.oldestDeleted();
+					break;
+
+				case DELETE_NEWEST:
+					target.newestDeleted();
+					break;
+
+				case REMOVE_NEAR:
+					target.removedNear(b.opX[i], b.opY[i]);
+					break;
+
+				case REMOVE_NEAR_IN_VIEW:
+					target.removedNearInView((int)b.opX[i], (int)b.opY[i]);
+					break;
+
+				case CLEAR:
+					target.cleared();
+					break;
+
+				case FLIP_FENCE:
+					target.fenceFlipped((int)b.opX[i], (int)b.opY[i]);
+					break;
+
+				case BEGIN_STROKE:
+					target.strokeBegun();
+					break;
+
+				case END_STROKE:
+					target.strokeEnded();
+					break;
+
+				case UNDO:
+					target.undone();
+					break;
+
+				case REDO:
+					target.redone();
+					break;
+
+				case SAVE:
+					target.sceneSaved();
+					break;
+
+				case LOAD:
+					target.sceneLoaded();
+					break;
+
+				case SKY_COLOR:
+					int	rgb = (int)b.opX[i];
+
+					target.skyColorSet((rgb >> 16) & 0xff, (rgb >> 8) & 0xff,
+									   rgb & 0xff);
+					break;
+
+				case SIDES:
+					target.sidesSet((int)b.opX[i]);
+					break;
+
+				case MOVE_MOON:
+					target.moonMoved((int)b.opX[i], (int)b.opY[i]);
+					break;
+			}
+		}
+
+		if (b.colorSet)
+		{
+			target.skyColorSet(b.red, b.green, b.blue);
+			commands++;
+		}
+
+		if (b.sides != 0)
+		{
+			target.sidesSet(b.sides);
+			commands++;
+		}
+
+		if (b.moonKeysSet)
+		{
+			target.moonKeysSet(b.moonKeys);
+			commands++;
+		}
+
+		if (b.profilingToggles % 2 == 1)
+		{
+			target.profilingToggled();
+			commands++;
+		}
+
+		if (b.moonDx != 0 || b.moonDy != 0)
+		{
+			target.moonMoved(b.moonDx, b.moonDy);
+			commands++;
+		}
+
+		if (b.originSet)
+		{
+			if (b.originInView)
+				target.originSetInView((int)b.originX, (int)b.originY);
+			else
+				target.originSet(b.originX, b.originY);
+
+			commands++;
+		}
+
+		if (b.cursorSet)
+		{
+			if (b.cursorOn)
+				target.cursorMoved(b.cursorX, b.cursorY);
+			else
+				target.cursorHidden();
+
+			commands++;
+		}
+
+		int	events = b.events;
+
+		b.reset();
+
+		synchronized (this)
+		{
+			lastEvents = events;
+			lastCommands = commands;
+			lastNanos = System.nanoTime() - start;
+			maxEvents = Math.max(maxEvents, events);
+		}
+
+		return nanos;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	record(int event, double a, double b)
+	{
+		if (journal != null)
+			journal.record(event, a, b);
+	}
+
+	// Adds the time of a replayed frame to the next drain. Replayed drains
+	// that end up in one drain add up, as when replaying at the recorded
+	// pace.
+	private synchronized void	frameReplayed(long nanos)
+	{
+		replaying = true;
+		pending.frameNanos += nanos;
+	}
+
+	// Queues an ordered command, after the latest values queued before it.
+	private void	order(int code, double x, double y)
+	{
+		settle();
+		pending.add(code, x);
+		pending.opY[pending.ops - 1] = y;
+	}
+
+	// Turns the sky color, sides, and moon delta queued so far into ordered
+	// commands, so they apply before the next one.
+	private void	settle()
+	{
+		Batch	b = pending;
+
+		if (b.colorSet)
+			b.add(SKY_COLOR, (b.red << 16) | (b.green << 8) | b.blue);
+
+		if (b.sides != 0)
+			b.add(SIDES, b.sides);
+
+		if (b.moonDx != 0 || b.moonDy != 0)
+		{
+			b.add(MOVE_MOON, b.moonDx);
+			b.opY[b.ops - 1] = b.moonDy;
+		}
+
+		b.colorSet = false;
+		b.sides = 0;
+		b.moonDx = 0;
+		b.moonDy = 0;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Receives the coalesced input on the GL thread. Points and the cursor
+	// are in view coordinates, as given by the AWT events.
+	public interface Target
+	{
+		public void	pointsAdded(int[] xs, int[] ys, int first, int count);
+		public void	oldestDeleted();
+		public void	newestDeleted();
+		public void	removedNear(double x, double y);
+		public void	removedNearInView(int x, int y);
+		public void	cleared();
+		public void	moonMoved(int dx, int dy);
+		public void	moonKeysSet(int keys);
+		public void	originSet(double x, double y);
+		public void	originSetInView(int x, int y);
+		public void	skyColorSet(int red, int green, int blue);
+		public void	sidesSet(int sides);
+		public void	profilingToggled();
+		public void	fenceFlipped(int x, int y);
+		public void	strokeBegun();
+		public void	strokeEnded();
+		public void	undone();
+		public void	redone();
+		public void	sceneSaved();
+		public void	sceneLoaded();
+		public void	cursorMoved(int x, int y);
+		public void	cursorHidden();
+	}
+
+	// Everything queued between two drains.
+	private static final class Batch
+	{
+		public int			events;
+
+		public boolean		cursorSet;
+		public boolean		cursorOn;
+		public int			cursorX;
+		public int			cursorY;
+
+		public boolean		originSet;
+		public boolean		originInView;
+		public double		originX;
+		public double		originY;
+
+		public boolean		colorSet;
+		public int			red;
+		public int			green;
+		public int			blue;
+
+		public int			sides;			// Zero if not set
+		public int			profilingToggles;
+
+		public int			moonDx;
+		public int			moonDy;
+
+		public boolean		moonKeysSet;
+		public int			moonKeys;
+
+		public long		frameNanos;		// Recorded, when replaying
+
+		public int[]		opCode = new int[16];
+		public int[]		opCount = new int[16];	// Points in a batch
+		public double[]	opX = new double[16];	// Point for REMOVE_NEAR
+		public double[]	opY = new double[16];
+		public int			ops;
+
+		public int[]		xs = new int[256];
+		public int[]		ys = new int[256];
+		public int			points;
+
+		public void	add(int code, double x)
+		{
+			if (ops == opCode.length)
+			{
+				opCode = Arrays.copyOf(opCode, 2 * ops);
+				opCount = Arrays.copyOf(opCount, 2 * ops);
+				opX = Arrays.copyOf(opX, 2 * ops);
+				opY = Arrays.copyOf(opY, 2 * ops);
+			}
+
+			opCode[ops] = code;
+			opCount[ops] = 0;
+			opX[ops] = x;
+			ops++;
+		}
+
+		public void	reset()
+		{
+			events = 0;
+			cursorSet = false;
+			originSet = false;
+			colorSet = false;
+			sides = 0;
+			profilingToggles = 0;
+			moonDx = 0;
+			moonDy = 0;
+			moonKeysSet = false;
+			frameNanos = 0L;
+			ops = 0;
+			points = 0;
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,130 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 11:21:40 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Feeds the events of an InputJournal back into an InputQueue, once per
+// frame, in one of two ways:
+//
+//   - As fast as possible: each call queues the events of the next recorded
+//     frame, up to the drain that ended it. Every frame gets the same input,
+//     and steps by the same time, as when it was recorded, however long
+//     frames take now, so two replays of a journal do exactly the same work.
+//   - Paced: each call queues the events recorded up to as long after the
+//     first call as it is now, so input arrives as it did for the user. Each
+//     frame steps by the recorded time of the frames it replays.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.io.IOException;
+import java.nio.file.Path;
+
+//******************************************************************************
+
+/**
+ * The <CODE>InputReplay</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class InputReplay
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final InputJournal.Reader	reader;
+	private final boolean				paced;
+	private long						start = -1L;	// First feed()
+	private boolean					held;	// Read but not yet queued
+	private boolean					done;
+	private long						events;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public InputReplay(Path path, boolean paced)
+		throws IOException
+	{
+		this.reader = new InputJournal.Reader(path);
+		this.paced = paced;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public boolean	isPaced()
+	{
+		return paced;
+	}
+
+	// Returns true once every event has been queued.
+	public boolean	isDone()
+	{
+		return done;
+	}
+
+	// Returns the number of events queued so far, not counting drains.
+	public long	getEvents()
+	{
+		return events;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Queues the events for the next frame. Returns false once there are
+	// none left.
+	public boolean	feed(InputQueue queue)
+	{
+		if (done)
+			return false;
+
+		long	now = System.nanoTime();
+
+		if (start < 0L)
+			start = now;
+
+		while (true)
+		{
+			if (!held && !reader.next())
+			{
+				done = true;
+				return false;
+			}
+
+			if (paced && reader.getTime() > now - start)
+			{
+				held = true;
+				return true;
+			}
+
+			held = false;
+
+			if (queue.replay(reader.getCode(), reader.getA(), reader.getB()))
+			{
+				if (!paced)
+					return true;
+			}
+			else
+			{
+				events++;
+			}
+		}
+	}
+}
+
+//******************************************************************************
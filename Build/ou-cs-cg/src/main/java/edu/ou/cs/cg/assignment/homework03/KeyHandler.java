@@ -18,7 +18,7 @@ package edu.ou.cs.cg.assignment.homework03;
 //import java.lang.*;
 import java.awt.Component;
 import java.awt.event.*;
-import java.awt.geom.Point2D;
+import edu.ou.cs.cg.utilities.Utilities;
 
 //******************************************************************************
 
@@ -39,6 +39,7 @@ public final class KeyHandler extends KeyAdapter
 	@SuppressWarnings("unused")
 	private final View view;
 	private final Model	model;
+	private int			moonKeys;		// Arrow keys held down
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -49,9 +50,17 @@ public final class KeyHandler extends KeyAdapter
 		this.view = view;
 		this.model = model;
 
-		Component component = view.getCanvas();
+		Component component = (Component)view.getCanvas();
 
 		component.addKeyListener(this);
+
+		// Keys released while away from the canvas are never reported
+		component.addFocusListener(new FocusAdapter() {
+				public void	focusLost(FocusEvent e)
+				{
+					setMoonKeys(0);
+				}
+			});
 	}
 
 	//**********************************************************************
@@ -63,22 +72,42 @@ public final class KeyHandler extends KeyAdapter
 	 */
 	public void		keyPressed(KeyEvent e)
 	{
-		Point2D.Double p = model.getOrigin();
+		// Control-Z undoes, and control-Y or control-shift-Z redoes. Control-S
+		// saves the scene, and control-O loads it back.
+		if (Utilities.isControlDown(e))
+		{
+			if (e.getKeyCode() == KeyEvent.VK_Z && !Utilities.isShiftDown(e))
+			{
+				model.undo();
+				return;
+			}
+			else if (e.getKeyCode() == KeyEvent.VK_Z ||
+					 e.getKeyCode() == KeyEvent.VK_Y)
+			{
+				model.redo();
+				return;
+			}
+			else if (e.getKeyCode() == KeyEvent.VK_S)
+			{
+				model.saveScene();
+				return;
+			}
+			else if (e.getKeyCode() == KeyEvent.VK_O)
+			{
+				model.loadScene();
+				return;
+			}
+		}
 
 		switch (e.getKeyCode())
 		{
-			// Moving arrow keys.
+			// Arrow keys move the moon for as long as they are held. Repeats
+			// change nothing.
 			case KeyEvent.VK_LEFT:
-				model.moveLeft();
-				break;
 			case KeyEvent.VK_RIGHT:
-				model.moveRight();
-				break;
 			case KeyEvent.VK_UP:
-				model.moveUp();
-				break;
 			case KeyEvent.VK_DOWN:
-				model.moveDown();
+				setMoonKeys(moonKeys | getMoonKey(e.getKeyCode()));
 				break;
 		
 			// Both Q and W keys delete stars created by user on screen.
@@ -133,9 +162,48 @@ public final class KeyHandler extends KeyAdapter
 			case KeyEvent.VK_DELETE:
 				model.clearScreen();
 				break;
+				
+			// Show or hide the frame stage timings.
+			case KeyEvent.VK_P:
+				model.toggleProfiling();
+				break;
 		}
+	}
 
-		model.setOriginInSceneCoordinates(p);
+	public void		keyReleased(KeyEvent e)
+	{
+		setMoonKeys(moonKeys & ~getMoonKey(e.getKeyCode()));
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Tells the model which arrow keys are held, when that changes.
+	private void	setMoonKeys(int keys)
+	{
+		if (keys != moonKeys)
+		{
+			moonKeys = keys;
+			model.setMoonKeys(keys);
+		}
+	}
+
+	private static int	getMoonKey(int code)
+	{
+		switch (code)
+		{
+			case KeyEvent.VK_LEFT:
+				return Model.MOON_LEFT;
+			case KeyEvent.VK_RIGHT:
+				return Model.MOON_RIGHT;
+			case KeyEvent.VK_UP:
+				return Model.MOON_UP;
+			case KeyEvent.VK_DOWN:
+				return Model.MOON_DOWN;
+			default:
+				return 0;
+		}
 	}
 }
 
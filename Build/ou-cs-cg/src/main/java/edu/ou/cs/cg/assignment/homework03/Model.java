@@ -20,10 +20,36 @@
 //   4. Add a method to modify the variable.
 //
 // Concurrency management is important because the JOGL and the Java AWT run on
-// different threads. The modify methods use the GLAutoDrawable.invoke() method
-// so that all changes to variables take place on the JOGL thread. Because this
-// happens at the END of GLEventListener.display(), all changes will be visible
-// to the View.update() and render() methods in the next animation cycle.
+// different threads. The modify methods can be called from any thread. They
+// only record the change in an InputQueue, which takes a short lock and never
+// waits on the JOGL thread. At the start of each frame, View.display() calls
+// beginFrame(), which applies the queued changes on the JOGL thread and then
+// publishes a Snapshot of the variables. The View renders from that snapshot,
+// and from the stars, which are too many to copy but change only in
+// beginFrame(), so all stages of a frame see the same values. The snapshots
+// are reused in place, so they, the stars, and the other model state are
+// read only on the JOGL thread. The AWT thread never reads the model back;
+// what it needs from it, such as the star under the cursor, goes through
+// the InputQueue in view coordinates and is looked up when applied.
+//
+// Changes to the stars, the moon, the sky color, the number of sides, and
+// the fences are recorded in a CommandLog as they are applied, as small
+// deltas, so they can be undone and redone. Undo and redo are queued like
+// any other input, in order with it.
+//
+// The scene can be saved to and loaded from a SceneFile, named by the
+// homework03.scene property, or homework03-scene.bin. Loading replaces the
+// stars in bulk and starts a new undo history.
+//
+// The arrow keys held down set the moon's target velocity. Each frame,
+// beginFrame() accelerates the moon toward it and moves the moon by the time
+// since the last frame, so the moon moves as fast at any frame rate or key
+// repeat rate, and diagonally at the same speed as straight.
+//
+// If the homework03.journal property names a file, all input is recorded to
+// it as an InputJournal, which Headless can replay. The time each frame steps
+// by is recorded with it, and a replay steps by the recorded times instead of
+// the clock, so it moves the moon the same way every time.
 //
 //******************************************************************************
 
@@ -32,10 +58,12 @@ package edu.ou.cs.cg.assignment.homework03;
 //import java.lang.*;
 import java.awt.Point;
 import java.awt.geom.Point2D;
-import java.awt.geom.Point2D.Double;
+import java.io.IOException;
+import java.nio.file.*;
 import java.util.*;
-import com.jogamp.opengl.*;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.CommandLog;
+import edu.ou.cs.cg.utilities.StrokeFilter;
+import edu.ou.cs.cg.utilities.ViewTransform;
 
 //******************************************************************************
 
@@ -47,19 +75,63 @@ import edu.ou.cs.cg.utilities.Utilities;
  */
 public final class Model
 {
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Arrow keys that move the moon, for setMoonKeys()
+	public static final int	MOON_LEFT = 1;
+	public static final int	MOON_RIGHT = 2;
+	public static final int	MOON_UP = 4;
+	public static final int	MOON_DOWN = 8;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Moon motion, in scene units and seconds
+	private static final double	MOON_SPEED = 240.0;		// Top speed
+	private static final double	MOON_ACCEL = 1600.0;	// To top speed, or 0
+	private static final double	MAX_STEP = 0.1;			// Longest frame
+
+	// Undo log entries, and their payloads
+	private static final int	ADD = 1;		// First seq, then each x, y
+	private static final int	REMOVE = 2;		// Seq, x, y, first, end
+	private static final int	CLEAR = 3;		// Carries the StarStore.Block
+	private static final int	MOON = 4;		// dx, dy
+	private static final int	COLOR = 5;		// Old rgb, new rgb
+	private static final int	SIDES = 6;		// Old sides, new sides
+	private static final int	FLIP = 7;		// Board
+
+	// An x, y in an ADD payload for a star removed while its stroke ended
+	private static final long	REMOVED = -1L;
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
 
 	// State (internal) variables
 	private final View					view;
+	private final InputQueue			input;	// Input from the AWT thread
+	private final InputApplier			applier;
+	private double[]					inputXY = new double[512];
+	private long[]					strokeSeqs = new long[64];	// Stars
+	private final CommandLog			log;	// Undo history
+	private boolean					extendAdd;	// Add to the last ADD?
+	private InputJournal				journal;	// Records input, or null
+
+	// Published values for rendering, double-buffered
+	private final Snapshot[]			snapshots = new Snapshot[2];
+	private volatile Snapshot			snapshot;	// Latest published
+	private long						frame;
 
 	// Model variables
-	private Point2D.Double				origin;	// Current origin coordinates
-	private Point2D.Double				cursor;	// Current cursor coordinates
-	private ArrayList<Point2D.Double>	points;	// Drawn star points
-	private ArrayList<Point2D.Double>   zigZagFences; // Interactive fences
-	private ArrayList<Point2D.Double>   jagFences; // Interactive fences
+	private final Point2D.Double		origin;	// Current origin coordinates
+	private final Point2D.Double		cursor;	// Current cursor coordinates
+	private boolean					cursorOn;	// Cursor in the window?
+	private final StarStore			stars;	// Drawn star points
+	private final Fences				fences;	// Interactive fences
+	private final StrokeFilter		stroke;	// Thins dragged strokes
 	
 	// Model variables for adjusting color
 	private int redValue;
@@ -76,9 +148,21 @@ public final class Model
 	// moonDark is the dark side of the moon.
 	private int moonDarkX;
 	private int moonDarkY;
+
+	// Model variables for moving the moon while arrow keys are held.
+	private int						moonKeys;	// MOON_* bits
+	private double					moonVX;		// Velocity
+	private double					moonVY;
+	private double					moonRestX;	// Movement under a unit
+	private double					moonRestY;
+	private long						lastFrame;	// Time of last beginFrame()
+	private volatile Thread			frameThread;	// Runs beginFrame()
 	
 	// Model variables for moving the flag up or down the pole.
 	private boolean flagUp;
+	
+	// Model variable for timing the stages of each frame.
+	private boolean profiling;
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -87,13 +171,34 @@ public final class Model
 	public Model(View view)
 	{
 		this.view = view;
+		this.input = new InputQueue();
+		this.applier = new InputApplier();
 
 		// Initialize user-adjustable variables (with reasonable default values)
 		origin = new Point2D.Double(0.0, 0.0);
-		cursor = null;
-		points = new ArrayList<Point2D.Double>();
-		zigZagFences = new ArrayList<Point2D.Double>();
-		jagFences = new ArrayList<Point2D.Double>();
+		cursor = new Point2D.Double();
+		stars = new StarStore();
+		log = new CommandLog(Long.getLong("homework03.undo.bytes", 16L << 20));
+		fences = new Fences();
+
+		// Dragged strokes get a star every 16 scene units, at most 500 per
+		// stroke, and are not simplified unless a tolerance is given.
+		stroke = new StrokeFilter(
+			Double.parseDouble(System.getProperty(
+				"homework03.stroke.spacing", "16")),
+			Double.parseDouble(System.getProperty(
+				"homework03.stroke.tolerance", "0")),
+			Integer.getInteger("homework03.stroke.max", 500));
+
+		// Two zig-zag strips, then the jagged fence on the right, built once.
+		fences.addStrip(283, 132, 8);
+		fences.addStrip(12, 132, 4);
+
+		for (int x=1024; x>=863; x-=23)
+			fences.addBoard(x, 132);
+
+		fences.addBoard(1224, 132);
+		fences.addBoard(1247, 132);
 		
 		// Default color for the sky.
 		redValue = 128;
@@ -111,42 +216,111 @@ public final class Model
 		
 		// Flag is at the top of the pole as default.
 		flagUp = true;
+
+		snapshots[0] = new Snapshot();
+		snapshots[1] = new Snapshot();
+		publish();
+
+		String	path = System.getProperty("homework03.journal");
+
+		if (path != null)
+		{
+			try
+			{
+				journal = new InputJournal(Paths.get(path));
+				input.setJournal(journal);
+				System.out.println("Recording input to " + path);
+			}
+			catch (IOException e)
+			{
+				System.err.println("Could not record input: " + e);
+			}
+		}
 	}
 
 	//**********************************************************************
 	// Public Methods (Access Variables)
 	//**********************************************************************
 
-	public Point2D.Double	getOrigin()
+	// The origin and cursor change in place as input is applied, so these
+	// are only for the thread that runs the frames, once they have started.
+	// They copy into a point the caller keeps, or return plain values.
+	public Point2D.Double	getOrigin(Point2D.Double p)
 	{
-		return new Point2D.Double(origin.x, origin.y);
+		checkFrameThread();
+		p.setLocation(origin);
+
+		return p;
 	}
 
-	public Point2D.Double	getCursor()
+	public double	getOriginX()
 	{
-		if (cursor == null)
+		checkFrameThread();
+		return origin.x;
+	}
+
+	public double	getOriginY()
+	{
+		checkFrameThread();
+		return origin.y;
+	}
+
+	// Returns null, leaving the point as it was, if the cursor is hidden.
+	public Point2D.Double	getCursor(Point2D.Double p)
+	{
+		checkFrameThread();
+
+		if (!cursorOn)
 		{
 			return null;
 		}
 		else
 		{
-			return new Point2D.Double(cursor.x, cursor.y);
+			p.setLocation(cursor);
+			return p;
 		}
 	}
 
+	public boolean	hasCursor()
+	{
+		checkFrameThread();
+		return cursorOn;
+	}
+
+	public double	getCursorX()
+	{
+		checkFrameThread();
+		return cursor.x;
+	}
+
+	public double	getCursorY()
+	{
+		checkFrameThread();
+		return cursor.y;
+	}
+
+	// Boxes each point it returns. Kept for old callers; use getStars().
 	public List<Point2D.Double>	getPolyline()
 	{
-		return Collections.unmodifiableList(points);
+		checkFrameThread();
+		return stars.getPolyline();
 	}
-	
-	public List<Point2D.Double> getZigZagFences()
+
+	// The view reads the stars but only the model changes them, at the start
+	// of each frame. Only for the thread that runs the frames, once they
+	// have started.
+	public StarStore getStars()
 	{
-		return Collections.unmodifiableList(zigZagFences);
+		checkFrameThread();
+		return stars;
 	}
 	
-	public List<Point2D.Double> getJagFences()
+	// The view reads the boards but only the model flips them. The flip bits
+	// to draw are in the snapshot. Only for the thread that runs the frames.
+	public Fences getFences()
 	{
-		return Collections.unmodifiableList(jagFences);
+		checkFrameThread();
+		return fences;
 	}
 	
 	public int getRedValue()
@@ -193,267 +367,767 @@ public final class Model
 	{
 		return flagUp;
 	}
+	
+	public boolean isProfiling()
+	{
+		return profiling;
+	}
+	
+	// The values to render the current frame from. Only for the thread that
+	// runs the frames, once they have started, as the two snapshots are
+	// filled in place by turns.
+	public Snapshot getSnapshot()
+	{
+		checkFrameThread();
+		return snapshot;
+	}
+	
+	// Metrics of the input queue between the AWT and GL threads.
+	public InputQueue getInputQueue()
+	{
+		return input;
+	}
 
 	//**********************************************************************
 	// Public Methods (Modify Variables)
 	//**********************************************************************
 	
+	// Flips the fence board under a point in view coordinates, if any.
 	public void flipFence(Point q)
 	{
-		System.out.println("Fence at: " + q);
+		input.flipFence(q.x, q.y);
+	}
+	
+	public void toggleProfiling()
+	{
+		input.toggleProfiling();
 	}
 	
 	public void moveLeft()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				moonLightX -= 5;
-				moonDarkX -= 5;
-			}
-		});;
+		input.moveMoon(-5, 0);
 	}
 	
 	public void moveRight()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				moonLightX += 5;
-				moonDarkX += 5;
-			}
-		});;
+		input.moveMoon(5, 0);
 	}
 	
 	public void moveUp()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				moonLightY += 5;
-				moonDarkY += 5;
-			}
-		});;
+		input.moveMoon(0, 5);
 	}
 	
 	public void moveDown()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				moonLightY -= 5;
-				moonDarkY -= 5;
-			}
-		});;
+		input.moveMoon(0, -5);
+	}
+
+	// Sets which arrow keys are held down, as MOON_* bits. The moon moves
+	// every frame until they are all released.
+	public void	setMoonKeys(int keys)
+	{
+		input.setMoonKeys(keys);
 	}
 	
 	public void sidesOfStar(int numberOfSides)
 	{
-		this.numberOfSides = numberOfSides;
+		input.setSides(numberOfSides);
 	}
 	
 	public void changeSkyColor(int mode)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void update(GL2 gl)
-			{
-				if (mode == 1)
-				{
-					redValue = 247;
-					greenValue = 129;
-					blueValue = 129;	
-				}
-				else if (mode == 2)
-				{
-					redValue = 180;
-					greenValue = 141;
-					blueValue = 238;
-				}
-				else if (mode == 3)
-				{
-					redValue = 93;
-					greenValue = 249;
-					blueValue = 249;
-				}
-				else if (mode == 4)
-				{
-					redValue = 198;
-					greenValue = 238;
-					blueValue = 206;
-				}
-				else if (mode == 5)
-				{
-					redValue = 253;
-					greenValue = 255;
-					blueValue = 179;
-				}
-			}
-		});;
+		if (mode == 1)
+		{
+			input.setSkyColor(247, 129, 129);
+		}
+		else if (mode == 2)
+		{
+			input.setSkyColor(180, 141, 238);
+		}
+		else if (mode == 3)
+		{
+			input.setSkyColor(93, 249, 249);
+		}
+		else if (mode == 4)
+		{
+			input.setSkyColor(198, 238, 206);
+		}
+		else if (mode == 5)
+		{
+			input.setSkyColor(253, 255, 179);
+		}
 	}
 	
 	public void deleteOldestPoint()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				if (points.size() != 0)
-				{
-					points.remove(0);
-				}
-			}
-		});;
+		input.deleteOldest();
 	}
 	
 	public void deleteNewestPoint()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				if (points.size() != 0)
-				{
-					points.remove(points.size() - 1);
-				}
-			}
-		});;
+		input.deleteNewest();
 	}
 	
 	public void removeSpecificStar(Point2D.Double cursorPosition)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				if (points.size() != 0)
-				{
-					int i = 0;
-					for (Point2D.Double p : points)
-					{
-						if (cursorPosition.x - 25 <= p.x
-								&& cursorPosition.x + 25 >= p.x)
-						{
-							points.remove(i);
-							break;
-						}
-						i++;
-					}
-				}
-			}
-		});;
+		if (cursorPosition != null)
+			input.removeNear(cursorPosition.x, cursorPosition.y);
 	}
 	
+	// Removes the star under a point in view coordinates, if any.
+	public void	removeStarInViewCoordinates(Point q)
+	{
+		input.removeNearInView(q.x, q.y);
+	}
+
 	public void	setOriginInSceneCoordinates(Point2D.Double q)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				origin = new Point2D.Double(q.x, q.y);
-			}
-		});;
+		input.setOrigin(q.x, q.y);
 	}
 
 	public void	setOriginInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-			public void	update(double[] p) {
-				origin = new Point2D.Double(p[0], p[1]);
-			}
-		});;
+		input.setOriginInView(q.x, q.y);
 	}
 
 	public void	setCursorInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-			public void	update(double[] p) {
-				cursor = new Point2D.Double(p[0], p[1]);
-			}
-		});;
+		input.moveCursor(q.x, q.y);
 	}
 
 	public void	turnCursorOff()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				cursor = null;
-			}
-		});;
+		input.hideCursor();
 	}
 	
-	public void addZigZagFences(Double points)
+	public void	addPolylinePointInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				zigZagFences.add(points);
-			}
-		});;
+		input.addPoint(q.x, q.y);
 	}
-	
-	public void addJaggedFences(Double points)
+
+	public void	clearScreen()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				jagFences.add(points);
-			}
-		});;
+		input.clear();
 	}
-	
-	public void deleteJaggedFences(Double points)
+
+	public void	undo()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				jagFences.remove(points);
-			}
-		});;
+		input.undo();
 	}
 
-	public void	addPolylinePointInViewCoordinates(Point q)
+	public void	redo()
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-			public void	update(double[] p) {
-				points.add(new Point2D.Double(p[0], p[1]));
-				//System.out.println("Adding star at: (" + p[0] + ", " + p[1] + ")");
-			}
-		});;
+		input.redo();
 	}
 
-	public void	clearScreen()
+	public void	saveScene()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				points.clear();
-			}
-		});;
+		input.saveScene();
+	}
+
+	public void	loadScene()
+	{
+		input.loadScene();
+	}
+
+	// Points added until endStroke() are thinned out by the stroke filter.
+	public void	beginStroke()
+	{
+		input.beginStroke();
+	}
+
+	public void	endStroke()
+	{
+		input.endStroke();
+	}
+
+	// The settings for dragged strokes. Change them only on the GL thread,
+	// or between strokes.
+	public StrokeFilter	getStrokeFilter()
+	{
+		return stroke;
+	}
+
+	// Finishes writing the input journal, if there is one.
+	public void	closeJournal()
+	{
+		if (journal != null)
+			journal.close();
+	}
+
+	// Applies the input queued since the last frame, then publishes the
+	// snapshot for the frame. The View calls this once per frame, on the GL
+	// thread, before it renders anything. Points are mapped to the scene with
+	// the View's copy of the scene matrices, so no GL state is read.
+	public void	beginFrame()
+	{
+		long	now = System.nanoTime();
+
+		frameThread = Thread.currentThread();
+
+		long	nanos = input.drain(applier,
+									(lastFrame == 0L) ? 0L : now - lastFrame);
+
+		stepMoon(nanos / 1.0e9);
+		publish();
+
+		lastFrame = now;
 	}
 
 	//**********************************************************************
-	// Inner Classes
+	// Private Methods
 	//**********************************************************************
 
-	// Convenience class to simplify the implementation of most updaters.
-	private abstract class BasicUpdater implements GLRunnable
+	// Throws unless the live model can be read here: before the
+	// first frame, or on the thread that runs the frames.
+	private void	checkFrameThread()
+	{
+		Thread	t = frameThread;
+
+		if (t != null && t != Thread.currentThread())
+			throw new IllegalStateException(
+				"The model is read only on the frame thread, not " +
+				Thread.currentThread().getName());
+	}
+
+	// Accelerates the moon toward the velocity of the arrow keys held, then
+	// moves it for the given seconds. Whole units are applied as a move, and
+	// the rest carried to the next frame.
+	private void	stepMoon(double dt)
 	{
-		public final boolean	run(GLAutoDrawable drawable)
+		dt = Math.min(dt, MAX_STEP);
+
+		int		dx = (((moonKeys & MOON_RIGHT) != 0) ? 1 : 0) -
+					 (((moonKeys & MOON_LEFT) != 0) ? 1 : 0);
+		int		dy = (((moonKeys & MOON_UP) != 0) ? 1 : 0) -
+					 (((moonKeys & MOON_DOWN) != 0) ? 1 : 0);
+		double	s = ((dx != 0 && dy != 0) ? MOON_SPEED / Math.sqrt(2.0)
+										  : MOON_SPEED);
+
+		moonVX = approach(moonVX, dx * s, MOON_ACCEL * dt);
+		moonVY = approach(moonVY, dy * s, MOON_ACCEL * dt);
+
+		if (moonVX == 0.0 && moonVY == 0.0)
+			return;
+
+		moonRestX += moonVX * dt;
+		moonRestY += moonVY * dt;
+
+		int	mx = (int)moonRestX;
+		int	my = (int)moonRestY;
+
+		if (mx != 0 || my != 0)
 		{
-			GL2	gl = drawable.getGL().getGL2();
+			moonRestX -= mx;
+			moonRestY -= my;
+			applier.moonMoved(mx, my);
+		}
+	}
 
-			update(gl);
+	private static double	approach(double v, double target, double step)
+	{
+		if (v < target)
+			return Math.min(v + step, target);
+		else
+			return Math.max(v - step, target);
+	}
 
-			return true;	// Let animator take care of updating the display
+	// Adds a star and records it. Stars added in a row during a stroke go
+	// into the same log entry.
+	private void	addStar(double x, double y)
+	{
+		long	v = CommandLog.pack((float)x, (float)y);
+
+		if (extendAdd && log.getLastOp() == ADD)
+		{
+			log.append(v);
+		}
+		else
+		{
+			log.begin(ADD);
+			log.put(stars.getEnd());
+			log.put(v);
+			log.end();
 		}
 
-		public abstract void	update(GL2 gl);
+		stars.add(x, y);
+		extendAdd = stroke.isActive();
 	}
 
-	// Convenience class to simplify updates in cases in which the input is a
-	// single point in view coordinates (integers/pixels).
-	private abstract class ViewPointUpdater extends BasicUpdater
+	// Removes a star, if it is still there, and records it.
+	private void	removeStar(long seq)
 	{
-		private final Point	q;
-		
-		public ViewPointUpdater(Point q)
+		if (stars.isRemoved(seq))
+			return;
+
+		long	first = stars.getFirst();
+		long	end = stars.getEnd();
+
+		log.begin(REMOVE);
+		log.put(seq);
+		log.put(CommandLog.pack(stars.getX(seq), stars.getY(seq)));
+		log.put(first);
+		log.put(end);
+		log.end();
+
+		stars.remove(seq);
+		extendAdd = false;
+	}
+
+	// Records a change with a payload of two longs.
+	private void	record(int op, long a, long b)
+	{
+		log.begin(op);
+		log.put(a);
+		log.put(b);
+		log.end();
+
+		extendAdd = false;
+	}
+
+	private void	moveMoon(int dx, int dy)
+	{
+		moonLightX += dx;
+		moonDarkX += dx;
+		moonLightY += dy;
+		moonDarkY += dy;
+	}
+
+	private void	setSkyColor(int rgb)
+	{
+		redValue = (rgb >> 16) & 0xff;
+		greenValue = (rgb >> 8) & 0xff;
+		blueValue = rgb & 0xff;
+	}
+
+	private int	getSkyColor()
+	{
+		return (redValue << 16) | (greenValue << 8) | blueValue;
+	}
+
+	private static Path	getScenePath()
+	{
+		return Paths.get(System.getProperty("homework03.scene",
+											"homework03-scene.bin"));
+	}
+
+	// Reverts the newest change in the log, if any.
+	private void	undoChange()
+	{
+		extendAdd = false;
+
+		switch (log.undo())
+		{
+			case ADD:
+				stars.truncate(log.get(0));
+				break;
+
+			case REMOVE:
+				stars.unremove(log.get(0),
+							   CommandLog.unpackFirst(log.get(1)),
+							   CommandLog.unpackSecond(log.get(1)),
+							   log.get(2), log.get(3));
+				break;
+
+			case CLEAR:
+				stars.restore((StarStore.Block)log.getObject());
+				break;
+
+			case MOON:
+				moveMoon(-(int)log.get(0), -(int)log.get(1));
+				break;
+
+			case COLOR:
+				setSkyColor((int)log.get(0));
+				break;
+
+			case SIDES:
+				numberOfSides = (int)log.get(0);
+				break;
+
+			case FLIP:
+				fences.flip((int)log.get(0));
+				break;
+		}
+	}
+
+	// Applies the oldest undone change again, if any.
+	private void	redoChange()
+	{
+		extendAdd = false;
+
+		switch (log.redo())
+		{
+			case ADD:
+				long	seq = log.get(0);
+				int		n = log.getLength() - 1;
+
+				// Same sequence numbers as the first time, tombstones too
+				for (int i=0; i<n; i++)
+				{
+					long	v = log.get(1 + i);
+
+					if (v == REMOVED)
+						stars.add(0.0, 0.0);
+					else
+						stars.add(CommandLog.unpackFirst(v),
+								  CommandLog.unpackSecond(v));
+				}
+
+				for (int i=0; i<n; i++)
+					if (log.get(1 + i) == REMOVED)
+						stars.remove(seq + i);
+				break;
+
+			case REMOVE:
+				stars.remove(log.get(0));
+				break;
+
+			case CLEAR:
+				log.setObject(stars.detach());
+				break;
+
+			case MOON:
+				moveMoon((int)log.get(0), (int)log.get(1));
+				break;
+
+			case COLOR:
+				setSkyColor((int)log.get(1));
+				break;
+
+			case SIDES:
+				numberOfSides = (int)log.get(1);
+				break;
+
+			case FLIP:
+				fences.flip((int)log.get(0));
+				break;
+		}
+	}
+
+	// Fills the snapshot not being read and makes it the current one.
+	private void	publish()
+	{
+		Snapshot	s = snapshots[(int)(frame & 1)];
+
+		s.frame = frame++;
+		s.red = redValue;
+		s.green = greenValue;
+		s.blue = blueValue;
+		s.sides = numberOfSides;
+		s.moonLightX = moonLightX;
+		s.moonLightY = moonLightY;
+		s.moonDarkX = moonDarkX;
+		s.moonDarkY = moonDarkY;
+		s.cursorOn = cursorOn;
+		s.cursorX = (cursorOn ? cursor.x : 0.0);
+		s.cursorY = (cursorOn ? cursor.y : 0.0);
+		s.originX = origin.x;
+		s.originY = origin.y;
+		s.stars = stars.size();
+		s.fenceVersion = fences.getVersion();
+		s.fenceFlips = fences.copyFlips(s.fenceFlips);
+		s.flagUp = flagUp;
+		s.profiling = profiling;
+
+		snapshot = s;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Applies coalesced input to the model variables on the GL thread.
+	private final class InputApplier implements InputQueue.Target
+	{
+		public void	pointsAdded(int[] xs, int[] ys, int first, int count)
+		{
+			if (inputXY.length < 2 * count)
+				inputXY = new double[2 * Math.max(count, 2 * inputXY.length)];
+
+			int	h = view.getHeight();
+
+			for (int i=0; i<count; i++)
+			{
+				inputXY[2 * i] = xs[first + i];
+				inputXY[2 * i + 1] = h - ys[first + i];
+			}
+
+			// Map every point in the batch with the same cached inverse
+			view.getSceneTransform().mapViewToScene(inputXY, count, inputXY);
+
+			for (int i=0; i<count; i++)
+			{
+				double	x = inputXY[2 * i];
+				double	y = inputXY[2 * i + 1];
+
+				if (!stroke.isActive())
+				{
+					addStar(x, y);
+				}
+				else if (stroke.add(x, y))
+				{
+					int	n = stroke.getCount();
+
+					if (n > strokeSeqs.length)
+						strokeSeqs = Arrays.copyOf(strokeSeqs, 2 * n);
+
+					strokeSeqs[n - 1] = stars.getEnd();
+					addStar(x, y);
+				}
+			}
+		}
+
+		public void	oldestDeleted()
+		{
+			if (stars.size() > 0)
+				removeStar(stars.getFirst());
+		}
+
+		public void	newestDeleted()
+		{
+			if (stars.size() > 0)
+				removeStar(stars.getEnd() - 1);
+		}
+
+		// Removes the star under the point, within its outer radius.
+		public void	removedNear(double x, double y)
+		{
+			long	seq = stars.findNearest(x, y, 20.0);
+
+			if (seq >= 0)
+				removeStar(seq);
+		}
+
+		public void	removedNearInView(int x, int y)
+		{
+			double[]	p = view.getSceneTransform().mapViewToScene(
+				x, view.getHeight() - y, 0.0, inputXY);
+
+			removedNear(p[0], p[1]);
+		}
+
+		// Hands the stars over to the log, so undo needs no copy. A stroke
+		// being drawn goes on after the clear, from its next point.
+		public void	cleared()
+		{
+			if (stroke.isActive())
+				stroke.begin();
+
+			if (stars.size() == 0)
+				return;
+
+			StarStore.Block	b = stars.detach();
+
+			log.begin(CLEAR);
+			log.carry(b, b.getBytes());
+			log.end();
+
+			extendAdd = false;
+		}
+
+		// Moves in a row add up in one log entry.
+		public void	moonMoved(int dx, int dy)
+		{
+			if (log.getLastOp() == MOON)
+			{
+				log.set(0, log.get(0) + dx);
+				log.set(1, log.get(1) + dy);
+			}
+			else
+			{
+				record(MOON, dx, dy);
+			}
+
+			moveMoon(dx, dy);
+		}
+
+		public void	moonKeysSet(int keys)
+		{
+			moonKeys = keys;
+		}
+
+		public void	originSet(double x, double y)
+		{
+			origin.setLocation(x, y);
+		}
+
+		public void	cursorMoved(int x, int y)
+		{
+			double[]	p = view.getSceneTransform().mapViewToScene(
+				x, view.getHeight() - y, 0.0, inputXY);
+
+			cursor.setLocation(p[0], p[1]);		// Every frame it moves
+			cursorOn = true;
+		}
+
+		public void	cursorHidden()
+		{
+			cursorOn = false;
+		}
+
+		public void	originSetInView(int x, int y)
+		{
+			double[]	p = view.getSceneTransform().mapViewToScene(
+				x, view.getHeight() - y, 0.0, inputXY);
+
+			origin.setLocation(p[0], p[1]);
+		}
+
+		public void	skyColorSet(int red, int green, int blue)
+		{
+			int	rgb = (red << 16) | (green << 8) | blue;
+
+			if (rgb == getSkyColor())
+				return;
+
+			record(COLOR, getSkyColor(), rgb);
+			setSkyColor(rgb);
+		}
+
+		public void	sidesSet(int sides)
+		{
+			if (sides == numberOfSides)
+				return;
+
+			record(SIDES, numberOfSides, sides);
+			numberOfSides = sides;
+		}
+
+		public void	profilingToggled()
+		{
+			profiling = !profiling;
+		}
+
+		public void	strokeBegun()
+		{
+			stroke.begin();
+			extendAdd = false;
+		}
+
+		// Removes the stars that simplifying the stroke dropped, if any. If
+		// the stroke is still the newest log entry, the dropped stars are
+		// marked in it, so undo takes the whole stroke back in one step.
+		// Otherwise each removal is recorded, and stars already deleted some
+		// other way are skipped.
+		public void	strokeEnded()
 		{
-			this.q = q;
+			extendAdd = false;
+
+			if (!stroke.isActive())
+				return;
+
+			int	n = stroke.getCount();
+
+			if (stroke.end() == n)
+				return;
+
+			boolean	whole = (n > 0 && log.getLastOp() == ADD &&
+							 log.getLength() == n + 1 &&
+							 log.get(0) == strokeSeqs[0]);
+
+			for (int i=0; i<n; i++)
+			{
+				if (stroke.isKept(i))
+					continue;
+
+				if (whole)
+				{
+					log.set(1 + i, REMOVED);
+					stars.remove(strokeSeqs[i]);
+				}
+				else
+				{
+					removeStar(strokeSeqs[i]);
+				}
+			}
 		}
 
-		public final void	update(GL2 gl)
+		public void	undone()
 		{
-			int		h = view.getHeight();
-			double[]	p = Utilities.mapViewToScene(gl, q.x, h - q.y, 0.0);
+			undoChange();
+		}
 
-			update(p);
+		public void	redone()
+		{
+			redoChange();
 		}
 
-		public abstract void	update(double[] p);
+		public void	sceneSaved()
+		{
+			Path		path = getScenePath();
+			SceneFile	scene = new SceneFile();
+
+			scene.moonLightX = moonLightX;
+			scene.moonLightY = moonLightY;
+			scene.moonDarkX = moonDarkX;
+			scene.moonDarkY = moonDarkY;
+			scene.skyColor = getSkyColor();
+			scene.sides = numberOfSides;
+			scene.flipped = new boolean[fences.size()];
+
+			for (int i=0; i<fences.size(); i++)
+				scene.flipped[i] = fences.isFlipped(i);
+
+			try
+			{
+				SceneFile.write(path, scene, stars);
+				System.out.println("Saved " + stars.size() + " stars to " +
+								   path);
+			}
+			catch (IOException e)
+			{
+				System.err.println("Could not save scene: " + e);
+			}
+		}
+
+		public void	sceneLoaded()
+		{
+			Path		path = getScenePath();
+			SceneFile	scene;
+
+			try
+			{
+				scene = SceneFile.read(path, stars);
+			}
+			catch (IOException e)
+			{
+				System.err.println("Could not load scene: " + e);
+				return;
+			}
+
+			log.clear();
+			extendAdd = false;
+
+			moonLightX = scene.moonLightX;
+			moonLightY = scene.moonLightY;
+			moonDarkX = scene.moonDarkX;
+			moonDarkY = scene.moonDarkY;
+			setSkyColor(scene.skyColor);
+			numberOfSides = scene.sides;
+
+			// Boards the file does not cover are left as they are
+			for (int i=0; i<Math.min(fences.size(), scene.flipped.length); i++)
+				if (fences.isFlipped(i) != scene.flipped[i])
+					fences.flip(i);
+
+			System.out.println("Loaded " + stars.size() + " stars from " +
+							   path);
+		}
+
+		public void	fenceFlipped(int x, int y)
+		{
+			double[]	p = view.getSceneTransform().mapViewToScene(
+				x, view.getHeight() - y, 0.0, inputXY);
+			int		i = fences.find(p[0], p[1]);
+
+			if (i >= 0)
+			{
+				record(FLIP, i, 0L);
+				fences.flip(i);
+			}
+		}
 	}
 }
 
@@ -49,7 +49,7 @@ public final class MouseHandler extends MouseAdapter
 		this.view = view;
 		this.model = model;
 
-		Component component = view.getCanvas();
+		Component component = (Component)view.getCanvas();
 
 		component.addMouseListener(this);
 		component.addMouseMotionListener(this);
@@ -62,15 +62,19 @@ public final class MouseHandler extends MouseAdapter
 
 	public void		mouseClicked(MouseEvent e)
 	{
-		// Adding or removing a star from the sky.
-		if (!Utilities.isShiftDown(e))
+		// Flipping a fence board, or adding or removing a star from the sky.
+		if (Utilities.isControlDown(e))
+		{
+			model.flipFence(e.getPoint());
+		}
+		else if (!Utilities.isShiftDown(e))
 		{
 			model.addPolylinePointInViewCoordinates(e.getPoint());
 		}
 		else
 		{
 			// Remove a specific star.
-			model.removeSpecificStar(model.getCursor());
+			model.removeStarInViewCoordinates(e.getPoint());
 		}
 	}
 
@@ -86,12 +90,15 @@ public final class MouseHandler extends MouseAdapter
 		model.turnCursorOff();
 	}
 
+	// Dragging draws a stroke of stars, thinned out by the model.
 	public void		mousePressed(MouseEvent e)
 	{
+		model.beginStroke();
 	}
 
 	public void		mouseReleased(MouseEvent e)
 	{
+		model.endStroke();
 	}
 
 	//**********************************************************************
@@ -0,0 +1,213 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 10:51:26 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Saves and loads a scene in a versioned binary file with a fixed layout,
+// through a memory-mapped FileChannel. All values are little-endian.
+//
+//   0   int      magic, "HW3S"
+//   4   int      version, 1
+//   8   int      header size in bytes, 64
+//   12  int      number of stars, n
+//   16  int x 4  moon light x and y, moon dark x and y
+//   32  int      sky color, as 0xRRGGBB
+//   36  int      number of sides of the stars, 3 to 9
+//   40  int      number of fence boards, b
+//   44  --       zero, up to the header size
+//   64  byte x b 1 for each fence board that is flipped, else 0, padded
+//                with zeros to a multiple of 4 bytes
+//   ..  float x n  star x, oldest first
+//   ..  float x n  star y, oldest first
+//
+// The star coordinates are two packed columns, so loading maps the file and
+// copies each column into the StarStore in bulk, with no parsing. The store
+// then builds its grid in one pass. A file is checked in full before the
+// store is touched, so a bad file leaves the scene as it was.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.io.IOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>SceneFile</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class SceneFile
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int	MAGIC = 0x53335748;		// "HW3S", little-endian
+	public static final int	VERSION = 1;
+	public static final int	HEADER = 64;			// Bytes
+	public static final int	MIN_SIDES = 3;			// As keys 3-9 set
+	public static final int	MAX_SIDES = 9;
+
+	//**********************************************************************
+	// Public Members
+	//**********************************************************************
+
+	// The scene besides the stars
+	public int				moonLightX;
+	public int				moonLightY;
+	public int				moonDarkX;
+	public int				moonDarkY;
+	public int				skyColor;		// 0xRRGGBB
+	public int				sides;
+	public boolean[]		flipped;		// By fence board
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Writes a scene and its stars, replacing the file if there is one.
+	public static void	write(Path path, SceneFile scene, StarStore stars)
+		throws IOException
+	{
+		int		n = stars.size();
+		int		b = scene.flipped.length;
+		long	size = getSize(n, b);
+
+		if (size > Integer.MAX_VALUE)
+			throw new IOException("Too many stars to save: " + n);
+
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			MappedByteBuffer	buffer =
+				channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.putInt(HEADER);
+			buffer.putInt(n);
+			buffer.putInt(scene.moonLightX);
+			buffer.putInt(scene.moonLightY);
+			buffer.putInt(scene.moonDarkX);
+			buffer.putInt(scene.moonDarkY);
+			buffer.putInt(scene.skyColor);
+			buffer.putInt(scene.sides);
+			buffer.putInt(b);
+
+			buffer.position(HEADER);
+
+			for (int i=0; i<b; i++)
+				buffer.put((byte)(scene.flipped[i] ? 1 : 0));
+
+			int	columns = HEADER + pad(b);
+
+			stars.copyTo(column(buffer, columns, n),
+						 column(buffer, columns + 4 * n, n));
+
+			buffer.force();
+		}
+	}
+
+	// Reads a scene, loading its stars into the store. Throws if the file is
+	// not a scene this version can read, leaving the store as it was.
+	public static SceneFile	read(Path path, StarStore stars)
+		throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path,
+												StandardOpenOption.READ))
+		{
+			long	length = channel.size();
+
+			if (length < HEADER || length > Integer.MAX_VALUE)
+				throw new IOException("Not a scene file: " + path);
+
+			MappedByteBuffer	buffer =
+				channel.map(FileChannel.MapMode.READ_ONLY, 0L, length);
+
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			if (buffer.getInt(0) != MAGIC)
+				throw new IOException("Not a scene file: " + path);
+
+			if (buffer.getInt(4) != VERSION || buffer.getInt(8) != HEADER)
+				throw new IOException("Unsupported scene file version " +
+									  buffer.getInt(4) + ": " + path);
+
+			int	n = buffer.getInt(12);
+			int	b = buffer.getInt(40);
+
+			if (n < 0 || b < 0 || getSize(n, b) != length)
+				throw new IOException("Truncated scene file: " + path);
+
+			int	sides = buffer.getInt(36);
+
+			if (sides < MIN_SIDES || sides > MAX_SIDES)
+				throw new IOException("Bad number of sides " + sides + ": " +
+									  path);
+
+			SceneFile	scene = new SceneFile();
+
+			scene.moonLightX = buffer.getInt(16);
+			scene.moonLightY = buffer.getInt(20);
+			scene.moonDarkX = buffer.getInt(24);
+			scene.moonDarkY = buffer.getInt(28);
+			scene.skyColor = buffer.getInt(32);
+			scene.sides = sides;
+			scene.flipped = new boolean[b];
+
+			for (int i=0; i<b; i++)
+				scene.flipped[i] = (buffer.get(HEADER + i) != 0);
+
+			int	columns = HEADER + pad(b);
+
+			stars.load(column(buffer, columns, n),
+					   column(buffer, columns + 4 * n, n), n);
+
+			return scene;
+		}
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static long	getSize(int n, int b)
+	{
+		return HEADER + pad(b) + 8L * n;
+	}
+
+	// Rounds a number of bytes up to a whole number of floats.
+	private static int	pad(int bytes)
+	{
+		return (bytes + 3) & ~3;
+	}
+
+	// Returns a view of n floats in the buffer, starting at a byte offset.
+	private static FloatBuffer	column(ByteBuffer buffer, int offset, int n)
+	{
+		ByteBuffer	b = buffer.duplicate();
+
+		b.position(offset);
+		b.limit(offset + 4 * n);
+
+		return b.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+	}
+}
+
+//******************************************************************************
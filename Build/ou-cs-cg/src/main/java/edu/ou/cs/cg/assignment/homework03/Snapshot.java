@@ -0,0 +1,180 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Tue Oct 20 10:14:36 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The values the View needs to draw one frame, copied from the Model all at
+// once after the frame's input has been applied. The View reads only the
+// snapshot while rendering, so every stage of a frame sees the same values.
+//
+// The Model keeps two snapshots and fills the one not being read, then
+// publishes it. The two are filled in place by turns, so a reader on another
+// thread could see one half written. Model.getSnapshot() throws on any
+// thread but the one that runs the frames, once they have started. Reusing
+// the two objects keeps the frame loop from allocating.
+//
+// The fence boards' flip bits are copied in too, so the View draws the
+// boards from the snapshot and the fixed places of the boards alone.
+//
+// The stars are too big to copy every frame. The snapshot carries only their
+// number, and the View's StarBatch reads them from the Model's StarStore,
+// which changes only while input is applied at the start of a frame. That is
+// safe only on the thread that runs the frames, so once frames have started,
+// Model.getStars() (and getFences() and getPolyline()) throw on any other.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Snapshot</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Snapshot
+{
+	//**********************************************************************
+	// Private Members (written only by the Model before publishing)
+	//**********************************************************************
+
+	long				frame;			// Number of snapshots published
+	int				red;			// Sky color
+	int				green;
+	int				blue;
+	int				sides;			// Points on every star
+	int				moonLightX;		// Bright side of the moon
+	int				moonLightY;
+	int				moonDarkX;		// Dark side of the moon
+	int				moonDarkY;
+	boolean			cursorOn;
+	double				cursorX;		// Scene coordinates
+	double				cursorY;
+	double				originX;		// Scene coordinates
+	double				originY;
+	int				stars;			// Number of user stars
+	int				fenceVersion;	// Bumped whenever a board flips
+	long[]				fenceFlips = new long[1];	// Bit per board
+	boolean			flagUp;
+	boolean			profiling;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	Snapshot()
+	{
+	}
+
+	//**********************************************************************
+	// Getters
+	//**********************************************************************
+
+	public long	getFrame()
+	{
+		return frame;
+	}
+
+	public int	getRedValue()
+	{
+		return red;
+	}
+
+	public int	getGreenValue()
+	{
+		return green;
+	}
+
+	public int	getBlueValue()
+	{
+		return blue;
+	}
+
+	public int	getNumberOfSides()
+	{
+		return sides;
+	}
+
+	public int	getMoonLightX()
+	{
+		return moonLightX;
+	}
+
+	public int	getMoonLightY()
+	{
+		return moonLightY;
+	}
+
+	public int	getMoonDarkX()
+	{
+		return moonDarkX;
+	}
+
+	public int	getMoonDarkY()
+	{
+		return moonDarkY;
+	}
+
+	public boolean	hasCursor()
+	{
+		return cursorOn;
+	}
+
+	public double	getCursorX()
+	{
+		return cursorX;
+	}
+
+	public double	getCursorY()
+	{
+		return cursorY;
+	}
+
+	public double	getOriginX()
+	{
+		return originX;
+	}
+
+	public double	getOriginY()
+	{
+		return originY;
+	}
+
+	public int	getNumberOfStars()
+	{
+		return stars;
+	}
+
+	public int	getFenceVersion()
+	{
+		return fenceVersion;
+	}
+
+	public boolean	isFenceFlipped(int i)
+	{
+		return ((fenceFlips[i >>> 6] & (1L << i)) != 0L);
+	}
+
+	public boolean	getFlagPosition()
+	{
+		return flagUp;
+	}
+
+	public boolean	isProfiling()
+	{
+		return profiling;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,636 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Tue Oct 20 11:48:09 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Draws all of the user's sky stars with a constant number of draw calls.
+// Every star is the same shape, so each star is one point in a vertex buffer,
+// two shorts for its whole-pixel position, drawn as a point sprite. The star
+// itself is drawn once (for each number of sides and canvas size) into two
+// sprite textures, one for the yellow fill and one for the black edge, which
+// are drawn in two passes, so every fill is under every edge. The textures
+// are drawn with the scene's pixels per unit across and up, so the sprites
+// stretch with the canvas like the rest of the scene.
+//
+// The star positions live in the model's StarStore. The vertex buffer mirrors
+// its ring slot for slot, so stars can be appended at the end or removed from
+// either end without touching any other star. Only the stars that changed
+// since the previous frame are uploaded, four bytes each. A star removed from
+// the middle of the ring is uploaded again, moved far outside the scene,
+// until its slot is reused. Changing the number of sides only draws the two
+// textures again.
+//
+// A point is clipped whole once its center leaves the viewport, so sprites
+// are drawn into a viewport padded by half a sprite on every side, with the
+// projection scaled to keep the scene in place, and scissored to the real
+// one. Stars at the edges of the view are cut off there, as the stamped
+// stars are, instead of popping out.
+//
+// Point sprites need OpenGL 2.0 and framebuffer objects, and a sprite can be
+// no bigger than the largest point size. Where they cannot be used, the star
+// template is expanded on the CPU instead, stamped at each star position into
+// a fill and an edge vertex buffer, which costs about 400 bytes a star.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
+
+//******************************************************************************
+
+/**
+ * The <CODE>StarBatch</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class StarBatch
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	CHUNK = 1024;		// Stars per upload
+	private static final float	GONE = -1.0e6f;		// Where removed stars go
+	private static final float	PAD = 2.0f;			// Pixels around sprites
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final StarStore	stars;			// Star positions
+	private final double		r1;				// Outer radius of points
+	private final double		r2;				// Inner radius of points
+
+	// Template for the current number of sides
+	private int				sides;
+	private float[]			fill;			// GL_TRIANGLES offsets
+	private float[]			edge;			// GL_LINES offsets
+
+	// Buffer objects, and whether every star needs uploading. Sprites use
+	// the first buffer for positions; stamped stars use both for vertices.
+	private final int[]		vbo = new int[2];
+	private int				vboCapacity;	// In stars
+	private boolean			sprites;		// Buffers hold positions?
+	private FloatBuffer		staging;		// Stamped vertices
+	private ShortBuffer		positions;		// Sprite positions
+	private boolean			dirty;
+
+	// Sprite framebuffer and fill and edge textures, and what they show
+	private final int[]		ids = new int[3];
+	private int				spriteSize;		// Pixels across, or 0
+	private int				spriteSides;
+	private double				spriteSx;
+	private double				spriteSy;
+	private float				maxPointSize;	// Zero until asked, -1 if none
+	private final float[]		range = new float[2];
+	private final int[]		viewport = new int[4];
+	private final int[]		scissor = new int[4];
+	private final float[]		projection = new float[16];
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public StarBatch(StarStore stars, int sides, double r1, double r2)
+	{
+		this.stars = stars;
+		this.r1 = r1;
+		this.r2 = r2;
+
+		setSides(sides);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return stars.size();
+	}
+
+	public int	getSides()
+	{
+		return sides;
+	}
+
+	// Changes the shape of every star. Sprites are drawn again; stamped
+	// stars are all uploaded again.
+	public void	setSides(int sides)
+	{
+		if (sides == this.sides)
+			return;
+
+		this.sides = sides;
+
+		// Fan around the center, closing on the first point
+		fill = new float[2 * 6 * sides];
+		edge = new float[2 * 4 * sides];
+
+		double	delta = Math.PI / sides;
+
+		for (int j=0; j<2*sides; j++)
+		{
+			double	a0 = 0.5 * Math.PI + j * delta;
+			double	a1 = a0 + delta;
+			double	q0 = ((j % 2 == 0) ? r1 : r2);
+			double	q1 = ((j % 2 == 0) ? r2 : r1);
+			float	x0 = (float)(q0 * Math.cos(a0));
+			float	y0 = (float)(q0 * Math.sin(a0));
+			float	x1 = (float)(q1 * Math.cos(a1));
+			float	y1 = (float)(q1 * Math.sin(a1));
+
+			int	f = 6 * j;
+
+			fill[f] = 0.0f;
+			fill[f + 1] = 0.0f;
+			fill[f + 2] = x0;
+			fill[f + 3] = y0;
+			fill[f + 4] = x1;
+			fill[f + 5] = y1;
+
+			int	e = 4 * j;
+
+			edge[e] = x0;
+			edge[e + 1] = y0;
+			edge[e + 2] = x1;
+			edge[e + 3] = y1;
+		}
+
+		if (!sprites)
+		{
+			vboCapacity = 0;				// Reallocate at the new size
+			dirty = true;
+		}
+	}
+
+	//**********************************************************************
+	// Public Methods (Drawing)
+	//**********************************************************************
+
+	// Draws all stars, filled and then edged, given the pixels per scene
+	// unit across and up. Each pass takes one glDrawArrays() call, or two
+	// when the ring wraps around.
+	public void	draw(GL2 gl, double sx, double sy)
+	{
+		int		count = (int)(stars.getEnd() - stars.getFirst());
+
+		if (count == 0)
+			return;
+
+		int		size = 2 * (int)Math.ceil(r1 * Math.max(sx, sy) + PAD);
+		boolean	use = canSprite(gl, size);
+
+		if (use != sprites)
+		{
+			sprites = use;
+			vboCapacity = 0;				// Reallocate for the other way
+		}
+
+		upload(gl);
+
+		int		hs = stars.getSlot(stars.getFirst());
+		int		n1 = Math.min(count, vboCapacity - hs);
+		int		n2 = count - n1;
+
+		gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+
+		if (sprites)
+		{
+			if (size != spriteSize || sides != spriteSides ||
+				sx != spriteSx || sy != spriteSy)
+				drawSprites(gl, size, sx, sy);
+
+			drawPoints(gl, hs, n1, n2);
+		}
+		else
+		{
+			drawStamped(gl, hs, n1, n2);
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+		gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		if (vbo[0] != 0)
+			gl.glDeleteBuffers(2, vbo, 0);
+
+		if (ids[0] != 0)
+		{
+			gl.glDeleteFramebuffers(1, ids, 0);
+			gl.glDeleteTextures(2, ids, 1);
+		}
+
+		vbo[0] = 0;
+		vbo[1] = 0;
+		vboCapacity = 0;
+		ids[0] = 0;
+		ids[1] = 0;
+		ids[2] = 0;
+		spriteSize = 0;
+		maxPointSize = 0.0f;
+		dirty = true;
+	}
+
+	//**********************************************************************
+	// Private Methods (Sprites)
+	//**********************************************************************
+
+	// Returns true if stars can be drawn as sprites of the given size.
+	private boolean	canSprite(GL2 gl, int size)
+	{
+		if (maxPointSize == 0.0f)
+		{
+			maxPointSize = -1.0f;
+
+			if (gl.hasBasicFBOSupport() &&
+				gl.isExtensionAvailable("GL_VERSION_2_0"))
+			{
+				gl.glGetFloatv(GL.GL_ALIASED_POINT_SIZE_RANGE, range, 0);
+				maxPointSize = range[1];
+			}
+		}
+
+		return (size <= maxPointSize);
+	}
+
+	// Draws the star into the fill and edge textures, size pixels across.
+	private void	drawSprites(GL2 gl, int size, double sx, double sy)
+	{
+		if (ids[0] == 0)
+		{
+			gl.glGenFramebuffers(1, ids, 0);
+			gl.glGenTextures(2, ids, 1);
+		}
+
+		if (size != spriteSize)
+		{
+			for (int i=1; i<=2; i++)
+			{
+				gl.glBindTexture(GL.GL_TEXTURE_2D, ids[i]);
+				gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER,
+								   GL.GL_NEAREST);
+				gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER,
+								   GL.GL_NEAREST);
+				gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S,
+								   GL.GL_CLAMP_TO_EDGE);
+				gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T,
+								   GL.GL_CLAMP_TO_EDGE);
+				gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, GL.GL_RGBA8, size, size,
+								0, GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, null);
+			}
+
+			gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+		}
+
+		int	previous = gl.getBoundFramebuffer(GL.GL_FRAMEBUFFER);
+
+		gl.glGetIntegerv(GL.GL_VIEWPORT, viewport, 0);
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, ids[0]);
+		gl.glViewport(0, 0, size, size);
+
+		// Scene units around the center, as many as the sprite covers
+		double	hx = 0.5 * size / sx;
+		double	hy = 0.5 * size / sy;
+
+		gl.glMatrixMode(GLMatrixFunc.GL_PROJECTION);
+		gl.glPushMatrix();
+		gl.glLoadIdentity();
+		gl.glOrtho(-hx, hx, -hy, hy, -1.0, 1.0);
+		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glLoadIdentity();
+
+		// Premultiplied, as in a LayerCache
+		gl.glBlendFuncSeparate(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA,
+							   GL.GL_ONE, GL.GL_ONE_MINUS_SRC_ALPHA);
+		gl.glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+
+		gl.glFramebufferTexture2D(GL.GL_FRAMEBUFFER, GL.GL_COLOR_ATTACHMENT0,
+								  GL.GL_TEXTURE_2D, ids[1], 0);
+		gl.glClear(GL.GL_COLOR_BUFFER_BIT);
+		gl.glColor4f(1.0f, 1.0f, 0.0f, 1.0f);	// Yellow
+		drawTemplate(gl, GL.GL_TRIANGLES, fill);
+
+		gl.glFramebufferTexture2D(GL.GL_FRAMEBUFFER, GL.GL_COLOR_ATTACHMENT0,
+								  GL.GL_TEXTURE_2D, ids[2], 0);
+		gl.glClear(GL.GL_COLOR_BUFFER_BIT);
+		gl.glColor4f(0.0f, 0.0f, 0.0f, 1.0f);	// Black
+		drawTemplate(gl, GL.GL_LINES, edge);
+
+		gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+		gl.glPopMatrix();
+		gl.glMatrixMode(GLMatrixFunc.GL_PROJECTION);
+		gl.glPopMatrix();
+		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, previous);
+		gl.glViewport(viewport[0], viewport[1], viewport[2], viewport[3]);
+
+		spriteSize = size;
+		spriteSides = sides;
+		spriteSx = sx;
+		spriteSy = sy;
+	}
+
+	private static void	drawTemplate(GL2 gl, int mode, float[] template)
+	{
+		gl.glBegin(mode);
+
+		for (int j=0; j<template.length; j+=2)
+			gl.glVertex2f(template[j], template[j + 1]);
+
+		gl.glEnd();
+	}
+
+	// Draws a point sprite at each star, with the fill and then the edge.
+	private void	drawPoints(GL2 gl, int hs, int n1, int n2)
+	{
+		boolean	smooth = gl.glIsEnabled(GL2.GL_POINT_SMOOTH);
+
+		if (smooth)
+			gl.glDisable(GL2.GL_POINT_SMOOTH);
+
+		gl.glEnable(GL2.GL_POINT_SPRITE);
+		gl.glTexEnvi(GL2.GL_POINT_SPRITE, GL2.GL_COORD_REPLACE, GL.GL_TRUE);
+		gl.glPointParameteri(GL2.GL_POINT_SPRITE_COORD_ORIGIN,
+							 GL2.GL_LOWER_LEFT);
+		gl.glPointSize(spriteSize);
+
+		gl.glEnable(GL.GL_TEXTURE_2D);
+		gl.glBlendFunc(GL.GL_ONE, GL.GL_ONE_MINUS_SRC_ALPHA);
+		gl.glColor4f(1.0f, 1.0f, 1.0f, 1.0f);
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[0]);
+		gl.glVertexPointer(2, GL.GL_SHORT, 0, 0L);
+
+		boolean	scissored = beginPadding(gl, spriteSize / 2);
+
+		for (int i=1; i<=2; i++)
+		{
+			gl.glBindTexture(GL.GL_TEXTURE_2D, ids[i]);
+			gl.glDrawArrays(GL.GL_POINTS, hs, n1);
+
+			if (n2 > 0)
+				gl.glDrawArrays(GL.GL_POINTS, 0, n2);
+		}
+
+		endPadding(gl, scissored);
+
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+		gl.glDisable(GL.GL_TEXTURE_2D);
+		gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+
+		gl.glPointSize(1.0f);
+		gl.glTexEnvi(GL2.GL_POINT_SPRITE, GL2.GL_COORD_REPLACE, GL.GL_FALSE);
+		gl.glDisable(GL2.GL_POINT_SPRITE);
+
+		if (smooth)
+			gl.glEnable(GL2.GL_POINT_SMOOTH);
+	}
+
+	// Grows the viewport by pad pixels on every side and scales the
+	// projection down to match, so the scene stays in place but points just
+	// outside the view are not clipped. Scissors to the old viewport. Returns
+	// true if the scissor test was already on.
+	private boolean	beginPadding(GL2 gl, int pad)
+	{
+		boolean	scissored = gl.glIsEnabled(GL.GL_SCISSOR_TEST);
+
+		gl.glGetIntegerv(GL.GL_VIEWPORT, viewport, 0);
+		gl.glGetIntegerv(GL.GL_SCISSOR_BOX, scissor, 0);
+		gl.glGetFloatv(GLMatrixFunc.GL_PROJECTION_MATRIX, projection, 0);
+
+		int	vw = viewport[2];
+		int	vh = viewport[3];
+
+		gl.glEnable(GL.GL_SCISSOR_TEST);
+		gl.glScissor(viewport[0], viewport[1], vw, vh);
+		gl.glViewport(viewport[0] - pad, viewport[1] - pad,
+					  vw + 2 * pad, vh + 2 * pad);
+
+		gl.glMatrixMode(GLMatrixFunc.GL_PROJECTION);
+		gl.glPushMatrix();
+		gl.glLoadIdentity();
+		gl.glScaled(vw / (double)(vw + 2 * pad),
+					vh / (double)(vh + 2 * pad), 1.0);
+		gl.glMultMatrixf(projection, 0);
+		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+
+		return scissored;
+	}
+
+	// Puts back the projection, viewport, and scissor test.
+	private void	endPadding(GL2 gl, boolean scissored)
+	{
+		gl.glMatrixMode(GLMatrixFunc.GL_PROJECTION);
+		gl.glPopMatrix();
+		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+
+		gl.glViewport(viewport[0], viewport[1], viewport[2], viewport[3]);
+		gl.glScissor(scissor[0], scissor[1], scissor[2], scissor[3]);
+
+		if (!scissored)
+			gl.glDisable(GL.GL_SCISSOR_TEST);
+	}
+
+	//**********************************************************************
+	// Private Methods (Stamped)
+	//**********************************************************************
+
+	// Draws the stamped fills, then the stamped edges.
+	private void	drawStamped(GL2 gl, int hs, int n1, int n2)
+	{
+		int		fv = fill.length / 2;			// Vertices per star fill
+		int		ev = edge.length / 2;			// Vertices per star edge
+
+		gl.glColor4f(1.0f, 1.0f, 0.0f, 1.0f);	// Yellow
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[0]);
+		gl.glVertexPointer(2, GL.GL_FLOAT, 0, 0L);
+		gl.glDrawArrays(GL.GL_TRIANGLES, hs * fv, n1 * fv);
+
+		if (n2 > 0)
+			gl.glDrawArrays(GL.GL_TRIANGLES, 0, n2 * fv);
+
+		gl.glColor4f(0.0f, 0.0f, 0.0f, 1.0f);	// Black
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[1]);
+		gl.glVertexPointer(2, GL.GL_FLOAT, 0, 0L);
+		gl.glDrawArrays(GL.GL_LINES, hs * ev, n1 * ev);
+
+		if (n2 > 0)
+			gl.glDrawArrays(GL.GL_LINES, 0, n2 * ev);
+	}
+
+	//**********************************************************************
+	// Private Methods (Upload)
+	//**********************************************************************
+
+	// Uploads every star changed since the last upload, as a position or as
+	// stamped templates.
+	private void	upload(GL2 gl)
+	{
+		if (vbo[0] == 0)
+			gl.glGenBuffers(2, vbo, 0);
+
+		if (vboCapacity != stars.getCapacity())
+		{
+			vboCapacity = stars.getCapacity();
+
+			if (sprites)
+			{
+				gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[0]);
+				gl.glBufferData(GL.GL_ARRAY_BUFFER,
+								(long)vboCapacity * 2 * Buffers.SIZEOF_SHORT,
+								null, GL.GL_DYNAMIC_DRAW);
+				gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[1]);
+				gl.glBufferData(GL.GL_ARRAY_BUFFER, 0L, null,
+								GL.GL_DYNAMIC_DRAW);
+
+				if (positions == null)
+					positions = Buffers.newDirectShortBuffer(CHUNK * 2);
+			}
+			else
+			{
+				gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[0]);
+				gl.glBufferData(GL.GL_ARRAY_BUFFER,
+								(long)vboCapacity * fill.length * Buffers.SIZEOF_FLOAT,
+								null, GL.GL_DYNAMIC_DRAW);
+				gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[1]);
+				gl.glBufferData(GL.GL_ARRAY_BUFFER,
+								(long)vboCapacity * edge.length * Buffers.SIZEOF_FLOAT,
+								null, GL.GL_DYNAMIC_DRAW);
+
+				staging = Buffers.newDirectFloatBuffer(CHUNK * fill.length);
+			}
+
+			dirty = true;
+		}
+
+		long	lo = getUploadFrom(stars, dirty);
+		long	hi = getUploadTo(stars, dirty);
+
+		// Upload in chunks that never wrap around the end of the ring
+		while (lo < hi)
+		{
+			int	slot = stars.getSlot(lo);
+			int	n = (int)Math.min(Math.min(hi - lo, CHUNK), vboCapacity - slot);
+
+			if (sprites)
+			{
+				place(gl, slot, n);
+			}
+			else
+			{
+				stamp(gl, vbo[0], fill, slot, n);
+				stamp(gl, vbo[1], edge, slot, n);
+			}
+
+			lo += n;
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+
+		stars.clearChanges();
+		dirty = false;
+	}
+
+	// Returns the first sequence number to upload, given whether all stars
+	// need uploading. StarCheck uses the same range.
+	static long	getUploadFrom(StarStore stars, boolean all)
+	{
+		long	head = stars.getFirst();
+
+		return (all ? head : Math.max(stars.getChangedFrom(), head));
+	}
+
+	// Returns one past the last sequence number to upload.
+	static long	getUploadTo(StarStore stars, boolean all)
+	{
+		long	tail = stars.getEnd();
+
+		return (all ? tail : Math.min(stars.getChangedTo(), tail));
+	}
+
+	// Uploads the positions of n stars from a slot, as whole pixels.
+	private void	place(GL2 gl, int slot, int n)
+	{
+		positions.clear();
+
+		for (int i=0; i<n; i++)
+		{
+			if (stars.isSlotRemoved(slot + i))
+			{
+				positions.put(Short.MIN_VALUE);
+				positions.put(Short.MIN_VALUE);
+				continue;
+			}
+
+			positions.put(toShort(stars.getSlotX(slot + i)));
+			positions.put(toShort(stars.getSlotY(slot + i)));
+		}
+
+		positions.flip();
+
+		long	size = 2L * Buffers.SIZEOF_SHORT;
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[0]);
+		gl.glBufferSubData(GL.GL_ARRAY_BUFFER, slot * size, n * size,
+						   positions);
+	}
+
+	private static short	toShort(float v)
+	{
+		return (short)Math.max(Short.MIN_VALUE + 1,
+							   Math.min(Short.MAX_VALUE, (int)v));
+	}
+
+	private void	stamp(GL2 gl, int id, float[] template, int slot, int n)
+	{
+		staging.clear();
+
+		for (int i=0; i<n; i++)
+		{
+			float	x = (int)stars.getSlotX(slot + i);	// Stars sit on
+			float	y = (int)stars.getSlotY(slot + i);	// whole pixels
+
+			if (stars.isSlotRemoved(slot + i))
+			{
+				for (int j=0; j<template.length; j++)
+					staging.put(GONE);
+
+				continue;
+			}
+
+			for (int j=0; j<template.length; j+=2)
+			{
+				staging.put(x + template[j]);
+				staging.put(y + template[j + 1]);
+			}
+		}
+
+		staging.flip();
+
+		long	size = (long)template.length * Buffers.SIZEOF_FLOAT;
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, id);
+		gl.glBufferSubData(GL.GL_ARRAY_BUFFER, slot * size, n * size, staging);
+	}
+}
+
+//******************************************************************************
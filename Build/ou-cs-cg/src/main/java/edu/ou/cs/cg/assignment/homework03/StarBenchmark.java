@@ -0,0 +1,230 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 17:58:40 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Compares the StarStore grid index against scanning every star, for the
+// queries behind shift-click. Needs no display. Run it with
+//
+//   StarBenchmark [stars] [queries]
+//
+// It fills a store with random stars on whole pixels of a 1280x720 sky (one
+// million by default), then times, per query:
+//
+//   - band:    the old scan, for the first star within 25 in x only
+//   - scan:    a scan for the nearest star within 20 in x and y
+//   - grid:    findNearest() with the same radius
+//   - rect:    findInRect() over a 64x64 square
+//   - remove:  findNearest() and remove() together, as shift-click does
+//
+// The scans and the grid must agree on every nearest star, or it exits with
+// a nonzero status.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Random;
+
+//******************************************************************************
+
+/**
+ * The <CODE>StarBenchmark</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class StarBenchmark
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		W = 1280;
+	private static final int		H = 720;
+	private static final double	RADIUS = 20.0;		// Outer star radius
+
+	//**********************************************************************
+	// Main
+	//**********************************************************************
+
+	public static void	main(String[] args)
+	{
+		int			stars = ((args.length > 0) ? Integer.parseInt(args[0])
+											   : 1000000);
+		int			queries = ((args.length > 1) ? Integer.parseInt(args[1])
+												 : 2000);
+		StarStore	store = new StarStore();
+		Random		random = new Random(1);
+
+		long	t0 = System.nanoTime();
+
+		for (int i=0; i<stars; i++)
+			store.add(random.nextInt(W), random.nextInt(H));
+
+		long	t1 = System.nanoTime();
+
+		System.out.println("Stars: " + stars + ", queries: " + queries);
+		System.out.println("Fill: " + (t1 - t0) / 1.0e6 + " ms");
+
+		double[]	qx = new double[queries];
+		double[]	qy = new double[queries];
+
+		for (int i=0; i<queries; i++)
+		{
+			qx[i] = random.nextDouble() * W;
+			qy[i] = random.nextDouble() * H;
+		}
+
+		long[]	out = new long[4096];
+		long	sink = 0L;
+		int		wrong = 0;
+
+		// Warm up every path once so the timings are of compiled code
+		for (int i=0; i<Math.min(queries, 200); i++)
+			sink += band(store, qx[i]) + scan(store, qx[i], qy[i]) +
+				store.findNearest(qx[i], qy[i], RADIUS);
+
+		t0 = System.nanoTime();
+
+		for (int i=0; i<queries; i++)
+			sink += band(store, qx[i]);
+
+		t1 = System.nanoTime();
+		report("band", t1 - t0, queries);
+
+		long[]	expected = new long[queries];
+
+		t0 = System.nanoTime();
+
+		for (int i=0; i<queries; i++)
+			expected[i] = scan(store, qx[i], qy[i]);
+
+		t1 = System.nanoTime();
+		report("scan", t1 - t0, queries);
+
+		t0 = System.nanoTime();
+
+		for (int i=0; i<queries; i++)
+		{
+			long	seq = store.findNearest(qx[i], qy[i], RADIUS);
+
+			if (!sameDistance(store, qx[i], qy[i], seq, expected[i]))
+				wrong++;
+
+			sink += seq;
+		}
+
+		t1 = System.nanoTime();
+		report("grid", t1 - t0, queries);
+
+		t0 = System.nanoTime();
+
+		for (int i=0; i<queries; i++)
+			sink += store.findInRect(qx[i] - 32.0, qy[i] - 32.0,
+									 qx[i] + 32.0, qy[i] + 32.0, out);
+
+		t1 = System.nanoTime();
+		report("rect", t1 - t0, queries);
+
+		t0 = System.nanoTime();
+
+		for (int i=0; i<queries; i++)
+		{
+			long	seq = store.findNearest(qx[i], qy[i], RADIUS);
+
+			if (seq >= 0)
+				store.remove(seq);
+		}
+
+		t1 = System.nanoTime();
+		report("remove", t1 - t0, queries);
+
+		System.out.println("Stars left: " + store.size() + " (" + sink % 10 +
+						   ")");
+
+		if (wrong > 0)
+		{
+			System.err.println("Grid and scan disagree on " + wrong +
+							   " queries.");
+			System.exit(1);
+		}
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static void	report(String name, long nanos, int queries)
+	{
+		System.out.println(name + ": " + nanos / 1.0e3 / queries +
+						   " us per query");
+	}
+
+	// The scan shift-click used to do, matching x only.
+	private static long	band(StarStore store, double x)
+	{
+		for (long seq=store.getFirst(); seq<store.getEnd(); seq++)
+		{
+			if (store.isRemoved(seq))
+				continue;
+
+			double	px = store.getX(seq);
+
+			if (x - 25 <= px && x + 25 >= px)
+				return seq;
+		}
+
+		return -1L;
+	}
+
+	// The nearest star within the radius, by looking at every star.
+	private static long	scan(StarStore store, double x, double y)
+	{
+		double	best = RADIUS * RADIUS;
+		long	found = -1L;
+
+		for (long seq=store.getFirst(); seq<store.getEnd(); seq++)
+		{
+			if (store.isRemoved(seq))
+				continue;
+
+			double	dx = store.getX(seq) - x;
+			double	dy = store.getY(seq) - y;
+			double	d = dx * dx + dy * dy;
+
+			if (d <= best)
+			{
+				best = d;
+				found = seq;
+			}
+		}
+
+		return found;
+	}
+
+	// Ties may be broken either way, so compare distances, not stars.
+	private static boolean	sameDistance(StarStore store, double x, double y,
+										 long a, long b)
+	{
+		if (a < 0 || b < 0)
+			return (a == b);
+
+		double	ax = store.getX(a) - x;
+		double	ay = store.getY(a) - y;
+		double	bx = store.getX(b) - x;
+		double	by = store.getY(b) - y;
+
+		return (ax * ax + ay * ay == bx * bx + by * by);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,278 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Tue Oct 20 09:41:06 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Checks that the stars a StarBatch would draw match the StarStore after
+// adds, removals, undo, and redo. Needs no display. Run it with
+//
+//   StarCheck [rounds] [steps] [seed]
+//
+// A Mirror stands in for the vertex buffer. After random runs of steps, as
+// frames would, it copies the stars in the range StarBatch uploads, and then
+// every slot from the oldest star to the newest must match the store: a star
+// where the store has one, at the same place, and a tombstone where it has
+// none. A star still drawn where the store has a tombstone is a ghost.
+//
+// The steps add stars, remove the oldest, the newest, or one in the middle,
+// and undo and redo them the way the model does. The first round replays a
+// fixed case that once left a ghost; the rest are random (500 rounds of 400
+// steps by default). It exits with a nonzero status at the first mismatch.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.ArrayList;
+import java.util.Random;
+
+//******************************************************************************
+
+/**
+ * The <CODE>StarCheck</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class StarCheck
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	W = 1280;
+	private static final int	H = 720;
+	private static final int	MAX_RUN = 8;	// Most steps in a frame
+
+	private static final int	ADD = 0;
+	private static final int	REMOVE = 1;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final StarStore			stars = new StarStore();
+	private final Mirror				mirror = new Mirror();
+	private final ArrayList<Entry>	done = new ArrayList<Entry>();
+	private final ArrayList<Entry>	undone = new ArrayList<Entry>();
+
+	//**********************************************************************
+	// Main
+	//**********************************************************************
+
+	public static void	main(String[] args)
+	{
+		int		rounds = ((args.length > 0) ? Integer.parseInt(args[0]) : 500);
+		int		steps = ((args.length > 1) ? Integer.parseInt(args[1]) : 400);
+		long	seed = ((args.length > 2) ? Long.parseLong(args[2]) : 1L);
+		Random	random = new Random(seed);
+
+		// Five stars, shift-click the fourth, delete the newest, add one,
+		// then undo twice
+		StarCheck	c = new StarCheck();
+
+		for (int i=0; i<5; i++)
+			c.add(100 + 200 * i, 300);
+
+		c.frame("five added");
+		c.remove(3);
+		c.frame("fourth removed");
+		c.remove(c.stars.getEnd() - 1);
+		c.frame("newest removed");
+		c.add(900, 300);
+		c.frame("one added");
+		c.undo();
+		c.frame("add undone");
+		c.undo();
+		c.frame("removal undone");
+
+		for (int r=0; r<rounds; r++)
+		{
+			c = new StarCheck();
+
+			int	i = 0;
+
+			while (i < steps)
+			{
+				int	end = Math.min(steps, i + 1 + random.nextInt(MAX_RUN));
+
+				for (; i<end; i++)
+					c.step(random);
+
+				c.frame("round " + r + ", step " + i);
+			}
+		}
+
+		System.out.println(rounds + " rounds of " + steps +
+						   " steps matched");
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Takes one random step, mostly adds.
+	private void	step(Random random)
+	{
+		int		k = random.nextInt(10);
+		long	first = stars.getFirst();
+		long	n = stars.getEnd() - first;
+
+		if (k < 4 || n == 0)
+			add(random.nextInt(W), random.nextInt(H));
+		else if (k == 4)
+			remove(first);
+		else if (k == 5)
+			remove(first + n - 1);
+		else if (k == 6)
+			remove(first + (long)(random.nextDouble() * n));
+		else if (k < 9)
+			undo();
+		else
+			redo();
+	}
+
+	private void	add(float x, float y)
+	{
+		Entry	e = new Entry(ADD, stars.getEnd(), x, y);
+
+		stars.add(x, y);
+		done.add(e);
+		undone.clear();
+	}
+
+	private void	remove(long seq)
+	{
+		if (stars.isRemoved(seq))
+			return;
+
+		Entry	e = new Entry(REMOVE, seq, stars.getX(seq), stars.getY(seq));
+
+		e.oldFirst = stars.getFirst();
+		e.oldEnd = stars.getEnd();
+
+		stars.remove(seq);
+		done.add(e);
+		undone.clear();
+	}
+
+	private void	undo()
+	{
+		if (done.isEmpty())
+			return;
+
+		Entry	e = done.remove(done.size() - 1);
+
+		if (e.op == ADD)
+			stars.truncate(e.seq);
+		else
+			stars.unremove(e.seq, e.x, e.y, e.oldFirst, e.oldEnd);
+
+		undone.add(e);
+	}
+
+	private void	redo()
+	{
+		if (undone.isEmpty())
+			return;
+
+		Entry	e = undone.remove(undone.size() - 1);
+
+		if (e.op == ADD)
+			stars.add(e.x, e.y);
+		else
+			stars.remove(e.seq);
+
+		done.add(e);
+	}
+
+	// Uploads as a frame would, and compares the mirror with the store.
+	private void	frame(String where)
+	{
+		mirror.upload(stars);
+
+		for (long seq=stars.getFirst(); seq<stars.getEnd(); seq++)
+		{
+			int		slot = stars.getSlot(seq);
+			boolean	removed = stars.isRemoved(seq);
+
+			if (removed == mirror.dead[slot] &&
+				(removed || (mirror.xs[slot] == stars.getX(seq) &&
+							 mirror.ys[slot] == stars.getY(seq))))
+				continue;
+
+			System.out.println(where + ": " +
+				(removed ? "ghost drawn" : "star not drawn") + " at seq " +
+				seq + " (" + mirror.xs[slot] + "," + mirror.ys[slot] + ")");
+			System.exit(1);
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// A change to the stars, for undo and redo.
+	private static final class Entry
+	{
+		private final int		op;
+		private final long		seq;
+		private final float	x;
+		private final float	y;
+		private long			oldFirst;		// Ends before a removal
+		private long			oldEnd;
+
+		public Entry(int op, long seq, float x, float y)
+		{
+			this.op = op;
+			this.seq = seq;
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	// What a StarBatch's vertex buffer holds, slot for slot.
+	private static final class Mirror
+	{
+		private float[]	xs = new float[0];
+		private float[]	ys = new float[0];
+		private boolean[]	dead = new boolean[0];
+
+		// Copies the stars StarBatch would upload, or all of them when the
+		// ring has grown.
+		public void	upload(StarStore stars)
+		{
+			boolean	all = (xs.length != stars.getCapacity());
+
+			if (all)
+			{
+				xs = new float[stars.getCapacity()];
+				ys = new float[stars.getCapacity()];
+				dead = new boolean[stars.getCapacity()];
+			}
+
+			long	hi = StarBatch.getUploadTo(stars, all);
+
+			for (long seq=StarBatch.getUploadFrom(stars, all); seq<hi; seq++)
+			{
+				int	slot = stars.getSlot(seq);
+
+				xs[slot] = stars.getSlotX(slot);
+				ys[slot] = stars.getSlotY(slot);
+				dead[slot] = stars.isSlotRemoved(slot);
+			}
+
+			stars.clearChanges();
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,944 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Tue Oct 20 10:52:18 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The positions of the user's sky stars, in the order they were added, kept
+// as two float arrays used as a ring. There are no objects per star. The ring
+// grows by a quarter at a time, so it never has many more slots than stars.
+//
+// Each star has a sequence number, which goes up by one for every star ever
+// added and never changes. A star's slot in the ring is its sequence number
+// modulo the capacity. Adding a star at the end or removing one from either
+// end is O(1). A star removed from the middle leaves a tombstone in its slot,
+// so no other star moves. Tombstones at either end of the ring are dropped as
+// the ends reach them.
+//
+// The stars are also indexed by a uniform grid of CELL-sized cells, hashed
+// into a table of buckets. Each bucket is a doubly linked list threaded
+// through the slots, so a star is taken out of its bucket in O(1), however
+// many stars share its cell. The index costs two ints per slot, plus at most
+// one byte per slot for the table. Finding the nearest star to a point,
+// finding the stars in a rectangle or polygon, and removing them only look
+// at the cells the query covers.
+//
+// A slot costs about 17 bytes in all: 8 for the position, 8 for its links, 1
+// for the table, and a bit for tombstones. Right after the ring grows, a
+// star costs up to a quarter more. That is over the 10 bytes a star the ring
+// alone was meant to stay under. The links have to be full ints, because the
+// stars next to one in a bucket can be in any slot of the ring.
+//
+// For undo, a star can be put back where it was removed from, and stars
+// added at the end can be taken back off. Clearing can hand over the whole
+// storage as a Block instead of emptying it, so that it can be restored later
+// without copying anything.
+//
+// For saving and loading, the stars can be copied out to float buffers in
+// runs, and loaded back in bulk, with the grid built in one pass.
+//
+// The model changes the stars only while applying input. The range of
+// sequence numbers changed since the view last asked is kept, so the view
+// uploads only those stars. Every slot whose star or tombstone changes counts,
+// including slots that undo brings back inside the ends, since the view may
+// still hold whatever was last drawn there. StarCheck checks this. Everything here must be used on the GL thread,
+// except getPolyline(), which is only as safe as the list it replaced.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.awt.geom.Point2D;
+import java.nio.FloatBuffer;
+import java.util.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>StarStore</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class StarStore
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final double	CELL = 4.0;		// Grid cell size
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	INITIAL = 1024;		// Slots before growing
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Star positions, and tombstones, by slot
+	private float[]			xs = new float[INITIAL];
+	private float[]			ys = new float[INITIAL];
+	private long[]			dead = new long[INITIAL / 64 + 1];
+	private long				first;			// Sequence number of oldest
+	private long				end;			// One past the newest
+	private int				live;			// Number of stars
+
+	// Grid index: bucket heads and the next and previous slot in each
+	// bucket, or -1
+	private int[]				buckets;
+	private int[]				next;
+	private int[]				prev;
+	private int				bucketMask;
+
+	// Sequence numbers changed since the view last asked
+	private long				changedFrom = Long.MAX_VALUE;
+	private long				changedTo = Long.MIN_VALUE;
+
+	// Boxing adapter for getPolyline(), made on first use
+	private Polyline			polyline;
+	private int				modCount;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public StarStore()
+	{
+		resetGrid();
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Returns the number of stars, not counting tombstones.
+	public int	size()
+	{
+		return live;
+	}
+
+	// Returns the sequence number of the oldest star.
+	public long	getFirst()
+	{
+		return first;
+	}
+
+	// Returns one past the sequence number of the newest star. Every star
+	// and tombstone has a number from getFirst() up to this.
+	public long	getEnd()
+	{
+		return end;
+	}
+
+	public float	getX(long seq)
+	{
+		return xs[getSlot(seq)];
+	}
+
+	public float	getY(long seq)
+	{
+		return ys[getSlot(seq)];
+	}
+
+	// Returns true if the star was removed, or was never in the ring.
+	public boolean	isRemoved(long seq)
+	{
+		return (seq < first || seq >= end || isDead(getSlot(seq)));
+	}
+
+	// Returns the number of slots in the ring. Changes when the ring grows.
+	public int	getCapacity()
+	{
+		return xs.length;
+	}
+
+	public int	getSlot(long seq)
+	{
+		return (int)(seq % xs.length);
+	}
+
+	public float	getSlotX(int slot)
+	{
+		return xs[slot];
+	}
+
+	public float	getSlotY(int slot)
+	{
+		return ys[slot];
+	}
+
+	public boolean	isSlotRemoved(int slot)
+	{
+		return isDead(slot);
+	}
+
+	// Returns the stars as an unmodifiable list of points. The list reads
+	// through to the ring, and boxes a new point on every get(). Use getX()
+	// and getY() instead where it matters.
+	public List<Point2D.Double>	getPolyline()
+	{
+		if (polyline == null)
+			polyline = new Polyline();
+
+		return polyline;
+	}
+
+	//**********************************************************************
+	// Public Methods (Changes)
+	//**********************************************************************
+
+	// Returns the first sequence number changed since clearChanges(), or
+	// Long.MAX_VALUE if nothing changed.
+	public long	getChangedFrom()
+	{
+		return changedFrom;
+	}
+
+	// Returns one past the last sequence number changed since clearChanges().
+	public long	getChangedTo()
+	{
+		return changedTo;
+	}
+
+	public void	clearChanges()
+	{
+		changedFrom = Long.MAX_VALUE;
+		changedTo = Long.MIN_VALUE;
+	}
+
+	//**********************************************************************
+	// Public Methods (Queries)
+	//**********************************************************************
+
+	// Returns the sequence number of the star nearest to x, y and no farther
+	// than r from it, or -1 if there is none. Looks at the cells in rings
+	// around the one holding x, y, and stops at the first ring too far away
+	// to hold anything nearer than the best star so far.
+	public long	findNearest(double x, double y, double r)
+	{
+		int		cx = cell(x);
+		int		cy = cell(y);
+		int		rings = (int)Math.ceil(r / CELL) + 1;
+		double	best = r * r;
+		int		found = -1;
+
+		for (int k=0; k<=rings; k++)
+		{
+			double	near = (k - 1) * CELL;		// Least distance to ring
+
+			if (k > 1 && near * near > best)
+				break;
+
+			for (int j=-k; j<=k; j++)
+			{
+				int	step = ((j == -k || j == k) ? 1 : 2 * k);
+
+				for (int i=-k; i<=k; i+=Math.max(step, 1))
+				{
+					int	ccx = cx + i;
+					int	ccy = cy + j;
+
+					for (int s=buckets[bucket(ccx, ccy)]; s>=0; s=next[s])
+					{
+						double	dx = xs[s] - x;
+						double	dy = ys[s] - y;
+						double	d = dx * dx + dy * dy;
+
+						if (d <= best && cell(xs[s]) == ccx &&
+							cell(ys[s]) == ccy)
+						{
+							best = d;
+							found = s;
+						}
+					}
+				}
+			}
+		}
+
+		return ((found < 0) ? -1L : toSeq(found));
+	}
+
+	// Finds the stars in a rectangle, edges included. Writes as many of their
+	// sequence numbers as fit into out, in no particular order, and returns
+	// how many there are in all.
+	public int	findInRect(double x0, double y0, double x1, double y1,
+						   long[] out)
+	{
+		return scan(x0, y0, x1, y1, null, 0, out, false);
+	}
+
+	// Finds the stars inside a polygon (such as a lasso), given as n points
+	// in xy as x, y pairs, by the even-odd rule. Otherwise like findInRect().
+	public int	findInPolygon(double[] xy, int n, long[] out)
+	{
+		if (n < 3)
+			return 0;
+
+		return scan(minX(xy, n), minY(xy, n), maxX(xy, n), maxY(xy, n),
+					xy, n, out, false);
+	}
+
+	//**********************************************************************
+	// Public Methods (Modify Stars)
+	//**********************************************************************
+
+	public void	add(double x, double y)
+	{
+		if (end - first == xs.length)
+			grow();
+
+		long	seq = end++;
+		int		slot = getSlot(seq);
+
+		xs[slot] = (float)x;
+		ys[slot] = (float)y;
+		setDead(slot, false);
+		link(slot);
+		live++;
+
+		markChanged(seq, seq + 1);
+	}
+
+	public void	removeFirst()
+	{
+		if (live == 0)
+			return;
+
+		unlink(getSlot(first));
+		first++;
+		live--;
+		trim();
+	}
+
+	public void	removeLast()
+	{
+		if (live == 0)
+			return;
+
+		unlink(getSlot(end - 1));
+		end--;
+		live--;
+		trim();
+	}
+
+	// Removes a star, leaving a tombstone unless it was at an end. Returns
+	// false if there was no such star.
+	public boolean	remove(long seq)
+	{
+		if (isRemoved(seq))
+			return false;
+
+		int	slot = getSlot(seq);
+
+		unlink(slot);
+		kill(slot, seq);
+		trim();
+
+		return true;
+	}
+
+	// Removes the stars in a rectangle and returns how many there were.
+	public int	removeInRect(double x0, double y0, double x1, double y1)
+	{
+		int	n = scan(x0, y0, x1, y1, null, 0, null, true);
+
+		trim();
+
+		return n;
+	}
+
+	// Removes the stars inside a polygon and returns how many there were.
+	public int	removeInPolygon(double[] xy, int n)
+	{
+		if (n < 3)
+			return 0;
+
+		int	k = scan(minX(xy, n), minY(xy, n), maxX(xy, n), maxY(xy, n),
+					 xy, n, null, true);
+
+		trim();
+
+		return k;
+	}
+
+	public void	clear()
+	{
+		first = end;
+		live = 0;
+		modCount++;
+
+		Arrays.fill(dead, 0L);
+		Arrays.fill(buckets, -1);
+	}
+
+	//**********************************************************************
+	// Public Methods (Saving and Loading)
+	//**********************************************************************
+
+	// Puts the x and y of every star, oldest first, into two buffers, copying
+	// runs of slots without tombstones at once. Returns how many there were.
+	public int	copyTo(FloatBuffer x, FloatBuffer y)
+	{
+		long	seq = first;
+
+		while (seq < end)
+		{
+			int	slot = getSlot(seq);
+
+			if (isDead(slot))
+			{
+				seq++;
+				continue;
+			}
+
+			int	run = 1;
+
+			while (seq + run < end && slot + run < xs.length &&
+				   !isDead(slot + run))
+				run++;
+
+			x.put(xs, slot, run);
+			y.put(ys, slot, run);
+			seq += run;
+		}
+
+		return live;
+	}
+
+	// Replaces the stars with n read in bulk from two buffers, oldest first.
+	// Sequence numbers go on from where they were, and the grid is built
+	// once all the stars are in.
+	public void	load(FloatBuffer x, FloatBuffer y, int n)
+	{
+		int	capacity = Math.max(INITIAL, n + (n >> 2));
+
+		xs = new float[capacity];
+		ys = new float[capacity];
+		dead = new long[capacity / 64 + 1];
+		first = end;
+
+		int	slot = getSlot(first);
+		int	n1 = Math.min(n, capacity - slot);
+
+		x.get(xs, slot, n1);
+		x.get(xs, 0, n - n1);
+		y.get(ys, slot, n1);
+		y.get(ys, 0, n - n1);
+
+		end = first + n;
+		live = n;
+		modCount++;
+
+		resetGrid();
+
+		for (int i=slot; i<slot+n1; i++)
+			link(i);
+
+		for (int i=0; i<n-n1; i++)
+			link(i);
+
+		markChanged(first, end);
+	}
+
+	//**********************************************************************
+	// Public Methods (Undo)
+	//**********************************************************************
+
+	// Removes every star numbered seq or later, newest first, leaving the
+	// stars as they were before the star numbered seq was added.
+	public void	truncate(long seq)
+	{
+		long	oldEnd = end;
+
+		while (end > first && end > seq)
+		{
+			int	slot = getSlot(end - 1);
+
+			if (isDead(slot))
+			{
+				setDead(slot, false);
+			}
+			else
+			{
+				unlink(slot);
+				live--;
+			}
+
+			end--;
+		}
+
+		if (seq < oldEnd)
+			markChanged(seq, oldEnd);
+
+		trim();
+	}
+
+	// Puts back a star removed by remove(), removeFirst(), or removeLast(),
+	// given its position and the first and end sequence numbers from just
+	// before it was removed. The stars must be as they were right after.
+	public void	unremove(long seq, float x, float y, long oldFirst,
+							 long oldEnd)
+	{
+		// Slots the ends passed over held only tombstones besides this star.
+		// They may still be drawn as whatever was there last, so they count
+		// as changed.
+		for (long s=first-1; s>=oldFirst; s--)
+			setDead(getSlot(s), true);
+
+		for (long s=end; s<oldEnd; s++)
+			setDead(getSlot(s), true);
+
+		if (oldFirst < first)
+			markChanged(oldFirst, first);
+
+		if (end < oldEnd)
+			markChanged(end, oldEnd);
+
+		first = oldFirst;
+		end = oldEnd;
+
+		int	slot = getSlot(seq);
+
+		xs[slot] = x;
+		ys[slot] = y;
+		setDead(slot, false);
+		link(slot);
+		live++;
+		modCount++;
+
+		markChanged(seq, seq + 1);
+	}
+
+	// Like clear(), but hands over the storage, stars and all, instead of
+	// emptying it. New stars get new storage.
+	public Block	detach()
+	{
+		Block	b = new Block();
+
+		b.xs = xs;
+		b.ys = ys;
+		b.dead = dead;
+		b.first = first;
+		b.live = live;
+		b.buckets = buckets;
+		b.next = next;
+		b.prev = prev;
+
+		xs = new float[INITIAL];
+		ys = new float[INITIAL];
+		dead = new long[INITIAL / 64 + 1];
+		first = end;
+		live = 0;
+		modCount++;
+
+		resetGrid();
+
+		return b;
+	}
+
+	// Takes back storage handed over by detach(). The stars must be as they
+	// were right after detach(), so the sequence numbers line up again.
+	public void	restore(Block b)
+	{
+		xs = b.xs;
+		ys = b.ys;
+		dead = b.dead;
+		first = b.first;
+		live = b.live;
+		buckets = b.buckets;
+		next = b.next;
+		prev = b.prev;
+		bucketMask = buckets.length - 1;
+		modCount++;
+
+		markChanged(first, end);
+	}
+
+	//**********************************************************************
+	// Private Methods (Ring)
+	//**********************************************************************
+
+	private boolean	isDead(int slot)
+	{
+		return ((dead[slot >>> 6] & (1L << slot)) != 0L);
+	}
+
+	private void	setDead(int slot, boolean value)
+	{
+		if (value)
+			dead[slot >>> 6] |= (1L << slot);
+		else
+			dead[slot >>> 6] &= ~(1L << slot);
+	}
+
+	// Returns the sequence number of a slot between first and end.
+	private long	toSeq(int slot)
+	{
+		int	f = getSlot(first);
+
+		return first + ((slot >= f) ? slot - f : slot + xs.length - f);
+	}
+
+	// Leaves a tombstone in a slot already unlinked from the grid.
+	private void	kill(int slot, long seq)
+	{
+		setDead(slot, true);
+		live--;
+
+		markChanged(seq, seq + 1);
+	}
+
+	// Drops tombstones from both ends, so the oldest and newest slots always
+	// hold stars. Each tombstone is dropped once, so this is O(1) amortized.
+	private void	trim()
+	{
+		modCount++;
+
+		if (live == 0)
+		{
+			while (first < end)
+				setDead(getSlot(first++), false);
+
+			return;
+		}
+
+		while (isDead(getSlot(first)))
+			setDead(getSlot(first++), false);
+
+		while (isDead(getSlot(end - 1)))
+			setDead(getSlot(--end), false);
+	}
+
+	private void	markChanged(long from, long to)
+	{
+		changedFrom = Math.min(changedFrom, from);
+		changedTo = Math.max(changedTo, to);
+	}
+
+	// Grows the ring by a quarter. Each star keeps its sequence number, but
+	// most move to a different slot, so all of them count as changed and the
+	// grid is built again.
+	private void	grow()
+	{
+		int		n = xs.length + (xs.length >> 2);
+		float[]	nxs = new float[n];
+		float[]	nys = new float[n];
+		long[]	ndead = new long[n / 64 + 1];
+
+		for (long seq=first; seq<end; seq++)
+		{
+			int	from = getSlot(seq);
+			int	to = (int)(seq % n);
+
+			nxs[to] = xs[from];
+			nys[to] = ys[from];
+
+			if (isDead(from))
+				ndead[to >>> 6] |= (1L << to);
+		}
+
+		xs = nxs;
+		ys = nys;
+		dead = ndead;
+
+		resetGrid();
+
+		for (long seq=first; seq<end; seq++)
+			if (!isDead(getSlot(seq)))
+				link(getSlot(seq));
+
+		markChanged(first, end);
+	}
+
+	//**********************************************************************
+	// Private Methods (Grid)
+	//**********************************************************************
+
+	private static int	cell(double v)
+	{
+		return (int)Math.floor(v / CELL);
+	}
+
+	private int	bucket(int cx, int cy)
+	{
+		int	h = cx * 73856093 ^ cy * 19349663;
+
+		return (h ^ (h >>> 16)) & bucketMask;
+	}
+
+	// Sizes the table at no more than a bucket per four slots, and empties it.
+	private void	resetGrid()
+	{
+		int	n = Integer.highestOneBit(Math.max(256, xs.length / 4));
+
+		buckets = new int[n];
+		next = new int[xs.length];
+		prev = new int[xs.length];
+		bucketMask = n - 1;
+
+		Arrays.fill(buckets, -1);
+	}
+
+	private void	link(int slot)
+	{
+		int	b = bucket(cell(xs[slot]), cell(ys[slot]));
+		int	head = buckets[b];
+
+		next[slot] = head;
+		prev[slot] = -1;
+
+		if (head >= 0)
+			prev[head] = slot;
+
+		buckets[b] = slot;
+	}
+
+	// Takes a slot out of its bucket in O(1), from its neighbors.
+	private void	unlink(int slot)
+	{
+		int	after = next[slot];
+		int	before = prev[slot];
+
+		if (before < 0)
+			buckets[bucket(cell(xs[slot]), cell(ys[slot]))] = after;
+		else
+			next[before] = after;
+
+		if (after >= 0)
+			prev[after] = before;
+	}
+
+	// Visits the stars in the cells that a rectangle covers, keeping those in
+	// the rectangle (and polygon, if any). Each match is written to out, if
+	// there is room, or removed. When the rectangle covers more cells than
+	// there are buckets, every bucket is walked once instead.
+	private int	scan(double x0, double y0, double x1, double y1,
+					 double[] poly, int n, long[] out, boolean remove)
+	{
+		int		cx0 = cell(x0);
+		int		cx1 = cell(x1);
+		int		cy0 = cell(y0);
+		int		cy1 = cell(y1);
+		long	cells = ((long)cx1 - cx0 + 1) * ((long)cy1 - cy0 + 1);
+		int		count = 0;
+
+		if (x0 > x1 || y0 > y1)
+			return 0;
+
+		if (cells > buckets.length)
+		{
+			for (int b=0; b<buckets.length; b++)
+				count = scanBucket(b, Integer.MIN_VALUE, 0, x0, y0, x1, y1,
+								   poly, n, out, remove, count);
+
+			return count;
+		}
+
+		for (int cy=cy0; cy<=cy1; cy++)
+			for (int cx=cx0; cx<=cx1; cx++)
+				count = scanBucket(bucket(cx, cy), cx, cy, x0, y0, x1, y1,
+								   poly, n, out, remove, count);
+
+		return count;
+	}
+
+	// Scans one bucket for stars in cell cx, cy (any cell, if cx is
+	// Integer.MIN_VALUE) that match. Returns the new count of matches.
+	private int	scanBucket(int b, int cx, int cy,
+						   double x0, double y0, double x1, double y1,
+						   double[] poly, int n, long[] out, boolean remove,
+						   int count)
+	{
+		int	s = buckets[b];
+
+		while (s >= 0)
+		{
+			int		after = next[s];
+			float	x = xs[s];
+			float	y = ys[s];
+
+			if ((cx == Integer.MIN_VALUE ||
+				 (cell(x) == cx && cell(y) == cy)) &&
+				x >= x0 && x <= x1 && y >= y0 && y <= y1 &&
+				(poly == null || contains(poly, n, x, y)))
+			{
+				if (remove)
+				{
+					unlink(s);
+					kill(s, toSeq(s));
+					s = after;
+					count++;
+					continue;
+				}
+
+				if (out != null && count < out.length)
+					out[count] = toSeq(s);
+
+				count++;
+			}
+
+			s = after;
+		}
+
+		return count;
+	}
+
+	// Even-odd test of a point against a polygon.
+	private static boolean	contains(double[] xy, int n, double x, double y)
+	{
+		boolean	in = false;
+
+		for (int i=0, j=n-1; i<n; j=i++)
+		{
+			double	xi = xy[2 * i];
+			double	yi = xy[2 * i + 1];
+			double	xj = xy[2 * j];
+			double	yj = xy[2 * j + 1];
+
+			if ((yi > y) != (yj > y) &&
+				x < (xj - xi) * (y - yi) / (yj - yi) + xi)
+				in = !in;
+		}
+
+		return in;
+	}
+
+	private static double	minX(double[] xy, int n)
+	{
+		double	v = xy[0];
+
+		for (int i=1; i<n; i++)
+			v = Math.min(v, xy[2 * i]);
+
+		return v;
+	}
+
+	private static double	maxX(double[] xy, int n)
+	{
+		double	v = xy[0];
+
+		for (int i=1; i<n; i++)
+			v = Math.max(v, xy[2 * i]);
+
+		return v;
+	}
+
+	private static double	minY(double[] xy, int n)
+	{
+		double	v = xy[1];
+
+		for (int i=1; i<n; i++)
+			v = Math.min(v, xy[2 * i + 1]);
+
+		return v;
+	}
+
+	private static double	maxY(double[] xy, int n)
+	{
+		double	v = xy[1];
+
+		for (int i=1; i<n; i++)
+			v = Math.max(v, xy[2 * i + 1]);
+
+		return v;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// The storage of a cleared set of stars, kept for undo.
+	public static final class Block
+	{
+		private float[]	xs;
+		private float[]	ys;
+		private long[]	dead;
+		private long		first;
+		private int		live;
+		private int[]		buckets;
+		private int[]		next;
+		private int[]		prev;
+
+		private Block()
+		{
+		}
+
+		// Returns about how many bytes the block holds on to.
+		public long	getBytes()
+		{
+			return 16L * xs.length + 8L * dead.length + 4L * buckets.length;
+		}
+	}
+
+	// The stars as a list, for code written against the old ArrayList. Reading
+	// in order is O(1) per star, even past tombstones.
+	private final class Polyline extends AbstractList<Point2D.Double>
+		implements RandomAccess
+	{
+		private int	lastIndex = -1;		// Last position read, and its
+		private long	lastSeq;			// sequence number
+		private int	lastMod = -1;
+
+		public Point2D.Double	get(int index)
+		{
+			if (index < 0 || index >= live)
+				throw new IndexOutOfBoundsException("Index: " + index);
+
+			long	seq;
+
+			if (live == end - first)		// No tombstones
+			{
+				seq = first + index;
+			}
+			else
+			{
+				int	i = 0;
+
+				seq = first;
+
+				if (lastMod == modCount && lastIndex >= 0 &&
+					lastIndex <= index)
+				{
+					i = lastIndex;
+					seq = lastSeq;
+				}
+
+				while (isDead(getSlot(seq)))
+					seq++;
+
+				while (i < index)
+				{
+					seq++;
+
+					while (isDead(getSlot(seq)))
+						seq++;
+
+					i++;
+				}
+
+				lastIndex = index;
+				lastSeq = seq;
+				lastMod = modCount;
+			}
+
+			return new Point2D.Double(getX(seq), getY(seq));
+		}
+
+		public int	size()
+		{
+			return live;
+		}
+	}
+}
+
+//******************************************************************************
@@ -24,7 +24,7 @@ package edu.ou.cs.cg.assignment.homework03;
 
 //import java.lang.*;
 import java.awt.*;
-import java.awt.geom.Point2D;
+import java.io.*;
 import java.text.DecimalFormat;
 //import java.awt.event.*;
 //import java.awt.geom.*;
@@ -41,7 +41,12 @@ import com.jogamp.opengl.util.gl2.GLUT;
 import edu.ou.cs.cg.assignment.homework03.KeyHandler;
 import edu.ou.cs.cg.assignment.homework03.Model;
 import edu.ou.cs.cg.assignment.homework03.MouseHandler;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.AllocationMeter;
+import edu.ou.cs.cg.utilities.FrameProfiler;
+import edu.ou.cs.cg.utilities.LayerCache;
+import edu.ou.cs.cg.utilities.Tessellation;
+import edu.ou.cs.cg.utilities.VertexBatch;
+import edu.ou.cs.cg.utilities.ViewTransform;
 
 //******************************************************************************
 
@@ -63,14 +68,16 @@ public final class View
 	public static final GLUT	GLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 	private static final DecimalFormat	FORMAT = new DecimalFormat("0.000");
+	private static final String		RECAPTURE = "recapture only";
 
 	//**********************************************************************
 	// Private Members (State internal variables)
 	//**********************************************************************
 	
-	private final GLJPanel canvas;
-	private final FPSAnimator animator;
+	private final GLAutoDrawable canvas;
+	private final GLAnimatorControl animator;
 	private final Model	model;
+	private Snapshot	snapshot;		// Model values for this frame
 	
 	private final KeyHandler keyHandler;
 	private final MouseHandler mouseHandler;
@@ -81,30 +88,108 @@ public final class View
 	
 	private TextRenderer	renderer;
 	private float			thickline;		// Line thickness
+	private double			scale = 1.0;	// Pixels per scene unit
+	private double[]		arc;			// Scratch arc points
+
+	// Static scene layers, recorded once and redrawn from vertex buffers
+	private final VertexBatch	houses = new VertexBatch();
+	private final VertexBatch	fences = new VertexBatch();
+	private final VertexBatch	grass = new VertexBatch();
+	private final VertexBatch	flag = new VertexBatch();
+	private int				housesSides;	// Star sides the houses have
+	private int[]				fenceFillAt;	// First fill vertex of each board
+	private int[]				fenceEdgeAt;	// First edge vertex of each board
+	private boolean[]			fenceDrawn;		// Flip state each is drawn in
+	private int				fenceVersion;	// Snapshot version drawn
+
+	// User-drawn sky stars, drawn together from one star template
+	private final StarBatch	skyStars;
+
+	// Background galaxy, integrated once and kept in a vertex buffer
+	private final Galaxy		galaxy = new Galaxy(10000);
+
+	// Projections, kept on the CPU too so points map without reading GL
+	private final ViewTransform	scene = new ViewTransform();
+	private final ViewTransform	galaxyView = new ViewTransform();
+
+	// Offscreen caches for the layers below and above the animated ones
+	private final LayerCache	skyLayer = new LayerCache();
+	private final LayerCache	sceneryLayer = new LayerCache();
+	private final LayerCache	modeLayer = new LayerCache();
+
+	// Text shown by drawMode(), rebuilt only when the values shown change
+	private final double[]	modeValues = new double[7];	// Values shown
+	private final double[]	modeNext = new double[7];	// Values this frame
+	private final double[]	modeScratch = new double[3];
+	private int				modeVersion;	// Bumped when the text changes
+	private String			pointerText;
+	private String			centerText;
+	private String			originText;
+
+	// Bytes allocated per frame; the frame loop should allocate nothing
+	private final AllocationMeter	allocations = new AllocationMeter();
+
+	// Stage timings, shown with drawMode() and saved on exit when enabled
+	private final FrameProfiler	profiler = new FrameProfiler();
+	private final int			stageInput = profiler.add("input");
+	private final int			stageUpdate = profiler.add("update");
+	private final int			stageSky = profiler.add("sky");
+	private final int			stageStars = profiler.add("stars");
+	private final int			stageMoon = profiler.add("moon");
+	private final int			stageGalaxy = profiler.add("galaxy");
+	private final int			stageHouses = profiler.add("houses", RECAPTURE);
+	private final int			stageFences = profiler.add("fences", RECAPTURE);
+	private final int			stageGrass = profiler.add("grass", RECAPTURE);
+	private final int			stageFlag = profiler.add("flag", RECAPTURE);
+	private final int			stageScenery = profiler.add("scenery");
+	private final int			stageText = profiler.add("text");
+	private String[]			profileText;	// One line per stage
 	
 	//**********************************************************************
 	// Constructors and Finalizer
 	//**********************************************************************
 
 	public View(GLJPanel canvas)
+	{
+		// Have OpenGL call display() to update the canvas 60 times per second
+		this(canvas, new FPSAnimator(canvas, 60));
+	}
+
+	// Drives any drawable, onscreen or offscreen, with the given animator.
+	// The interaction handlers are only attached to drawables that are AWT
+	// components; otherwise the model can still be changed by code.
+	public View(GLAutoDrawable canvas, GLAnimatorControl animator)
 	{
 		k = 0;
+
+		// Scene in 1280x720 units, and the galaxy in its own square units
+		scene.setOrtho(0.0, 1280.0, 0.0, 720.0, -1.0, 1.0);
+		galaxyView.setOrtho(-1.0, 1.0, -1.45, 1.0, -1.0, 1.0);
 		
 		// Register this class to update whenever OpenGL needs it
 		this.canvas = canvas;
 		
-		// Have OpenGL call display() to update the canvas 60 times per second
 		canvas.addGLEventListener(this);
 		
 		// Initialize model (scene data and parameter manager)
 		model = new Model(this);
+		skyStars = new StarBatch(model.getStars(), model.getNumberOfSides(),
+								 20.0, 8.0);
 
 		// Initialize controller (interaction handlers)
-		keyHandler = new KeyHandler(this, model);
-		mouseHandler = new MouseHandler(this, model);
+		if (canvas instanceof Component)
+		{
+			keyHandler = new KeyHandler(this, model);
+			mouseHandler = new MouseHandler(this, model);
+		}
+		else
+		{
+			keyHandler = null;
+			mouseHandler = null;
+		}
 			
 		// Initialize animation
-		animator = new FPSAnimator(canvas, 60);
+		this.animator = animator;
 		animator.start();
 	}
 	
@@ -112,11 +197,16 @@ public final class View
 	// Getters and Setters
 	//**********************************************************************
 
-	public GLJPanel	getCanvas()
+	public GLAutoDrawable	getCanvas()
 	{
 		return canvas;
 	}
 
+	public Model	getModel()
+	{
+		return model;
+	}
+
 	public int	getWidth()
 	{
 		return w;
@@ -137,6 +227,22 @@ public final class View
 		return mouseHandler;
 	}
 
+	public StarBatch getSkyStars()
+	{
+		return skyStars;
+	}
+
+	public AllocationMeter getAllocationMeter()
+	{
+		return allocations;
+	}
+
+	// The scene projection, for mapping points on the GL thread.
+	public ViewTransform getSceneTransform()
+	{
+		return scene;
+	}
+
 	//**********************************************************************
 	// Override Methods (GLEventListener)
 	//**********************************************************************
@@ -146,24 +252,68 @@ public final class View
 	{
 		w = drawable.getSurfaceWidth();
 		h = drawable.getSurfaceHeight();
+		scale = calcScale(w, h);
 
 		renderer = new TextRenderer(new Font("Serif", Font.PLAIN, 18),
 									true, true);
 
 		initPipeline(drawable);
+		initLayers();
 	}
 
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		houses.dispose(gl);
+		fences.dispose(gl);
+		grass.dispose(gl);
+		flag.dispose(gl);
+		skyStars.dispose(gl);
+		galaxy.dispose(gl);
+		skyLayer.dispose(gl);
+		sceneryLayer.dispose(gl);
+		modeLayer.dispose(gl);
+		profiler.dispose(gl);
+
 		renderer = null;
+
+		if (profiler.getSamples(stageUpdate) > 0)
+			writeProfile();
+
+		model.closeJournal();
+
+		if (Boolean.getBoolean("homework03.allocations"))
+			System.out.println("Allocated per frame: " +
+							   allocations.getTotalBytes() /
+							   Math.max(1L, allocations.getCount()) +
+							   " bytes average, " +
+							   allocations.getMaxBytes() + " bytes max");
 	}
 
 	// Called to initiate rendering of each frame into the GLCanvas.
 	public void	display(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		allocations.begin();
+
+		// Apply queued input and take the snapshot to render this frame from.
+		profiler.begin(gl, stageInput);
+		model.beginFrame();
+		snapshot = model.getSnapshot();
+		profiler.end(gl, stageInput);
+
+		profiler.setEnabled(snapshot.isProfiling());
+
+		profiler.begin(gl, stageUpdate);
 		update(drawable);
+		profiler.end(gl, stageUpdate);
+
 		render(drawable);
+
+		allocations.end();
 	}
 
 	// Called during the first repaint after a resize of the GLCanvas.
@@ -171,6 +321,16 @@ public final class View
 	{
 		this.w = w;
 		this.h = h;
+
+		scene.setViewport(x, y, w, h);
+		galaxyView.setViewport(x, y, w, h);
+
+		// Circles need more or fewer segments at the new size
+		if (scale != calcScale(w, h))
+		{
+			scale = calcScale(w, h);
+			initLayers();
+		}
 	}
 
 	//**********************************************************************
@@ -181,6 +341,15 @@ public final class View
 	private void	update(GLAutoDrawable drawable)
 	{
 		k++; // Advance animation counter
+
+		// Rebuild the houses only when their stars change shape
+		if (housesSides != snapshot.getNumberOfSides())
+			buildHouses();
+
+		// Re-record only the fence boards the user flipped
+		updateFences(fences);
+
+		skyStars.setSides(snapshot.getNumberOfSides());
 	}
 
 	// Render the scene model and display the current animation frame.
@@ -189,33 +358,70 @@ public final class View
 		GL2	gl = drawable.getGL().getGL2();
 		gl.glClear(GL.GL_COLOR_BUFFER_BIT);		    // Clear the buffer.
 		
-		// Background sky.
-		drawSky(gl, model.getRedValue(), model.getGreenValue(), model.getBlueValue());
+		setProjection(gl);							// Use screen coordinates.
+
+		// Background sky, cached until its color changes.
+		int	red = snapshot.getRedValue();
+		int	green = snapshot.getGreenValue();
+		int	blue = snapshot.getBlueValue();
+
+		profiler.begin(gl, stageSky);
+
+		if (skyLayer.begin(gl, (red << 16) | (green << 8) | blue, w, h))
+			drawSky(gl, red, green, blue);
+
+		skyLayer.end(gl);
+		profiler.end(gl, stageSky);
 		
+		profiler.begin(gl, stageStars);
 		drawMain(gl);
+		profiler.end(gl, stageStars);
 		
+		profiler.begin(gl, stageMoon);
 		drawMoon(gl);
+		profiler.end(gl, stageMoon);
 		
 		// Background galaxy.
+		profiler.begin(gl, stageGalaxy);
 		setProjectionGalaxy(gl);
 		drawLorenzAttractor(gl);
+		profiler.end(gl, stageGalaxy);
 		
 		setProjection(gl);							// Use screen coordinates.
 
-		// Two houses.
-		drawHouse1(gl);
-		drawHouse2(gl);
-		
-		// Draw fences
-		drawFences(gl);
-		
-		// Create the grass.
-		drawGrass(gl);
+		// Two houses, fences, grass, and the flag pole with a flag and ropes,
+		// drawn from their vertex buffers and cached until the stars change
+		// or a fence board flips.
+		int	scenery = (snapshot.getFenceVersion() << 4) | housesSides;
+
+		if (sceneryLayer.begin(gl, scenery, w, h))
+		{
+			profiler.begin(gl, stageHouses);
+			houses.draw(gl);
+			profiler.end(gl, stageHouses);
+
+			profiler.begin(gl, stageFences);
+			fences.draw(gl);
+			profiler.end(gl, stageFences);
+
+			profiler.begin(gl, stageGrass);
+			grass.draw(gl);
+			profiler.end(gl, stageGrass);
+
+			profiler.begin(gl, stageFlag);
+			flag.draw(gl);
+			profiler.end(gl, stageFlag);
+		}
+
+		// Compositing the (possibly just captured) layer, every frame. The
+		// stages above run only when the layer is captured again.
+		profiler.begin(gl, stageScenery);
+		sceneryLayer.end(gl);
+		profiler.end(gl, stageScenery);
 		
+		profiler.begin(gl, stageText);
 		drawMode(drawable);
-		
-		// Draws a flag pole with a flag and ropes.
-		drawFlag(gl, 600, 469, 185, 110, 255, 255, 255);
+		profiler.end(gl, stageText);
 	}
 
 	//**********************************************************************
@@ -237,75 +443,59 @@ public final class View
 		gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
 	}
 
+	// Record the geometry of the static layers. None of it changes from frame
+	// to frame, so it is uploaded once and redrawn from vertex buffers.
+	private void	initLayers()
+	{
+		buildHouses();
+
+		fences.clear();
+		drawFences(fences);
+
+		grass.clear();
+		drawGrass(grass);
+
+		flag.clear();
+		drawFlag(flag, 600, 469, 185, 110, 255, 255, 255);
+	}
+
+	// Re-record the houses, which depend on the number of sides of the stars.
+	private void	buildHouses()
+	{
+		housesSides = model.getSnapshot().getNumberOfSides();
+
+		houses.clear();
+		drawHouse1(houses);
+		drawHouse2(houses);
+	}
+
+	// Pixels per scene unit, in the more stretched direction.
+	private static double	calcScale(int w, int h)
+	{
+		return Math.max(w / 1280.0, h / 720.0);
+	}
+
 	// Position and orient the default camera to view in 2-D, in pixel coords.
 	private void	setProjection(GL2 gl)
 	{
-		// Main part of the scene.
-		GLU	glu = new GLU();
-
-		gl.glMatrixMode(GL2.GL_PROJECTION);		     // Prepare for matrix xform
-		gl.glLoadIdentity();						 // Set to identity matrix
-		glu.gluOrtho2D(0.0f, 1280.0f, 0.0f, 720.0f); // 2D translate and scale
+		// Main part of the scene, set up in the constructor
+		scene.loadProjection(gl);
 	}
 	
 	// Position and orient the default camera to view in 2-D, in pixel coords.
 	private void	setProjectionGalaxy(GL2 gl)
-	{		
-		GLU galaxy = new GLU();
-			
-		gl.glMatrixMode(GL2.GL_PROJECTION);
-		gl.glLoadIdentity();
-		galaxy.gluOrtho2D(-1.0f, 1.0f, -1.45f, 1.0f);
+	{
+		galaxyView.loadProjection(gl);
 	}
 
 	//**********************************************************************
 	// Private Methods (Scene)
 	//**********************************************************************
 	
-	// These pages are helpful:
-	// en.wikipedia.org/wiki/Lorenz_system
-	// www.algosome.com/articles/lorenz-attractor-programming-code.html
+	// Draw the background galaxy, a precomputed Lorenz attractor.
 	private void	drawLorenzAttractor(GL2 gl)
 	{
-		gl.glPointSize(5.0f);					// Set point size (in pixels)
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
-
-		double		dt = 0.01;					// Integration step size
-		double		sigma = 10.0;				// Constant for updating x
-		double		rho = 28.0;				// Constant for updating y
-		double		beta = 8.0 / 3.0;			// Constant for updating z
-		double		lx = 0.1;					// Initial x coordinate
-		double		ly = 0.0;					// Initial y coordinate
-		double		lz = 0.0;					// Initial z coordinate
-
-		for (int i=0; i<10000; i++)
-		{
-			double	llx = lx + dt * sigma * (ly - lx);
-			double	lly = ly + dt * (lx * (rho - lz) - ly);
-			double	llz = lz + dt * (lx * ly - beta * lz);
-
-			lx = llx;
-			ly = lly;
-			lz = llz;
-			//System.out.println(" " + lx + " " + ly + " " + lz);
-
-			float	cc = (float)((lz + 30.0) / 60.0);
-			int	n = k % 10000 - i;
-			int	cw = (n + 20) * 6 + 15;
-
-			// Lower background star opacity to experiment with animation.
-			if (Math.abs(n) <= 20)							// Animation window
-				setColor(gl, 255, 255-cw, cw, 255-cw);		// Dots cycling
-			else
-				gl.glColor4f(cc, cc, cc, 0.05f);			// Background stars
-
-			double	dy = 0.00005 * k * (1.5 - 0.05 * lx);	// Galaxy rise
-
-			gl.glVertex2d(-lx / 30.0, ly / 30.0 + dy);
-		}
-
-		gl.glEnd();
-		gl.glPointSize(1.0f);					// Reset point size (in pixels)
+		galaxy.draw(gl, k);
 	}
 	
 	/**
@@ -341,145 +531,124 @@ public final class View
 	 */
 	private void	drawMoon(GL2 gl)
 	{
-		double		theta = 0.20 * ANGLE_MOON;
-		int		cx = model.getMoonLightX();
-		int		cy = model.getMoonLightY();
+		int		cx = snapshot.getMoonLightX();
+		int		cy = snapshot.getMoonLightY();
 		int		r = 59;
 
 		// Fill the whole moon in white
-		gl.glBegin(GL.GL_TRIANGLE_FAN);
-
 		setColor(gl, 255, 255, 255);			// White
-		gl.glVertex2d(cx, cy);
-
-		for (int i=0; i<SIDES_MOON+1; i++)		// 18 sides
-		{
-			gl.glVertex2d(cx + r * Math.cos(theta), cy + r * Math.sin(theta));
-			theta += ANGLE_MOON;
-		}
-
-		gl.glEnd();
+		fillArc(gl, cx, cy, r, 0.20 * ANGLE_MOON, SIDES_MOON);	// 18 sides
 
 		// Fill the outside shadow in dark bluish gray
-		theta = -1.80 * ANGLE_MOON;
-
-		gl.glBegin(GL.GL_TRIANGLE_FAN);
-
 		setColor(gl, 64, 64, 80);
-		gl.glVertex2d(cx, cy);
+		fillArc(gl, cx, cy, r, -1.80 * ANGLE_MOON, 7);		// 7 sides
 
-		for (int i=0; i<8; i++)				// 7 sides
-		{
-			gl.glVertex2d(cx + r * Math.cos(theta), cy + r * Math.sin(theta));
-			theta += ANGLE_MOON;
-		}
+		// Fill the inside shadow in dark bluish gray
+		cx = snapshot.getMoonDarkX();
+		cy = snapshot.getMoonDarkY();
 
-		gl.glEnd();
+		setColor(gl, 64, 64, 80);
+		fillArc(gl, cx, cy, r, 7.2 * ANGLE_MOON, 7);			// 7 sides
+	}
 
-		// Fill the inside shadow in dark bluish gray
-		theta = 1.50 * ANGLE_MOON;
-		cx = model.getMoonDarkX();
-		cy = model.getMoonDarkY();
-		theta = 7.2 * ANGLE_MOON;
+	// Fills a fan of the given number of moon sides, starting at angle a0.
+	private void	fillArc(GL2 gl, int cx, int cy, int r, double a0, int sides)
+	{
+		arc = Tessellation.arc(cx, cy, r, a0, SIDES_MOON, sides, arc);
 
 		gl.glBegin(GL.GL_TRIANGLE_FAN);
-
-		setColor(gl, 64, 64, 80);
 		gl.glVertex2d(cx, cy);
 
-		for (int i=0; i<8; i++)				// 7 sides
-		{
-			gl.glVertex2d(cx + r * Math.cos(theta), cy + r * Math.sin(theta));
-			theta += ANGLE_MOON;
-		}
+		for (int i=0; i<=sides; i++)
+			gl.glVertex2d(arc[2 * i], arc[2 * i + 1]);
 
 		gl.glEnd();
 	}
 
 	// Draw house1 which is the on the left side of the scene.
-	private void	drawHouse1(GL2 gl)
+	private void	drawHouse1(VertexBatch b)
 	{
 		int	dx = 108;
 		int	dy = 132;
 
 		// Chimney is on the left side of the house.
-		drawChimney(gl, dx + 34, dy, 128, 0, 0);
+		drawChimney(b, dx + 34, dy, 128, 0, 0);
 		// Frame of house.
-		drawFrame(gl, dx, dy, 128, 64, 0);
+		drawFrame(b, dx, dy, 128, 64, 0);
 		
 		// Window to the left of the door.
-		drawWindow(gl, dx + 141, dy + 127, 20, 20, 255, 255, 128);
+		drawWindow(b, dx + 141, dy + 127, 20, 20, 255, 255, 128);
 		
 		// Window to the right of the door with shades.
-		drawWindow(gl, dx + 34, dy + 127, 20, 20, 255, 255, 128);
+		drawWindow(b, dx + 34, dy + 127, 20, 20, 255, 255, 128);
 		
 		// Window shades to the left of the door.
-		drawShades(gl, dx + 14, dy + 107, 20, 40, 118, 219, 219, 0);
-		drawShades(gl, dx + 33, dy + 107, 20, 40, 118, 219, 219, 1);
+		drawShades(b, dx + 14, dy + 107, 20, 40, 118, 219, 219, 0);
+		drawShades(b, dx + 33, dy + 107, 20, 40, 118, 219, 219, 1);
 		
 		// Window shades to the right of the door.
-		drawShades(gl, dx + 121, dy + 107, 20, 40, 118, 219, 219, 0);
-		drawShades(gl, dx + 140, dy + 107, 20, 40, 118, 219, 219, 1);
+		drawShades(b, dx + 121, dy + 107, 20, 40, 118, 219, 219, 0);
+		drawShades(b, dx + 140, dy + 107, 20, 40, 118, 219, 219, 1);
 		
 		// Door is centered of the house.
-		drawDoor(gl, dx + 65, dy, 192, 128, 0);
+		drawDoor(b, dx + 65, dy, 192, 128, 0);
 		// Window on the door.
-		drawWindow(gl, dx + 85, dy + 65, 15, 15, 255, 255, 128);
+		drawWindow(b, dx + 85, dy + 65, 15, 15, 255, 255, 128);
 		// Door knob on the door.
-		drawDoorKnob(gl, dx + 95, dy + 35, 4, 255, 255, 128);
+		drawDoorKnob(b, dx + 95, dy + 35, 4, 255, 255, 128);
 		
-		drawHouseStar(gl, dx + 87, dy + 200);
+		drawHouseStar(b, dx + 87, dy + 200);
 	}
 
 	// Draw the parts of a slightly different house.
-	private void	drawHouse2(GL2 gl)
+	private void	drawHouse2(VertexBatch b)
 	{
 		int	dx = 1048;
 		int	dy = 132;
 
 		// Chimney is on the right side of the house.
-		drawChimney(gl,	dx + 120, dy, 40, 100, 90);
+		drawChimney(b,	dx + 120, dy, 40, 100, 90);
 		// Frame of the house.
-		drawFrame(gl, dx, dy, 128, 64, 0);
+		drawFrame(b, dx, dy, 128, 64, 0);
 		// House has a divided roof.
 		
 		// Windows on the house.
-		drawWindow(gl, dx + 98, dy + 64, 20, 20, 225, 225, 128);
-		drawWindow(gl, dx + 144, dy + 64, 20, 20, 225, 255, 128);
+		drawWindow(b, dx + 98, dy + 64, 20, 20, 225, 225, 128);
+		drawWindow(b, dx + 144, dy + 64, 20, 20, 225, 255, 128);
 		
 		// Shades on the left window.
-		drawShades(gl, dx + 78, dy + 44, 20, 40, 118, 219, 219, 0);
-		drawShades(gl, dx + 97, dy + 44, 20, 40, 118, 219, 219, 1);
+		drawShades(b, dx + 78, dy + 44, 20, 40, 118, 219, 219, 0);
+		drawShades(b, dx + 97, dy + 44, 20, 40, 118, 219, 219, 1);
 		
 		// Shades on the right window.
-		drawShades(gl, dx + 123, dy + 44, 20, 40, 118, 219, 219, 0);
-		drawShades(gl, dx + 143, dy + 44, 20, 40, 118, 219, 219, 1);
+		drawShades(b, dx + 123, dy + 44, 20, 40, 118, 219, 219, 0);
+		drawShades(b, dx + 143, dy + 44, 20, 40, 118, 219, 219, 1);
 		
 		// Door on the house with a door knob.
-		drawDoor(gl, dx + 7, dy, 192, 128, 0);
-		drawDoorKnob(gl, dx + 15, dy + 35, 4, 255, 255, 128);
+		drawDoor(b, dx + 7, dy, 192, 128, 0);
+		drawDoorKnob(b, dx + 15, dy + 35, 4, 255, 255, 128);
 		// Window on the door.
-		drawDoorKnob(gl, dx + 25, dy + 70, 15, 255, 255, 128);
+		drawDoorKnob(b, dx + 25, dy + 70, 15, 255, 255, 128);
 		
-		drawHouseStar(gl, dx + 87, dy + 200);
+		drawHouseStar(b, dx + 87, dy + 200);
 	}
 	
 	/**
 	 * Creates the grass in a scene when called.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 */
-	private void	drawGrass(GL2 gl)
+	private void	drawGrass(VertexBatch b)
 	{
 		// Set color and fill the grass.
-		setColor(gl, 20, 45, 0);
-		fillRect(gl, 0, 0, 1280, 131);		
+		setColor(b, 20, 45, 0);
+		fillRect(b, 0, 0, 1280, 131);		
 	}
 	
 	/**
 	 * This method draws a filled circle with an outer edge.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param dx X-coordinate
 	 * @param dy Y-coordinate
 	 * @param r Radius
@@ -487,22 +656,22 @@ public final class View
 	 * @param greenValue Green color scheme
 	 * @param blueValue Blue color scheme
 	 */
-	private void	drawDoorKnob(GL2 gl, int dx, int dy, int r, 
+	private void	drawDoorKnob(VertexBatch b, int dx, int dy, int r, 
 			int redValue, int greenValue, int blueValue)
 	{
 		// Set color and fill the circle.
-		setColor(gl, redValue, greenValue, blueValue);
-		fillCircle(gl, dx, dy, r);
+		setColor(b, redValue, greenValue, blueValue);
+		fillCircle(b, dx, dy, r);
 		
 		// Set color and fill the edge of the circle.
-		setColor(gl, 0, 0, 0);
-		edgeCircle(gl, dx, dy, r);
+		setColor(b, 0, 0, 0);
+		edgeCircle(b, dx, dy, r);
 	}
 	
 	/**
 	 * Draws a flag with a pole and rope.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param dx X-coordinate
 	 * @param dy Y-coordinate
 	 * @param ww Width
@@ -511,63 +680,63 @@ public final class View
 	 * @param greenValue Green color scheme
 	 * @param blueValue Blue color scheme
 	 */
-	private void	drawFlag(GL2 gl, int dx, int dy, int ww, int hh,
+	private void	drawFlag(VertexBatch b, int dx, int dy, int ww, int hh,
 			int redValue, int greenValue, int blueValue)
 	{	
 		// TODO Start drawing the flag.
-		setColor(gl, redValue, greenValue, blueValue);
-		fillRect(gl, dx, dy, ww, hh);
-		setColor(gl, 0, 0, 0);
-		edgeRect(gl, dx, dy, ww, hh);
-		drawDoorKnob(gl, dx + 95, dy + 55, 35, 169, 0, 0);
+		setColor(b, redValue, greenValue, blueValue);
+		fillRect(b, dx, dy, ww, hh);
+		setColor(b, 0, 0, 0);
+		edgeRect(b, dx, dy, ww, hh);
+		drawDoorKnob(b, dx + 95, dy + 55, 35, 169, 0, 0);
 
 		// Draw the flag pole.
-		drawFlagPole(gl, dx, dy);
+		drawFlagPole(b, dx, dy);
 	}
 	
-	private void	drawFlagPole(GL2 gl, int dx, int dy)
+	private void	drawFlagPole(VertexBatch b, int dx, int dy)
 	{
 		// Draw the flag pole.
-		setColor(gl, 117, 117, 117);
-		fillRect(gl, 595, 100, 10, 500);
-		drawDoorKnob(gl, dx, dy + 140, 15, 178, 166, 0);
+		setColor(b, 117, 117, 117);
+		fillRect(b, 595, 100, 10, 500);
+		drawDoorKnob(b, dx, dy + 140, 15, 178, 166, 0);
 				
 		// Draw the rope.
-		setColor(gl, 203, 149, 0);
-		drawRope(gl, 605, 578, 610, 540);
+		setColor(b, 203, 149, 0);
+		drawRope(b, 605, 578, 610, 540);
 				
-		setColor(gl, 203, 149, 0);
-		drawRope(gl, 610, 540, 610, 200);
+		setColor(b, 203, 149, 0);
+		drawRope(b, 610, 540, 610, 200);
 				
-		setColor(gl, 203, 149, 0);
-		drawRope(gl, 610, 200, 605, 190);
+		setColor(b, 203, 149, 0);
+		drawRope(b, 610, 200, 605, 190);
 	}
 	
 	/**
 	 * Draws a sequence of connect lines.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param x1 Starting x position
 	 * @param y1 Starting y position
 	 * @param x2 Ending x position
 	 * @param y2 Ending y position
 	 */
-	private void	drawRope(GL2 gl, int x1, int y1, int x2, int y2)
+	private void	drawRope(VertexBatch b, int x1, int y1, int x2, int y2)
 	{
-		gl.glLineWidth(2.0f);
-		gl.glBegin(GL.GL_LINES);
+		b.setLineWidth(2.0f);
+		b.begin(GL.GL_LINES);
 		
 		// Draw lines given points.
-		gl.glVertex2d(x1, y1);
-		gl.glVertex2d(x2, y2);
+		b.vertex(x1, y1);
+		b.vertex(x2, y2);
 		
-		gl.glEnd();
+		b.end();
 	}
 	
 	/**
 	 * Draw shades which are just two triangles.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param dx X-coordinate
 	 * @param dy Y-coordinate
 	 * @param ww Width
@@ -577,63 +746,63 @@ public final class View
 	 * @param blueValue Blue color scheme
 	 * @param rightOrLeft 0 or 1. 0 denotes left while 1 denotes right
 	 */
-	private void	drawShades(GL2 gl, int dx, int dy, int ww, int hh,
+	private void	drawShades(VertexBatch b, int dx, int dy, int ww, int hh,
 			int redValue, int greenValue, int blueValue, int rightOrLeft)
 	{
 		// Set color and fill the shades.
-		setColor(gl, redValue, greenValue, blueValue);
-		fillTriangle(gl, dx, dy, ww, hh, rightOrLeft);
+		setColor(b, redValue, greenValue, blueValue);
+		fillTriangle(b, dx, dy, ww, hh, rightOrLeft);
 		
 		// Black color edge of the shades.
-		setColor(gl, 0, 0, 0);
-		edgeTriangle(gl, dx, dy, ww, hh, rightOrLeft); 
+		setColor(b, 0, 0, 0);
+		edgeTriangle(b, dx, dy, ww, hh, rightOrLeft); 
 	}
 
 	/**
 	 * Draws a chimney on the scene when called.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param dx X-coordinate
 	 * @param dy Y-coordinate
 	 * @param redValue Red color scheme
 	 * @param greenValue Green color scheme
 	 * @param blueValue Blue color scheme
 	 */
-	private void	drawChimney(GL2 gl, int dx, int dy,
+	private void	drawChimney(VertexBatch b, int dx, int dy,
 			int redValue, int greenValue, int blueValue)
 	{
 		// Set color and fill the chimney.
-		setColor(gl, redValue, greenValue, blueValue);
-		fillRect(gl, dx, dy, 30, 250);
+		setColor(b, redValue, greenValue, blueValue);
+		fillRect(b, dx, dy, 30, 250);
 
 		// Black color edge of the chimney.
-		setColor(gl, 0, 0, 0);
-		edgeRect(gl, dx, dy, 30, 250);
+		setColor(b, 0, 0, 0);
+		edgeRect(b, dx, dy, 30, 250);
 	}
 	
 	/**
 	 * Draws star on house.
 	 * 
-	 * @param gl OpenGL object.
+	 * @param b Vertex batch
 	 * @param cx X-Coordinate.
 	 * @param cy Y-Coordinate.
 	 */
-	private void	drawHouseStar(GL2 gl, int cx, int cy)
+	private void	drawHouseStar(VertexBatch b, int cx, int cy)
 	{
 		double	theta = 0.5 * Math.PI;
 
-		setColor(gl, 255, 255, 0);
-		gl.glBegin(GL.GL_TRIANGLE_FAN);
-		gl.glVertex2d(cx, cy);
-		doStarVertices(gl, cx, cy, model.getNumberOfSides(), 20.0, 8.0);
-		gl.glVertex2d(cx + 20 * Math.cos(theta), cy + 20 * Math.sin(theta));
-		gl.glEnd();
-
-		setColor(gl, 0, 0, 0);
-		gl.glBegin(GL.GL_LINE_STRIP);
-		doStarVertices(gl, cx, cy, model.getNumberOfSides(), 20.0, 8.0);
-		gl.glVertex2d(cx + 20 * Math.cos(theta), cy + 20 * Math.sin(theta));
-		gl.glEnd();
+		setColor(b, 255, 255, 0);
+		b.begin(GL.GL_TRIANGLE_FAN);
+		b.vertex(cx, cy);
+		doStarVertices(b, cx, cy, housesSides, 20.0, 8.0);
+		b.vertex(cx + 20 * Math.cos(theta), cy + 20 * Math.sin(theta));
+		b.end();
+
+		setColor(b, 0, 0, 0);
+		b.begin(GL.GL_LINE_STRIP);
+		doStarVertices(b, cx, cy, housesSides, 20.0, 8.0);
+		b.vertex(cx + 20 * Math.cos(theta), cy + 20 * Math.sin(theta));
+		b.end();
 	}
 
 	// Define five corners of a house frame that is shorter on the left side.
@@ -649,51 +818,51 @@ public final class View
 	/**
 	 * Draw a house frame, given its lower left corner.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param dx X-coordinate
 	 * @param dy Y-coordinate
 	 * @param redValue Red color scheme
 	 * @param greenValue Green color scheme
 	 * @param blueValue Blue color scheme
 	 */
-	private void	drawFrame(GL2 gl, int dx, int dy,
+	private void	drawFrame(VertexBatch b, int dx, int dy,
 			int redValue, int greenValue, int blueValue)
 	{
 		// Set color and fill the house frame.
-		setColor(gl, redValue, greenValue, blueValue);
-		fillPoly(gl, dx, dy, OUTLINE_FRAME);
+		setColor(b, redValue, greenValue, blueValue);
+		fillPoly(b, dx, dy, OUTLINE_FRAME);
 
 		// Black color edge of the house frame.
-		setColor(gl, 0, 0, 0);
-		edgePoly(gl, dx, dy, OUTLINE_FRAME);
+		setColor(b, 0, 0, 0);
+		edgePoly(b, dx, dy, OUTLINE_FRAME);
 	}
 
 	/**
 	 * Draws a door on the scene when called.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param dx X-coordinate
 	 * @param dy Y-coordinate
 	 * @param redValue Red color scheme
 	 * @param greenValue Green color scheme
 	 * @param blueValue Blue color scheme
 	 */
-	private void	drawDoor(GL2 gl, int dx, int dy,
+	private void	drawDoor(VertexBatch b, int dx, int dy,
 			int redValue, int greenValue, int blueValue)
 	{	
 		// Set color and fill the door.
-		setColor(gl, redValue, greenValue, blueValue);
-		fillRect(gl, dx, dy, 40, 92);
+		setColor(b, redValue, greenValue, blueValue);
+		fillRect(b, dx, dy, 40, 92);
 
 		// Black color edge of the door.
-		setColor(gl, 0, 0, 0);
-		edgeRect(gl, dx, dy, 40, 92);
+		setColor(b, 0, 0, 0);
+		edgeRect(b, dx, dy, 40, 92);
 	}
 
 	/**
 	 * Draw a window, given its center.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param dx X-coordinate
 	 * @param dy Y-coordinate
 	 * @param ww Width
@@ -702,167 +871,136 @@ public final class View
 	 * @param greenValue Green color scheme
 	 * @param blueValue Blue color scheme
 	 */
-	private void	drawWindow(GL2 gl, int dx, int dy, int ww, int hh,
+	private void	drawWindow(VertexBatch b, int dx, int dy, int ww, int hh,
 			int redValue, int greenValue, int blueValue)
 	{
 		// Set window and fill the window.
-		setColor(gl, redValue, greenValue, blueValue);
-		fillRect(gl, dx - ww, dy - hh, 2 * ww, 2 * hh);
+		setColor(b, redValue, greenValue, blueValue);
+		fillRect(b, dx - ww, dy - hh, 2 * ww, 2 * hh);
 
-		// Black color edge.drawShades(gl, dx + 14, dy + 107, 20, 40, 118, 219, 219, 0);
-		setColor(gl, 0, 0, 0);
-		edgeRect(gl, dx - ww, dy - hh, 2 * ww, 2 * hh);
+		// Black color edge.drawShades(b, dx + 14, dy + 107, 20, 40, 118, 219, 219, 0);
+		setColor(b, 0, 0, 0);
+		edgeRect(b, dx - ww, dy - hh, 2 * ww, 2 * hh);
 	}
 
 	//**********************************************************************
 	// Private Methods (Scene, Fence)
 	//**********************************************************************
 	
-	private void	drawFences(GL2 gl)
-	{
-		drawZigZagFences(gl);
-		drawJaggedFences(gl);
-	}
-	
-	private void	drawZigZagFences(GL2 gl)
+	// Records every fence board, remembering where each board's vertices
+	// start so that a flipped board can be recorded again in place. Boards
+	// in a strip are filled first and then edged, so their shared edges are
+	// not covered by the neighboring fill.
+	private void	drawFences(VertexBatch b)
 	{
-		fillFenceStrip(gl, 283, 132, 8);
-		edgeFenceStrip(gl, 283, 132, 8);
+		Snapshot	s = model.getSnapshot();
+		Fences		f = model.getFences();
+		int			n = f.size();
 
-		fillFenceStrip(gl, 12, 132, 4);
-		edgeFenceStrip(gl, 12, 132, 4);
-		
-		gl.glEnd();
-	}
-	
-	private void	drawJaggedFences(GL2 gl)
-	{
-		// Draw a rightward-increasing jagged fence
-		// TODO: False would be right jag, true would be left.
-		fillFenceBoard(gl, false,  1024, 132);
-		edgeFenceBoard(gl, false,  1024, 132);
-		model.addJaggedFences(new Point2D.Double(1024, 132));
-		
-		fillFenceBoard(gl, false,  1001, 132);
-		edgeFenceBoard(gl, false,  1001, 132);
-		model.addJaggedFences(new Point2D.Double(1001, 132));
-		
-		fillFenceBoard(gl, false,  978, 132);
-		edgeFenceBoard(gl, false,  978, 132);
-		model.addJaggedFences(new Point2D.Double(978, 132));
-		
-		fillFenceBoard(gl, false,  955, 132);
-		edgeFenceBoard(gl, false,  955, 132);
-		model.addJaggedFences(new Point2D.Double(955, 132));
-		
-		fillFenceBoard(gl, false,  932, 132);
-		edgeFenceBoard(gl, false,  932, 132);
-		model.addJaggedFences(new Point2D.Double(932, 132));
-		
-		fillFenceBoard(gl, false,  909, 132);
-		edgeFenceBoard(gl, false,  909, 132);
-		model.addJaggedFences(new Point2D.Double(909, 132));
-		
-		fillFenceBoard(gl, false,  886, 132);
-		edgeFenceBoard(gl, false,  886, 132);
-		model.addJaggedFences(new Point2D.Double(886, 132));
-		
-		fillFenceBoard(gl, false,  863, 132);
-		edgeFenceBoard(gl, false,  863, 132);
-		model.addJaggedFences(new Point2D.Double(863, 132));
-		
-		fillFenceBoard(gl, false,  1224, 132);
-		edgeFenceBoard(gl, false,  1224, 132);
-		model.addJaggedFences(new Point2D.Double(1224, 132));
-		
-		fillFenceBoard(gl, false,  1247, 132);
-		edgeFenceBoard(gl, false,  1247, 132);
-		model.addJaggedFences(new Point2D.Double(1247, 132));
-		
-		gl.glEnd();
-	}
+		fenceFillAt = new int[n];
+		fenceEdgeAt = new int[n];
+		fenceDrawn = new boolean[n];
+		fenceVersion = s.getFenceVersion();
 
-	// Fills a left-to-right sequence of fence boards using a QUAD_STRIP.
-	private void	fillFenceStrip(GL2 gl, int dx, int dy, int boards)
-	{
-		setColor(gl, 192, 192, 128);			// Tan
+		for (int m=0; m<n; m++)
+			fenceDrawn[m] = s.isFenceFlipped(m);
 
-		gl.glBegin(GL2.GL_QUAD_STRIP);
+		for (int i=0; i<n; )
+		{
+			int	j = i;
 
-		gl.glVertex2i(dx + 0, dy + 0);		// base, leftmost slat
-		gl.glVertex2i(dx + 0, dy + 102);	// peak, leftmost slat
+			while (j < n && f.getGroup(j) == f.getGroup(i))
+				j++;
 
-		for (int i=1; i<=boards; i++)
-		{
-			int	x = i * 24;
-			int	y = ((i % 2 == 1) ? 112 : 102);
+			for (int m=i; m<j; m++)
+			{
+				fenceFillAt[m] = b.size();
+				fillFenceBoard(b, f, m, fenceDrawn[m]);
+			}
 
-			gl.glVertex2i(dx + x, dy + 0);	// base, next slat
-			gl.glVertex2i(dx + x, dy + y);	// peak, next slat
-		}
+			for (int m=i; m<j; m++)
+			{
+				fenceEdgeAt[m] = b.size();
+				edgeFenceBoard(b, f, m, fenceDrawn[m]);
+			}
 
-		gl.glEnd();
+			i = j;
+		}
 	}
 
-	// Edges a left-to-right sequence of fence boards using LINE_LOOPs.
-	private void	edgeFenceStrip(GL2 gl, int dx, int dy, int boards)
+	// Records the fence boards whose flip state in the snapshot differs from
+	// the one they were drawn in, over their old vertices. Nothing else in the
+	// batch is touched or uploaded again.
+	private void	updateFences(VertexBatch b)
 	{
-		setColor(gl, 0, 0, 0);					// Black
+		if (snapshot.getFenceVersion() == fenceVersion)
+			return;
 
-		gl.glLineWidth(thickline);
+		Fences	f = model.getFences();
 
-		for (int i=0; i<boards; i++)
+		for (int i=0; i<fenceDrawn.length; i++)
 		{
-			int	xl = i * 24;
-			int	xr = xl + 24;
-			int	yl = ((i % 2 == 0) ? 102 : 112);
-			int	yr = ((i % 2 == 0) ? 112 : 102);
+			boolean	flipped = snapshot.isFenceFlipped(i);
 
-			gl.glBegin(GL2.GL_LINE_LOOP);
+			if (flipped == fenceDrawn[i])
+				continue;
 
-			gl.glVertex2i(dx + xl, dy + 0);	// base, left
-			gl.glVertex2i(dx + xr, dy + 0);	// base, right
-			gl.glVertex2i(dx + xr, dy + yr);	// peak, right
-			gl.glVertex2i(dx + xl, dy + yl);	// peak, left
+			b.seek(fenceFillAt[i]);
+			fillFenceBoard(b, f, i, flipped);
+			b.seek(fenceEdgeAt[i]);
+			edgeFenceBoard(b, f, i, flipped);
+			b.commit();
 
-			gl.glEnd();
+			fenceDrawn[i] = flipped;
 		}
 
-		gl.glLineWidth(1.0f);
+		fenceVersion = snapshot.getFenceVersion();
 	}
 
-	// Define four corners of a fence board that is shorter on the left side.
-	private static final Point[]	OUTLINE_BOARD_L = new Point[]
+	// Fills fence board i, flipped or not.
+	private void	fillFenceBoard(VertexBatch b, Fences f, int i,
+								   boolean flipped)
 	{
-		new Point(  0,   0),		// base, left
-		new Point( 24,   0),		// base, right
-		new Point( 24, 112),		// peak, right
-		new Point(  0, 102),		// peak, left
-	};
+		int	dx = f.getX(i);
+		int	dy = f.getY(i);
+		int	left = f.getLeftHeight(i, flipped);
+		int	right = f.getRightHeight(i, flipped);
 
-	// Define four corners of a fence board that is shorter on the right side.
-	private static final Point[]	OUTLINE_BOARD_R = new Point[]
-	{
-		new Point(  0,   0),		// base, left
-		new Point( 24,   0),		// base, right
-		new Point( 24, 102),		// peak, right
-		new Point(  0, 112),		// peak, left
-	};
+		setColor(b, 192, 192, 128);			// Tan
 
-	// Fills a single fence slat with bottom left corner at dx, dy.
-	// If flip is true, the slat is higher on the left, else on the right.
-	private void	fillFenceBoard(GL2 gl, boolean flip, int dx, int dy)
-	{
-		setColor(gl, 192, 192, 128);			// Tan
-		fillPoly(gl, dx, dy, (flip ? OUTLINE_BOARD_R : OUTLINE_BOARD_L));
+		b.begin(GL2.GL_POLYGON);
+
+		b.vertex(dx + 0, dy + 0);							// base, left
+		b.vertex(dx + Fences.WIDTH, dy + 0);				// base, right
+		b.vertex(dx + Fences.WIDTH, dy + right);			// peak, right
+		b.vertex(dx + 0, dy + left);						// peak, left
+
+		b.end();
 	}
 
-	// Edges a single fence slat with bottom left corner at dx, dy.
-	// If flip is true, the slat is higher on the left, else on the right.
-	private void	edgeFenceBoard(GL2 gl, boolean flip, int dx, int dy)
+	// Edges fence board i, flipped or not.
+	private void	edgeFenceBoard(VertexBatch b, Fences f, int i,
+								   boolean flipped)
 	{
-		setColor(gl, 0, 0, 0);					// Black
-		edgePoly(gl, dx, dy, (flip ? OUTLINE_BOARD_R : OUTLINE_BOARD_L));
+		int	dx = f.getX(i);
+		int	dy = f.getY(i);
+		int	left = f.getLeftHeight(i, flipped);
+		int	right = f.getRightHeight(i, flipped);
+
+		setColor(b, 0, 0, 0);					// Black
+
+		b.setLineWidth(thickline);
+
+		b.begin(GL2.GL_LINE_LOOP);
+
+		b.vertex(dx + 0, dy + 0);							// base, left
+		b.vertex(dx + Fences.WIDTH, dy + 0);				// base, right
+		b.vertex(dx + Fences.WIDTH, dy + right);			// peak, right
+		b.vertex(dx + 0, dy + left);						// peak, left
+
+		b.end();
+
+		b.setLineWidth(1.0f);
 	}
 
 	//**********************************************************************
@@ -877,37 +1015,125 @@ public final class View
 	private void	drawMode(GLAutoDrawable drawable)
 	{
 		GL2		gl = drawable.getGL().getGL2();
-		double[]	p = Utilities.mapViewToScene(gl, 0.5 * w, 0.5 * h, 0.0);
-		double[]	q = Utilities.mapSceneToView(gl, 0.0, 0.0, 0.0);
-		String		svc = ("View center in scene: [" + FORMAT.format(p[0]) +
-						   " , " + FORMAT.format(p[1]) + "]");
-		String		sso = ("Scene origin in view: [" + FORMAT.format(q[0]) +
-						   " , " + FORMAT.format(q[1]) + "]");
 
-		renderer.beginRendering(w, h);
+		updateModeText(gl);
 
-		// Draw all text in yellow
-		renderer.setColor(1.0f, 1.0f, 0.0f, 1.0f);
+		// The text only changes when the pointer moves, so keep it in a layer
+		if (modeLayer.begin(gl, modeVersion, w, h))
+		{
+			renderer.beginRendering(w, h);
 
-		Point2D.Double	cursor = model.getCursor();
+			// Draw all text in yellow
+			renderer.setColor(1.0f, 1.0f, 0.0f, 1.0f);
 
-		if (cursor != null)
-		{
-			String		sx = FORMAT.format(new Double(cursor.x));
-			String		sy = FORMAT.format(new Double(cursor.y));
-			String		s = "Pointer at (" + sx + "," + sy + ")";
+			renderer.draw(pointerText, 2, 2);
+			renderer.draw(centerText, 2, 16);
+			renderer.draw(originText, 2, 30);
+
+			// Stage timings, one line per stage, above the rest of the text
+			if (profileText != null)
+			{
+				for (int i=0; i<profileText.length; i++)
+					renderer.draw(profileText[i], 2, 44 + 14 * i);
+			}
 
-			renderer.draw(s, 2, 2);
+			renderer.endRendering();
 		}
+
+		modeLayer.end(gl);
+	}
+
+	// Rebuilds the strings shown by drawMode() if any value in them changed.
+	private void	updateModeText(GL2 gl)
+	{
+		double[]	p = scene.mapViewToScene(0.5 * w, 0.5 * h, 0.0, modeScratch);
+
+		modeNext[3] = p[0];
+		modeNext[4] = p[1];
+
+		double[]	q = scene.mapSceneToView(0.0, 0.0, 0.0, modeScratch);
+
+		modeNext[5] = q[0];
+		modeNext[6] = q[1];
+
+		boolean	on = snapshot.hasCursor();
+
+		modeNext[0] = (on ? 1.0 : 0.0);
+		modeNext[1] = (on ? snapshot.getCursorX() : 0.0);
+		modeNext[2] = (on ? snapshot.getCursorY() : 0.0);
+
+		// Stage timings are refreshed twice a second while shown
+		boolean	timings = profiler.isEnabled();
+		boolean	refresh = (timings != (profileText != null)) ||
+			(timings && k % 30 == 0);
+
+		if (refresh)
+		{
+			profileText = (timings ? buildProfileText() : null);
+			modeVersion++;
+		}
+
+		if (pointerText != null && Arrays.equals(modeNext, modeValues))
+			return;
+
+		System.arraycopy(modeNext, 0, modeValues, 0, modeNext.length);
+		modeVersion++;
+
+		if (on)
+			pointerText = "Pointer at (" + FORMAT.format(modeNext[1]) + "," +
+				FORMAT.format(modeNext[2]) + ")";
 		else
+			pointerText = "No Pointer";
+
+		centerText = ("View center in scene: [" + FORMAT.format(modeNext[3]) +
+					  " , " + FORMAT.format(modeNext[4]) + "]");
+		originText = ("Scene origin in view: [" + FORMAT.format(modeNext[5]) +
+					  " , " + FORMAT.format(modeNext[6]) + "]");
+	}
+
+	// One line per stage: p50/p95/p99 in milliseconds, on the CPU and GPU.
+	private String[]	buildProfileText()
+	{
+		int			n = profiler.getStageCount();
+		String[]	lines = new String[n];
+
+		for (int i=0; i<n; i++)
 		{
-			renderer.draw("No Pointer", 2, 2);
+			String	when = profiler.getWhen(i);
+			String	line = profiler.getName(i) +
+				((when != null) ? " (" + when + ")" : "") + "  cpu " +
+				FORMAT.format(profiler.getCPUPercentile(i, 50.0)) + "/" +
+				FORMAT.format(profiler.getCPUPercentile(i, 95.0)) + "/" +
+				FORMAT.format(profiler.getCPUPercentile(i, 99.0));
+
+			if (profiler.hasGPUTimes())
+				line += "  gpu " +
+					FORMAT.format(profiler.getGPUPercentile(i, 50.0)) + "/" +
+					FORMAT.format(profiler.getGPUPercentile(i, 95.0)) + "/" +
+					FORMAT.format(profiler.getGPUPercentile(i, 99.0));
+
+			lines[n - 1 - i] = line + " ms";		// First stage at the top
 		}
 
-		renderer.draw(svc, 2, 16);
-		renderer.draw(sso, 2, 30);
+		return lines;
+	}
+
+	// Saves the stage timings to the file named by the homework03.profile
+	// property, or to homework03-profile.csv.
+	private void	writeProfile()
+	{
+		String	path = System.getProperty("homework03.profile",
+										  "homework03-profile.csv");
 
-		renderer.endRendering();
+		try (Writer out = new FileWriter(path))
+		{
+			profiler.writeCSV(out);
+			System.out.println("Saved frame profile to " + path);
+		}
+		catch (IOException e)
+		{
+			System.err.println("Could not save frame profile: " + e);
+		}
 	}
 
 	/**
@@ -922,39 +1148,30 @@ public final class View
 	}
 	
 	/**
-	 * Draws a star in the sky when mouse is clicked or dragged.
+	 * Draws the stars added to the sky when mouse is clicked or dragged.
 	 * 
 	 * @param gl OpenGL object.
 	 */
 	private void	drawSkyStars(GL2 gl)
 	{
-		java.util.List<Point2D.Double>	points = model.getPolyline();
-		
-		for (Point2D.Double p : points)
-		{
-			drawHouseStar(gl, (int) p.x, (int) p.y);
-		}
-
-		gl.glEnd();
+		skyStars.draw(gl, w / 1280.0, h / 720.0);	// Pixels per unit
 	}
 	
 	private void	drawCursor(GL2 gl)
 	{
-		Point2D.Double	cursor = model.getCursor();
-
-		if (cursor == null)
+		if (!snapshot.hasCursor())
 			return;
 
+		int	n = Tessellation.segments(25 * scale);
+
+		arc = Tessellation.circle(snapshot.getCursorX(), snapshot.getCursorY(),
+								  25, n, arc);
+
 		gl.glBegin(GL.GL_LINE_LOOP);
 		gl.glColor3f(1.0f, 1.0f, 1.0f);
 
-		for (int i=0; i<32; i++)
-		{
-			double	theta = (2.0 * Math.PI) * (i / 32.0);
-
-			gl.glVertex2d(cursor.x + 25 * Math.cos(theta),
-						  cursor.y + 25 * Math.sin(theta));
-		}
+		for (int i=0; i<n; i++)
+			gl.glVertex2d(arc[2 * i], arc[2 * i + 1]);
 
 		gl.glEnd();
 	}
@@ -973,238 +1190,241 @@ public final class View
 	{
 		setColor(gl, r, g, b, 255);
 	}
+
+	private void	setColor(VertexBatch vb, int r, int g, int b, int a)
+	{
+		vb.setColor(r / 255.0f, g / 255.0f, b / 255.0f, a / 255.0f);
+	}
+
+	// Sets fully opaque color, normalizing r, g, b values from max 255 to 1.0.
+	private void	setColor(VertexBatch vb, int r, int g, int b)
+	{
+		setColor(vb, r, g, b, 255);
+	}
 	
 	/**
 	 * Fills a rectangle having lower left corner at (x,y) and dimensions (w,h).
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param x X-coordinate starting
 	 * @param y Y-coordinate starting
 	 * @param w Width
 	 * @param h Height
 	 */
-	private void	fillRect(GL2 gl, int x, int y, int w, int h)
+	private void	fillRect(VertexBatch b, int x, int y, int w, int h)
 	{
-		gl.glBegin(GL2.GL_POLYGON);
+		b.begin(GL2.GL_POLYGON);
 
-		gl.glVertex2i(x+0, y+0);
-		gl.glVertex2i(x+0, y+h);
-		gl.glVertex2i(x+w, y+h);
-		gl.glVertex2i(x+w, y+0);
+		b.vertex(x+0, y+0);
+		b.vertex(x+0, y+h);
+		b.vertex(x+w, y+h);
+		b.vertex(x+w, y+0);
 
-		gl.glEnd();
+		b.end();
 	}
 	
 	/**
 	 * Edges a rectangle having lower left corner at (x,y) and dimensions (w,h).
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param x X-coordinate starting
 	 * @param y Y-coordinate starting
 	 * @param w Width
 	 * @param h Height
 	 */
-	private void	edgeRect(GL2 gl, int x, int y, int w, int h)
+	private void	edgeRect(VertexBatch b, int x, int y, int w, int h)
 	{
-		gl.glLineWidth(thickline);
+		b.setLineWidth(thickline);
 
-		gl.glBegin(GL.GL_LINE_LOOP);
+		b.begin(GL.GL_LINE_LOOP);
 
-		gl.glVertex2i(x+0, y+0);
-		gl.glVertex2i(x+0, y+h);
-		gl.glVertex2i(x+w, y+h);
-		gl.glVertex2i(x+w, y+0);
+		b.vertex(x+0, y+0);
+		b.vertex(x+0, y+h);
+		b.vertex(x+w, y+h);
+		b.vertex(x+w, y+0);
 
-		gl.glEnd();
+		b.end();
 
-		gl.glLineWidth(1.0f);
+		b.setLineWidth(1.0f);
 	}
 	
 	/**
 	 * Fills in a triangle given (x,y) coordinates given base and height.
 	 * Creates an upside down triangle.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param x X-coordinate
 	 * @param y Y-coordinate
 	 * @param base Base of the triangle
 	 * @param height Height of the triangle
 	 * @param rightOrLeft 0 or 1. 0 denotes left while 1 denotes right
 	 */
-	private void	fillTriangle(GL2 gl, int x, int y, int base, int height,
+	private void	fillTriangle(VertexBatch b, int x, int y, int base, int height,
 			int rightOrLeft)
 	{
-		gl.glBegin(GL2.GL_TRIANGLES);
+		b.begin(GL2.GL_TRIANGLES);
 		
 		if (rightOrLeft == 0)
 		{
-			gl.glVertex2f(x+base, y+height);
-			gl.glVertex2f(x, y+height);
-			gl.glVertex2f(x+0, y+0);
+			b.vertex(x+base, y+height);
+			b.vertex(x, y+height);
+			b.vertex(x+0, y+0);
 		}
 		else if (rightOrLeft == 1)
 		{
-			gl.glVertex2f(x+0, y+height);
-			gl.glVertex2f(x+base, y+height);
-			gl.glVertex2f(x+base, y+0);
+			b.vertex(x+0, y+height);
+			b.vertex(x+base, y+height);
+			b.vertex(x+base, y+0);
 		}
 		
-		gl.glEnd();
+		b.end();
 	}
 	
 	/**
 	 * Fills in a triangle given (x,y) coordinates given base and height.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param x X-coordinate
 	 * @param y Y-coordinate
 	 * @param base Base of the triangle
 	 * @param height Height of the triangle
 	 * @param rightOrLeft 0 or 1. 0 denotes left while 1 denotes right
 	 */
-	private void	edgeTriangle(GL2 gl, int x, int y, int base, int height,
+	private void	edgeTriangle(VertexBatch b, int x, int y, int base, int height,
 			int rightOrLeft)
 	{
-		gl.glLineWidth(thickline);
+		b.setLineWidth(thickline);
 
-		gl.glBegin(GL.GL_LINE_LOOP);
+		b.begin(GL.GL_LINE_LOOP);
 
 		if (rightOrLeft == 0)
 		{
-			gl.glVertex2f(x+base, y+height);
-			gl.glVertex2f(x, y+height);
-			gl.glVertex2f(x+0, y+0);
+			b.vertex(x+base, y+height);
+			b.vertex(x, y+height);
+			b.vertex(x+0, y+0);
 		}
 		else if (rightOrLeft == 1)
 		{
-			gl.glVertex2f(x+0, y+height);
-			gl.glVertex2f(x+base, y+height);
-			gl.glVertex2f(x+base, y+0);
+			b.vertex(x+0, y+height);
+			b.vertex(x+base, y+height);
+			b.vertex(x+base, y+0);
 		}
 		
-		gl.glEnd();
+		b.end();
 
-		gl.glLineWidth(1.0f);
+		b.setLineWidth(1.0f);
 	}
 	
 	/**
-	 * Fills in a circle having a center a (x,y) and a radius r.
-	 * Code came from a YouTube video https://www.youtube.com/watch?v=NnutNkde5TE
+	 * Fills in a circle having a center a (x,y) and a radius r, with only as
+	 * many segments as the circle needs at the current canvas size.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param x X-coordinate starting
 	 * @param y Y-coordinate starting
 	 * @param r Radius of the circle
 	 */
-	private void	fillCircle(GL2 gl, int x, int y, int r)
+	private void	fillCircle(VertexBatch b, int x, int y, int r)
 	{
-		gl.glBegin(GL2.GL_POLYGON);
-		
-		// Calculation to get the circle.
-		float theta;
-		
-		for (int i = 0; i < 360; i++)
-		{
-			theta = (float) (i * 3.142/180);
-			
-			gl.glVertex2f((float) (x + r * Math.cos(theta)), 
-					(float) (y + r * Math.sin(theta)));
-		}
+		int	n = Tessellation.segments(r * scale);
+
+		arc = Tessellation.circle(x, y, r, n, arc);
+
+		b.begin(GL2.GL_POLYGON);
+
+		for (int i=0; i<n; i++)
+			b.vertex(arc[2 * i], arc[2 * i + 1]);
 		
-		gl.glEnd();
+		b.end();
 	}
 	
 	/**
 	 * Edges of the circle with coordinates (x,y) and a radius r.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param x X-coordinate starting
 	 * @param y Y-coordinate starting
 	 * @param r Radius of the circle
 	 */
-	private void	edgeCircle(GL2 gl, int x, int y, int r)
+	private void	edgeCircle(VertexBatch b, int x, int y, int r)
 	{
-		gl.glLineWidth(thickline);
+		int	n = Tessellation.segments(r * scale);
 
-		gl.glBegin(GL.GL_LINE_LOOP);
+		arc = Tessellation.circle(x, y, r, n, arc);
 
-		// Calculation to get the circle.
-		float theta;
-		
-		for (int i = 0; i < 360; i++)
-		{
-			theta = (float) (i * 3.142/180);
-			
-			gl.glVertex2f((float) (x + r * Math.cos(theta)), 
-					(float) (y + r * Math.sin(theta)));
-		}
+		b.setLineWidth(thickline);
+
+		b.begin(GL.GL_LINE_LOOP);
+
+		for (int i=0; i<n; i++)
+			b.vertex(arc[2 * i], arc[2 * i + 1]);
 		
-		gl.glEnd();
+		b.end();
 
-		gl.glLineWidth(1.0f);
+		b.setLineWidth(1.0f);
 	}
 
 	/**
 	 * Fills a polygon defined by a starting point and a sequence of offsets.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param startx X-coordinate starting
 	 * @param starty Y-coordinate starting
 	 * @param offsets How much to offset
 	 */
-	private void	fillPoly(GL2 gl, int startx, int starty, Point[] offsets)
+	private void	fillPoly(VertexBatch b, int startx, int starty, Point[] offsets)
 	{
-		gl.glBegin(GL2.GL_POLYGON);
+		b.begin(GL2.GL_POLYGON);
 
 		for (int i=0; i<offsets.length; i++)
-			gl.glVertex2i(startx + offsets[i].x, starty + offsets[i].y);
+			b.vertex(startx + offsets[i].x, starty + offsets[i].y);
 
-		gl.glEnd();
+		b.end();
 	}
 
 	/**
 	 * Edges a polygon defined by a starting point and a sequence of offsets.
 	 * 
-	 * @param gl OpenGL object
+	 * @param b Vertex batch
 	 * @param startx X-coordinate starting
 	 * @param starty Y-coordinate starting
 	 * @param offsets How much to offset
 	 */
-	private void	edgePoly(GL2 gl, int startx, int starty, Point[] offsets)
+	private void	edgePoly(VertexBatch b, int startx, int starty, Point[] offsets)
 	{
-		gl.glLineWidth(thickline);
+		b.setLineWidth(thickline);
 
-		gl.glBegin(GL2.GL_LINE_LOOP);
+		b.begin(GL2.GL_LINE_LOOP);
 
 		for (int i=0; i<offsets.length; i++)
-			gl.glVertex2i(startx + offsets[i].x, starty + offsets[i].y);
+			b.vertex(startx + offsets[i].x, starty + offsets[i].y);
 
-		gl.glEnd();
+		b.end();
 
-		gl.glLineWidth(1.0f);
+		b.setLineWidth(1.0f);
 	}
 	
 	/**
 	 * Draws points on the star.
 	 * 
-	 * @param gl OpenGL object.
+	 * @param b Vertex batch
 	 * @param cx X-Coordinate.
 	 * @param cy Y-Coordinate.
 	 * @param sides Number of sides.
 	 * @param r1
 	 * @param r2
 	 */
-	private void	doStarVertices(GL2 gl, int cx, int cy, int sides, double r1, double r2)
+	private void	doStarVertices(VertexBatch b, int cx, int cy, int sides, double r1, double r2)
 	{
 		double	delta = Math.PI / sides;
 		double	theta = 0.5 * Math.PI;
 		
 		for (int i=0; i<sides; i++)
 		{
-			gl.glVertex2d(cx + r1 * Math.cos(theta), cy + r1 * Math.sin(theta));
+			b.vertex(cx + r1 * Math.cos(theta), cy + r1 * Math.sin(theta));
 			theta += delta;
 			
-			gl.glVertex2d(cx + r2 * Math.cos(theta), cy + r2 * Math.sin(theta));
+			b.vertex(cx + r2 * Math.cos(theta), cy + r2 * Math.sin(theta));
 			theta += delta;
 		}
 	}
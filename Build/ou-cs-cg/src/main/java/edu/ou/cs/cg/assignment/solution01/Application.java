@@ -33,6 +33,8 @@ import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.*;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.attractor.*;
+import edu.ou.cs.cg.utilities.DensityImage;
 
 //******************************************************************************
 
@@ -53,6 +55,13 @@ public final class Application
 	public static final GLUT	GLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	DENSITY_STEP = 1 << 22;	// Points per frame
+	private static final long	DENSITY_CAP = 1L << 30;	// Points in all
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -65,6 +74,12 @@ public final class Application
 
 	private int				m = 1;			// Number of points to draw
 	private boolean			p = false;		// Draw lines?
+	private final int			cap;			// Most points to draw
+
+	// Tinkerbell map points, traced in parallel and kept in a buffer
+	private final MapAttractor	tinkerbell =
+		new MapAttractor(new Tinkerbell());
+	private DensityImage		density;		// With --density, instead
 
 	//**********************************************************************
 	// Main
@@ -79,8 +94,28 @@ public final class Application
 	// Constructors and Finalizer
 	//**********************************************************************
 
+	// A number argument, if any, is the most points to draw before starting
+	// over. It may be in the tens of millions. With --density, the map is
+	// counted into a density image instead.
 	public Application(String[] args)
 	{
+		int	most = 100000;
+
+		for (String arg : args)
+		{
+			if ("--density".equals(arg))
+			{
+				// The window that the scene fits the map into
+				density = new DensityImage(1280, 720);
+				density.setWindow(-1.4, -1.6, 0.6, 0.6);
+			}
+			else
+			{
+				most = Integer.parseInt(arg);
+			}
+		}
+
+		cap = most;
 	}
 
 	//**********************************************************************
@@ -138,6 +173,11 @@ public final class Application
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		tinkerbell.dispose(drawable.getGL().getGL2());
+
+		if (density != null)
+			density.dispose(drawable.getGL().getGL2());
+
 		renderer = null;
 	}
 
@@ -164,10 +204,21 @@ public final class Application
 	{
 		k++;									// Advance animation counter
 
-		if (m > 100000)						// Check point cap
+		if (density != null)
+		{
+			density.setSize(Math.max(w, 1), Math.max(h, 1));
+
+			if (density.getPoints() < DENSITY_CAP)
+				density.accumulate(tinkerbell, DENSITY_STEP);
+
+			return;
+		}
+
+		if (m > cap)							// Check point cap
 		{
 			m = 1;								// Reset point count
 			p = !p;							// Switch point/line mode
+			tinkerbell.clear();				// Start the map over
 		}
 		else
 		{
@@ -175,6 +226,8 @@ public final class Application
 		}
 
 		m = (int)Math.floor(m * 1.02) + 1;		// Increase point count
+
+		tinkerbell.extend(m);					// Trace only the new points
 	}
 
 	// Render the scene model and display the current animation frame.
@@ -215,36 +268,28 @@ public final class Application
 	// en.wikipedia.org/wiki/Tinkerbell_map
 	private void	drawTinkerbellMap(GL2 gl)
 	{
-		if (p)									// Line or point mode?
-			gl.glBegin(GL.GL_LINE_STRIP);		// Specify line segment sequence
-		else
-			gl.glBegin(GL.GL_POINTS);			// Specify point set
-
 		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
 
-		double		a = 0.9;					// Constant for updating x
-		double		b = -0.6013;				// Constant for updating x
-		double		c = 2.0;					// Constant for updating y
-		double		d = 0.50;					// Constant for updating y
-		double		lx = -0.72;				// Initial x coordinate
-		double		ly = -0.64;				// Initial y coordinate
-
-		for (int i=0; i<m; i++)
+		if (density != null)
 		{
-			double	llx = lx * lx - ly * ly + a * lx + b * ly;
-			double	lly = 2 * lx * ly + c * lx + d * ly;
+			density.drawOnto(gl, -1.0, -1.0, 1.0, -1.0, -1.0, 1.0);
+			return;
+		}
 
-			lx = llx;
-			ly = lly;
-			//System.out.println(" " + lx + " " + ly);
+		// Make the map fit into the scene by translating the x coordinate,
+		// and translating and scaling the y coordinate. (Changing the x
+		// and y ranges in setProjection() above might be a better way.)
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glTranslated(0.4, 0.5 / 1.1, 0.0);
+		gl.glScaled(1.0, 1.0 / 1.1, 1.0);
 
-			// Make the map fit into the scene by translating the x coordinate,
-			// and translating and scaling the y coordinate. (Changing the x
-			// and y ranges in setProjection() above might be a better way.)
-			gl.glVertex2d(lx + 0.4, (ly + 0.5) / 1.1);
-		}
+		if (p)									// Line or point mode?
+			tinkerbell.draw(gl, GL.GL_LINE_STRIP);	// Line segment sequence
+		else
+			tinkerbell.draw(gl, GL.GL_POINTS);		// Point set
 
-		gl.glEnd();
+		gl.glPopMatrix();
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -254,7 +299,9 @@ public final class Application
 	{
 		renderer.beginRendering(w, h);
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
-		renderer.draw("Tinkerbell map (Points: " + m + ")", 2, h - 14);
+		renderer.draw("Tinkerbell map (Points: " +
+					  ((density != null) ? density.getPoints() : m) + ")",
+					  2, h - 14);
 		renderer.endRendering();
 	}
 }
@@ -0,0 +1,122 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 00:48:14 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The Clifford attractor, a map of Clifford Pickover's,
+//
+//   x' = sin(a y) + c cos(a x)
+//   y' = sin(b x) + d cos(b y)
+//
+// with a = -1.4, b = 1.6, c = 1.0, d = 0.7 by default. It stays within
+// |x| <= 1 + |c| and |y| <= 1 + |d|, from any start.
+//
+// This page is helpful:
+// paulbourke.net/fractals/clifford/
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.attractor;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Clifford</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Clifford
+	implements IteratedMap
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double		a;
+	private final double		b;
+	private final double		c;
+	private final double		d;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Clifford()
+	{
+		this(-1.4, 1.6, 1.0, 0.7);
+	}
+
+	public Clifford(double a, double b, double c, double d)
+	{
+		this.a = a;
+		this.b = b;
+		this.c = c;
+		this.d = d;
+	}
+
+	//**********************************************************************
+	// Override Methods (IteratedMap)
+	//**********************************************************************
+
+	public double	getStartX()
+	{
+		return 0.1;
+	}
+
+	public double	getStartY()
+	{
+		return 0.1;
+	}
+
+	public void	skip(double[] xy, int count)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=0; i<count; i++)
+		{
+			double	xx = Math.sin(a * y) + c * Math.cos(a * x);
+			double	yy = Math.sin(b * x) + d * Math.cos(b * y);
+
+			x = xx;
+			y = yy;
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+
+	public void	iterate(double[] xy, FloatBuffer out, int from, int to)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=from; i<to; i++)
+		{
+			double	xx = Math.sin(a * y) + c * Math.cos(a * x);
+			double	yy = Math.sin(b * x) + d * Math.cos(b * y);
+
+			x = xx;
+			y = yy;
+
+			out.put(2 * i, (float)x);
+			out.put(2 * i + 1, (float)y);
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+}
+
+//******************************************************************************
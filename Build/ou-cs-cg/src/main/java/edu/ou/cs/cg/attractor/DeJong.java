@@ -0,0 +1,122 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 00:49:40 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The Peter de Jong attractor,
+//
+//   x' = sin(a y) - cos(b x)
+//   y' = sin(c x) - cos(d y)
+//
+// with a = 1.4, b = -2.3, c = 2.4, d = -2.1 by default. It stays within the
+// square |x|, |y| <= 2, from any start.
+//
+// This page is helpful:
+// paulbourke.net/fractals/peterdejong/
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.attractor;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>DeJong</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class DeJong
+	implements IteratedMap
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double		a;
+	private final double		b;
+	private final double		c;
+	private final double		d;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public DeJong()
+	{
+		this(1.4, -2.3, 2.4, -2.1);
+	}
+
+	public DeJong(double a, double b, double c, double d)
+	{
+		this.a = a;
+		this.b = b;
+		this.c = c;
+		this.d = d;
+	}
+
+	//**********************************************************************
+	// Override Methods (IteratedMap)
+	//**********************************************************************
+
+	public double	getStartX()
+	{
+		return 0.1;
+	}
+
+	public double	getStartY()
+	{
+		return 0.1;
+	}
+
+	public void	skip(double[] xy, int count)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=0; i<count; i++)
+		{
+			double	xx = Math.sin(a * y) - Math.cos(b * x);
+			double	yy = Math.sin(c * x) - Math.cos(d * y);
+
+			x = xx;
+			y = yy;
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+
+	public void	iterate(double[] xy, FloatBuffer out, int from, int to)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=from; i<to; i++)
+		{
+			double	xx = Math.sin(a * y) - Math.cos(b * x);
+			double	yy = Math.sin(c * x) - Math.cos(d * y);
+
+			x = xx;
+			y = yy;
+
+			out.put(2 * i, (float)x);
+			out.put(2 * i + 1, (float)y);
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+}
+
+//******************************************************************************
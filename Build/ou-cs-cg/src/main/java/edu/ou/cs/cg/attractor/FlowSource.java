@@ -0,0 +1,118 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 02:31:55 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Points along the trajectories of a flow, such as the Lorenz system, for a
+// DensityImage to count. Each walker traces its own trajectory adaptively,
+// with a Tracer over Dormand-Prince, from a random start within SEED of the
+// given one. It traces BURN_IN points before its first, so the transient on
+// the way to the attractor is thrown away, and the trajectories of the
+// walkers have long since spread apart.
+//
+// Points are evenly spaced in arc length, so a cell's count is the length of
+// trajectory through it. The first two values of the state are x and y.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.attractor;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import java.util.SplittableRandom;
+import edu.ou.cs.cg.integration.*;
+import edu.ou.cs.cg.utilities.PointSource;
+
+//******************************************************************************
+
+/**
+ * The <CODE>FlowSource</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class FlowSource
+	implements PointSource
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		BURN_IN = 2000;		// Points per walker
+	private static final double	SEED = 1.0e-3;		// Scatter of starts
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final OdeSystem	system;
+	private final double[]		start;
+	private final double		tolerance;
+	private final double		maxStep;
+	private final double		spacing;		// Arc length between points
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public FlowSource(OdeSystem system, double[] start, double tolerance,
+					  double maxStep, double spacing)
+	{
+		if (start.length != system.getDimension())
+			throw new IllegalArgumentException("Start is not a state");
+
+		this.system = system;
+		this.start = start.clone();
+		this.tolerance = tolerance;
+		this.maxStep = maxStep;
+		this.spacing = spacing;
+	}
+
+	//**********************************************************************
+	// Override Methods (PointSource)
+	//**********************************************************************
+
+	public Walker	newWalker(SplittableRandom r)
+	{
+		final int		n = start.length;
+		final Tracer	tracer = new Tracer(new DormandPrince(system,
+											tolerance, maxStep), spacing);
+		double[]		y = new double[n];
+
+		for (int i=0; i<n; i++)
+			y[i] = start[i] + SEED * (2.0 * r.nextDouble() - 1.0);
+
+		tracer.start(0.0, y, maxStep);
+
+		final double[]	buffer = new double[n * BURN_IN];
+
+		tracer.next(buffer, 0, BURN_IN);
+
+		return new Walker() {
+				private double[]	points = buffer;
+
+				public void	walk(FloatBuffer out, int count)
+				{
+					if (points.length < n * count)
+						points = new double[n * count];
+
+					tracer.next(points, 0, count);
+
+					for (int i=0; i<count; i++)
+					{
+						out.put(2 * i, (float)points[n * i]);
+						out.put(2 * i + 1, (float)points[n * i + 1]);
+					}
+				}
+			};
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,117 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 00:43:52 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The Henon map,
+//
+//   x' = 1 - a x^2 + y
+//   y' = b x
+//
+// with a = 1.4, b = 0.3 by default.
+//
+// This page is helpful:
+// en.wikipedia.org/wiki/H%C3%A9non_map
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.attractor;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Henon</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Henon
+	implements IteratedMap
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double		a;				// Constant for updating x
+	private final double		b;				// Constant for updating y
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Henon()
+	{
+		this(1.4, 0.3);
+	}
+
+	public Henon(double a, double b)
+	{
+		this.a = a;
+		this.b = b;
+	}
+
+	//**********************************************************************
+	// Override Methods (IteratedMap)
+	//**********************************************************************
+
+	public double	getStartX()
+	{
+		return 0.1;
+	}
+
+	public double	getStartY()
+	{
+		return 0.1;
+	}
+
+	public void	skip(double[] xy, int count)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=0; i<count; i++)
+		{
+			double	xx = 1.0 - a * x * x + y;
+			double	yy = b * x;
+
+			x = xx;
+			y = yy;
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+
+	public void	iterate(double[] xy, FloatBuffer out, int from, int to)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=from; i<to; i++)
+		{
+			double	xx = 1.0 - a * x * x + y;
+			double	yy = b * x;
+
+			x = xx;
+			y = yy;
+
+			out.put(2 * i, (float)x);
+			out.put(2 * i + 1, (float)y);
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,123 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 00:46:30 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The Ikeda map,
+//
+//   t  = 0.4 - 6 / (1 + x^2 + y^2)
+//   x' = 1 + u (x cos t - y sin t)
+//   y' =     u (x sin t + y cos t)
+//
+// with u = 0.9 by default. It spirals, so it takes more work per point than
+// the polynomial maps.
+//
+// This page is helpful:
+// en.wikipedia.org/wiki/Ikeda_map
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.attractor;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Ikeda</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Ikeda
+	implements IteratedMap
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double		u;				// Constant for updating both
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Ikeda()
+	{
+		this(0.9);
+	}
+
+	public Ikeda(double u)
+	{
+		this.u = u;
+	}
+
+	//**********************************************************************
+	// Override Methods (IteratedMap)
+	//**********************************************************************
+
+	public double	getStartX()
+	{
+		return 0.0;
+	}
+
+	public double	getStartY()
+	{
+		return 0.0;
+	}
+
+	public void	skip(double[] xy, int count)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=0; i<count; i++)
+		{
+			double	t = 0.4 - 6.0 / (1.0 + x * x + y * y);
+			double	cos = Math.cos(t);
+			double	sin = Math.sin(t);
+			double	xx = 1.0 + u * (x * cos - y * sin);
+			double	yy = u * (x * sin + y * cos);
+
+			x = xx;
+			y = yy;
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+
+	public void	iterate(double[] xy, FloatBuffer out, int from, int to)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=from; i<to; i++)
+		{
+			double	t = 0.4 - 6.0 / (1.0 + x * x + y * y);
+			double	cos = Math.cos(t);
+			double	sin = Math.sin(t);
+			double	xx = 1.0 + u * (x * cos - y * sin);
+			double	yy = u * (x * sin + y * cos);
+
+			x = xx;
+			y = yy;
+
+			out.put(2 * i, (float)x);
+			out.put(2 * i + 1, (float)y);
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+}
+
+//******************************************************************************
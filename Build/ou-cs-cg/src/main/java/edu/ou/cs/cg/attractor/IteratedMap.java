@@ -0,0 +1,54 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 00:38:27 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A map of the plane into itself, (x, y) -> f(x, y), iterated to trace its
+// attractor. The iteration itself is up to each map, in batches, so the loop
+// is compiled with the map inlined and no call is made per point.
+//
+// The state is a double[2] of x and y, left at the last iterate of a batch,
+// so batches can go on from one another.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.attractor;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>IteratedMap</CODE> interface.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public interface IteratedMap
+{
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Returns a point whose iterates go to the attractor, and so do those of
+	// points near it.
+	public double	getStartX();
+	public double	getStartY();
+
+	// Iterates the state count times, keeping none of the iterates.
+	public void	skip(double[] xy, int count);
+
+	// Iterates the state once for each point from one index up to another,
+	// writing x, y pairs into out at twice the index.
+	public void	iterate(double[] xy, FloatBuffer out, int from, int to);
+}
+
+//******************************************************************************
@@ -0,0 +1,382 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 02:20:09 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Traces the attractor of an IteratedMap into a PointBuffer, in parallel, and
+// draws it with one glDrawArrays().
+//
+// The points are split into runs of GRAIN points, filled by a ForkJoinPool.
+// Each run is its own orbit: it starts at a random point within SEED of the
+// map's start, and iterates BURN_IN times before its first point, so the
+// transient on the way to the attractor is thrown away. Runs write their
+// points straight into one shared PointBuffer, at their own indices, so no
+// points are copied. An orbit that blows up during its burn-in is started
+// over from the map's start itself.
+//
+// Points can be added to those already traced with extend(), which goes on
+// from the last point, as ChaosGame does. Adding fewer than GRAIN points is
+// done on the calling thread, so a picture that grows a little each frame
+// costs time in proportion to its growth, and only the new points are
+// uploaded. A picture can grow to tens of millions of points this way.
+//
+// The bounds of the points are kept as they are traced, so the attractor can
+// be drawn fitted into a rectangle with drawInto().
+//
+// A MapAttractor is also a PointSource, with walkers seeded the same way, so
+// its map can be counted into a DensityImage instead of drawn as points.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.attractor;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import com.jogamp.opengl.*;
+import edu.ou.cs.cg.utilities.PointBuffer;
+import edu.ou.cs.cg.utilities.PointSource;
+
+//******************************************************************************
+
+/**
+ * The <CODE>MapAttractor</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class MapAttractor
+	implements PointSource
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		GRAIN = 1 << 16;	// Most points per task
+	private static final int		BURN_IN = 1000;		// Iterates per orbit
+	private static final double	SEED = 1.0e-3;		// Scatter of starts
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final ForkJoinPool		pool;
+	private final SplittableRandom	random;		// Split for each task
+	private IteratedMap				map;
+
+	// Points, the orbit the last one is on, and their bounds
+	private final PointBuffer			points = new PointBuffer(false);
+	private final double[]				last = new double[2];
+	private final double[]				bounds = new double[4];
+	private final double[]				matrix = new double[16];	// Into
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public MapAttractor(IteratedMap map)
+	{
+		this(map, ForkJoinPool.commonPool(), new SplittableRandom());
+	}
+
+	// Uses the given pool, and a seed for repeatable points.
+	public MapAttractor(IteratedMap map, ForkJoinPool pool, long seed)
+	{
+		this(map, pool, new SplittableRandom(seed));
+	}
+
+	private MapAttractor(IteratedMap map, ForkJoinPool pool,
+						 SplittableRandom random)
+	{
+		this.pool = pool;
+		this.random = random;
+
+		matrix[10] = 1.0;
+		matrix[15] = 1.0;
+
+		setMap(map);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public IteratedMap	getMap()
+	{
+		return map;
+	}
+
+	// Sets the map to trace, forgetting the points of the last one.
+	public void	setMap(IteratedMap map)
+	{
+		if (map == null)
+			throw new IllegalArgumentException("No map");
+
+		this.map = map;
+		clear();
+	}
+
+	// Returns the number of points traced.
+	public int	size()
+	{
+		return points.size();
+	}
+
+	// Returns the points traced, as x, y pairs from index zero. The buffer
+	// is reused, so copy anything that must outlast the next call.
+	public FloatBuffer	getPoints()
+	{
+		return points.getData();
+	}
+
+	// Returns the bounds of the points, as left, bottom, right, top.
+	public double[]	getBounds()
+	{
+		return bounds.clone();
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Forgets the points traced.
+	public void	clear()
+	{
+		points.clear();
+
+		bounds[0] = bounds[1] = Double.POSITIVE_INFINITY;
+		bounds[2] = bounds[3] = Double.NEGATIVE_INFINITY;
+	}
+
+	// Replaces the points with count new ones. Returns when all are done.
+	public void	generate(int count)
+	{
+		clear();
+		extend(count);
+	}
+
+	// Adds points until there are count in all. Returns when all are done.
+	public void	extend(int count)
+	{
+		int	from = points.size();
+
+		if (count <= from)
+			return;
+
+		FloatBuffer	b = points.reserve(count);
+
+		if (count - from <= GRAIN)
+		{
+			if (from == 0)
+				seed(last, random);
+
+			map.iterate(last, b, from, count);		// Not worth a thread
+			include(bounds, b, from, count);
+		}
+		else
+		{
+			Fill	fill = new Fill(b, from, count, count, random.split());
+
+			pool.invoke(fill);
+			union(bounds, fill.bounds);
+		}
+
+		points.setSize(count);
+	}
+
+	// Draws the points in the current color, uploading any new ones.
+	public void	draw(GL2 gl)
+	{
+		points.draw(gl);
+	}
+
+	// Same as draw(), as another primitive, such as GL_LINE_STRIP.
+	public void	draw(GL2 gl, int mode)
+	{
+		points.draw(gl, mode);
+	}
+
+	// Draws the points fitted into a rectangle, by way of the modelview
+	// matrix.
+	public void	drawInto(GL2 gl, double x0, double y0, double x1, double y1)
+	{
+		if (points.size() == 0)
+			return;
+
+		double	w = Math.max(bounds[2] - bounds[0], Double.MIN_NORMAL);
+		double	h = Math.max(bounds[3] - bounds[1], Double.MIN_NORMAL);
+
+		matrix[0] = (x1 - x0) / w;
+		matrix[5] = (y1 - y0) / h;
+		matrix[12] = x0 - bounds[0] * matrix[0];
+		matrix[13] = y0 - bounds[1] * matrix[5];
+
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glMultMatrixd(matrix, 0);
+		points.draw(gl);
+		gl.glPopMatrix();
+	}
+
+	// Releases the buffer object. The points are kept.
+	public void	dispose(GL2 gl)
+	{
+		points.dispose(gl);
+	}
+
+	//**********************************************************************
+	// Override Methods (PointSource)
+	//**********************************************************************
+
+	// Returns a walker on an orbit of its own, for the map as it is now.
+	public Walker	newWalker(SplittableRandom r)
+	{
+		final IteratedMap	m = map;
+		final double[]		xy = new double[2];
+
+		seed(xy, r);
+
+		return new Walker() {
+				public void	walk(FloatBuffer out, int count)
+				{
+					m.iterate(xy, out, 0, count);
+				}
+			};
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Starts an orbit near the map's start, and iterates it to the
+	// attractor.
+	private void	seed(double[] xy, SplittableRandom r)
+	{
+		xy[0] = map.getStartX() + SEED * (2.0 * r.nextDouble() - 1.0);
+		xy[1] = map.getStartY() + SEED * (2.0 * r.nextDouble() - 1.0);
+		map.skip(xy, BURN_IN);
+
+		if (isFinite(xy))
+			return;
+
+		xy[0] = map.getStartX();
+		xy[1] = map.getStartY();
+		map.skip(xy, BURN_IN);
+
+		if (!isFinite(xy))
+			throw new IllegalStateException("Map diverges from its start");
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static boolean	isFinite(double[] xy)
+	{
+		return (Math.abs(xy[0]) <= Double.MAX_VALUE &&
+				Math.abs(xy[1]) <= Double.MAX_VALUE);
+	}
+
+	// Grows the bounds to take in points from one index up to another.
+	private static void	include(double[] r, FloatBuffer b, int from, int to)
+	{
+		double	x0 = r[0];
+		double	y0 = r[1];
+		double	x1 = r[2];
+		double	y1 = r[3];
+
+		for (int i=from; i<to; i++)
+		{
+			float	x = b.get(2 * i);
+			float	y = b.get(2 * i + 1);
+
+			x0 = Math.min(x0, x);
+			y0 = Math.min(y0, y);
+			x1 = Math.max(x1, x);
+			y1 = Math.max(y1, y);
+		}
+
+		r[0] = x0;
+		r[1] = y0;
+		r[2] = x1;
+		r[3] = y1;
+	}
+
+	private static void	union(double[] r, double[] s)
+	{
+		r[0] = Math.min(r[0], s[0]);
+		r[1] = Math.min(r[1], s[1]);
+		r[2] = Math.max(r[2], s[2]);
+		r[3] = Math.max(r[3], s[3]);
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Fills the points from one index up to another, splitting the range
+	// among tasks of at most GRAIN points, each its own orbit. The task with
+	// the last point leaves its orbit for extend() to go on from.
+	private final class Fill extends RecursiveAction
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final FloatBuffer		b;
+		private final int				from;
+		private final int				to;
+		private final int				end;			// Of the whole fill
+		private final SplittableRandom	random;
+		private final double[]			bounds = new double[] {
+			Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+			Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY };
+
+		public Fill(FloatBuffer b, int from, int to, int end,
+					SplittableRandom random)
+		{
+			this.b = b;
+			this.from = from;
+			this.to = to;
+			this.end = end;
+			this.random = random;
+		}
+
+		protected void	compute()
+		{
+			if (to - from > GRAIN)
+			{
+				int		mid = (from + to) >>> 1;
+				Fill	lo = new Fill(b, from, mid, end, random.split());
+				Fill	hi = new Fill(b, mid, to, end, random);
+
+				invokeAll(lo, hi);
+				union(bounds, lo.bounds);
+				union(bounds, hi.bounds);
+
+				return;
+			}
+
+			double[]	xy = new double[2];
+
+			seed(xy, random);
+			map.iterate(xy, b, from, to);
+			include(bounds, b, from, to);
+
+			if (to == end)
+			{
+				last[0] = xy[0];
+				last[1] = xy[1];
+			}
+		}
+	}
+}
+
+//******************************************************************************
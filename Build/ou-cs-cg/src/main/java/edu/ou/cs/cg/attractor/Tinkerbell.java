@@ -0,0 +1,121 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 00:41:05 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The Tinkerbell map,
+//
+//   x' = x^2 - y^2 + a x + b y
+//   y' = 2 x y + c x + d y
+//
+// with a = 0.9, b = -0.6013, c = 2.0, d = 0.5 by default.
+//
+// This page is helpful:
+// en.wikipedia.org/wiki/Tinkerbell_map
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.attractor;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Tinkerbell</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Tinkerbell
+	implements IteratedMap
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double		a;				// Constants for updating x
+	private final double		b;
+	private final double		c;				// Constants for updating y
+	private final double		d;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Tinkerbell()
+	{
+		this(0.9, -0.6013, 2.0, 0.5);
+	}
+
+	public Tinkerbell(double a, double b, double c, double d)
+	{
+		this.a = a;
+		this.b = b;
+		this.c = c;
+		this.d = d;
+	}
+
+	//**********************************************************************
+	// Override Methods (IteratedMap)
+	//**********************************************************************
+
+	public double	getStartX()
+	{
+		return -0.72;
+	}
+
+	public double	getStartY()
+	{
+		return -0.64;
+	}
+
+	public void	skip(double[] xy, int count)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=0; i<count; i++)
+		{
+			double	xx = x * x - y * y + a * x + b * y;
+			double	yy = 2.0 * x * y + c * x + d * y;
+
+			x = xx;
+			y = yy;
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+
+	public void	iterate(double[] xy, FloatBuffer out, int from, int to)
+	{
+		double	x = xy[0];
+		double	y = xy[1];
+
+		for (int i=from; i<to; i++)
+		{
+			double	xx = x * x - y * y + a * x + b * y;
+			double	yy = 2.0 * x * y + c * x + d * y;
+
+			x = xx;
+			y = yy;
+
+			out.put(2 * i, (float)x);
+			out.put(2 * i + 1, (float)y);
+		}
+
+		xy[0] = x;
+		xy[1] = y;
+	}
+}
+
+//******************************************************************************
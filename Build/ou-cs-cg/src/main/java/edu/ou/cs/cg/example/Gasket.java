@@ -33,6 +33,8 @@ import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.ChaosGame;
+import edu.ou.cs.cg.utilities.DensityImage;
 
 //******************************************************************************
 
@@ -52,6 +54,13 @@ public final class Gasket
 	public static final GLUT	MYGLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	DENSITY_STEP = 1 << 22;	// Points per frame
+	private static final long	DENSITY_CAP = 1L << 30;	// Points in all
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -68,6 +77,8 @@ public final class Gasket
 	private double				c = 0.0;		// Cosine of angle
 	private int				cmode = 0;		// Color mode [0-2]
 	private int				vmode = 0;		// Vertex mode [0-2]
+	private final ChaosGame	gasket = new ChaosGame();	// Points
+	private DensityImage		density;		// With --density, instead
 
 	//**********************************************************************
 	// Main
@@ -84,6 +95,11 @@ public final class Gasket
 
 	public Gasket(String[] args)
 	{
+		gasket.setTriangle(0.0, 0.0, 1.0, 0.0, 0.0, 1.0);	// Unit triangle
+
+		for (String arg : args)
+			if ("--density".equals(arg))
+				density = new DensityImage(750, 750);	// Over unit square
 	}
 
 	//**********************************************************************
@@ -141,6 +157,11 @@ public final class Gasket
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		gasket.dispose(drawable.getGL().getGL2());
+
+		if (density != null)
+			density.dispose(drawable.getGL().getGL2());
+
 		renderer = null;
 	}
 
@@ -183,6 +204,23 @@ public final class Gasket
 
 			//System.out.println("CMode: " + cmode + " VMode: " + vmode);
 		}
+
+		// Count more points into the density image, up to its cap
+		if (density != null)
+		{
+			density.setSize(Math.max(w, 1), Math.max(h, 1));
+
+			if (density.getPoints() < DENSITY_CAP)
+				density.accumulate(gasket, DENSITY_STEP);
+
+			return;
+		}
+
+		// Add only the new gasket points, starting over at the cap
+		if (m == 1)
+			gasket.clear();
+
+		gasket.extend(m);
 	}
 
 	// Render the scene model and display the current animation frame.
@@ -251,29 +289,19 @@ public final class Gasket
 	// en.wikipedia.org/wiki/Sierpinski_triangle
 	private void	drawSierpinskiTriangle(GL2 gl)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
-		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
-
 		Point2D.Double[]	t = new Point2D.Double[3];
-		Point2D.Double		p = new Point2D.Double(c, c);
 
 		calcVertices(t, vmode);
 
-		p.x = t[0].x;							// Initial x coordinate
-		p.y = t[0].y;							// Initial y coordinate
-
-		for (int i=0; i<m; i++)				// Draw m points
-		{
-			int	index = RANDOM.nextInt(3);
-
-			p.x = (p.x + t[index].x) / 2;		// Fold x,y inside base triangle
-			p.y = (p.y + t[index].y) / 2;		// relative to a random vertex.
-			//System.out.println(" " + index + " " + p.x + " " + p.y);
-
-			gl.glVertex2d(p.x, p.y);
-		}
+		// Map the points for the unit triangle onto the base triangle
+		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
 
-		gl.glEnd();
+		if (density != null)
+			density.drawOnto(gl, t[0].x, t[0].y, t[1].x, t[1].y,
+							 t[2].x, t[2].y);
+		else
+			gasket.drawOnto(gl, t[0].x, t[0].y, t[1].x, t[1].y,
+							t[2].x, t[2].y);
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -284,7 +312,9 @@ public final class Gasket
 		renderer.beginRendering(w, h);
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
 		renderer.draw("Sierpinski Gasket (CMode: " + cmode +
-					  " VMode: " + vmode + " Points: " + m + ")", 2, h - 14);
+					  " VMode: " + vmode + " Points: " +
+					  ((density != null) ? density.getPoints() : m) + ")",
+					  2, h - 14);
 		renderer.endRendering();
 	}
 
@@ -33,6 +33,10 @@ import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.attractor.FlowSource;
+import edu.ou.cs.cg.integration.*;
+import edu.ou.cs.cg.utilities.DensityImage;
+import edu.ou.cs.cg.utilities.PointBuffer;
 
 //******************************************************************************
 
@@ -52,6 +56,18 @@ public final class Lorenz
 	public static final GLUT	MYGLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	DENSITY_STEP = 1 << 18;	// Points per frame
+	private static final long	DENSITY_CAP = 1L << 27;	// Points in all
+
+	private static final int	ENSEMBLE = 1 << 20;		// Trajectories
+	private static final int	TRAILS = 8;				// Frames of trail
+	private static final double	ENSEMBLE_DT = 0.005;	// Integration step
+	private static final int	ENSEMBLE_STEPS = 2;		// Steps per frame
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -63,6 +79,23 @@ public final class Lorenz
 	private TextRenderer		renderer;
 
 	private int				m = 1;			// Number of points to draw
+	private final PointBuffer	points = new PointBuffer(true);	// So far
+
+	// Adaptive integration, with points about as far apart as Euler steps
+	// of 0.01 were, so the picture looks the same with fewer evaluations
+	private final Tracer		tracer = new Tracer(
+		new DormandPrince(new LorenzSystem(), 1.0e-6, 0.05), 0.75);
+	private double[]			xyz = new double[3 * 256];	// Scratch
+
+	// With --density, trajectories counted into an image instead
+	private DensityImage		density;
+	private FlowSource			flow;
+
+	// With --ensemble, a cloud of trajectories advanced together instead,
+	// with their positions for the last frame, or last few with --trails
+	private LorenzEnsemble		ensemble;
+	private PointBuffer[]		trail;
+	private int				newest;			// Index in trail
 
 	//**********************************************************************
 	// Main
@@ -77,8 +110,47 @@ public final class Lorenz
 	// Constructors and Finalizer
 	//**********************************************************************
 
+	// Arguments are --density, or --ensemble with an optional number of
+	// trajectories and --trails.
 	public Lorenz(String[] args)
 	{
+		boolean	cloud = false;
+		int		count = ENSEMBLE;
+		int		frames = 1;
+
+		for (String arg : args)
+		{
+			if ("--density".equals(arg))
+			{
+				density = new DensityImage(1280, 720);
+				density.setWindow(-30.0, -30.0, 30.0, 30.0);
+				flow = new FlowSource(new LorenzSystem(),
+									  new double[] { 0.1, 0.0, 0.0 },
+									  1.0e-6, 0.05, 0.75);
+			}
+			else if ("--ensemble".equals(arg))
+			{
+				cloud = true;
+			}
+			else if ("--trails".equals(arg))
+			{
+				frames = TRAILS;
+			}
+			else
+			{
+				count = Integer.parseInt(arg);
+			}
+		}
+
+		if (cloud && density == null)
+		{
+			ensemble = new LorenzEnsemble(count);
+			ensemble.seed(0.1, 0.0, 0.0, 0.5, RANDOM.nextLong());
+			trail = new PointBuffer[frames];
+
+			for (int i=0; i<frames; i++)
+				trail[i] = new PointBuffer(false);
+		}
 	}
 
 	//**********************************************************************
@@ -136,6 +208,15 @@ public final class Lorenz
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		points.dispose(drawable.getGL().getGL2());
+
+		if (density != null)
+			density.dispose(drawable.getGL().getGL2());
+
+		if (ensemble != null)
+			for (PointBuffer b : trail)
+				b.dispose(drawable.getGL().getGL2());
+
 		renderer = null;
 	}
 
@@ -162,12 +243,39 @@ public final class Lorenz
 	{
 		k++;									// Advance animation counter
 
+		if (density != null)
+		{
+			density.setSize(Math.max(w, 1), Math.max(h, 1));
+
+			if (density.getPoints() < DENSITY_CAP)
+				density.accumulate(flow, DENSITY_STEP);
+
+			return;
+		}
+
+		if (ensemble != null)
+		{
+			ensemble.step(ENSEMBLE_DT, ENSEMBLE_STEPS);
+
+			// Replace the oldest positions in the trail with the newest
+			int	n = ensemble.size();
+
+			newest = (newest + 1) % trail.length;
+			trail[newest].clear();
+			ensemble.project(trail[newest].reserve(n), 1.0 / 30.0);
+			trail[newest].setSize(n);
+
+			return;
+		}
+
 		if (m > 100000)						// Check point cap
 			m = 1;								// Reset point count
 		else
 			m++;								// Faster increase at low counts
 
 		m = (int)Math.floor(m * 1.01) + 1;		// Increase point count
+
+		integrateLorenzAttractor();				// Add only the new points
 	}
 
 	// Render the scene model and display the current animation frame.
@@ -209,34 +317,63 @@ public final class Lorenz
 	// www.algosome.com/articles/lorenz-attractor-programming-code.html
 	private void	drawLorenzAttractor(GL2 gl)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
+		if (density != null)
+		{
+			gl.glColor3f(1.0f, 1.0f, 1.0f);	// White, by density
+			density.drawOnto(gl, -1.0, -1.0, 1.0, -1.0, -1.0, 1.0);
+			return;
+		}
+
+		if (ensemble != null)
+		{
+			gl.glEnable(GL.GL_BLEND);
+			gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+
+			// Oldest first, fading out with age
+			for (int i=1; i<=trail.length; i++)
+			{
+				float	a = (float)i / trail.length;
+
+				gl.glColor4f(1.0f, 1.0f, 1.0f, a);
+				trail[(newest + i) % trail.length].draw(gl);
+			}
+
+			gl.glDisable(GL.GL_BLEND);
+			return;
+		}
 
-		double		dt = 0.01;					// Integration step size
-		double		sigma = 10.0;				// Constant for updating x
-		double		rho = 28.0;				// Constant for updating y
-		double		beta = 8.0 / 3.0;			// Constant for updating z
-		double		lx = 0.1;					// Initial x coordinate
-		double		ly = 0.0;					// Initial y coordinate
-		double		lz = 0.0;					// Initial z coordinate
+		points.draw(gl);						// Gray, depth-scaled
+	}
 
-		for (int i=0; i<m; i++)
+	// Traces the points from the last one up to m, starting over when m
+	// falls below the number of points so far.
+	private void	integrateLorenzAttractor()
+	{
+		if (m < points.size() || points.size() == 0)
 		{
-			double	llx = lx + dt * sigma * (ly - lx);
-			double	lly = ly + dt * (lx * (rho - lz) - ly);
-			double	llz = lz + dt * (lx * ly - beta * lz);
+			points.clear();
+			tracer.start(0.0, new double[] { 0.1, 0.0, 0.0 }, 0.01);
+		}
+
+		int	count = m - points.size();
+
+		if (count <= 0)
+			return;
 
-			lx = llx;
-			ly = lly;
-			lz = llz;
-			//System.out.println(" " + lx + " " + ly + " " + lz);
+		if (xyz.length < 3 * count)
+			xyz = new double[Math.max(3 * count, 2 * xyz.length)];
 
+		tracer.next(xyz, 0, count);
+
+		for (int i=0; i<count; i++)
+		{
+			double	lx = xyz[3 * i];
+			double	ly = xyz[3 * i + 1];
+			double	lz = xyz[3 * i + 2];
 			float	cc = (float)((lz + 30.0) / 60.0);
 
-			gl.glColor3f(cc, cc, cc);			// Draw in gray, depth-scaled
-			gl.glVertex2d(lx / 30.0, ly / 30.0);
+			points.add(lx / 30.0, ly / 30.0, cc, cc, cc);
 		}
-
-		gl.glEnd();
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -246,7 +383,17 @@ public final class Lorenz
 	{
 		renderer.beginRendering(w, h);
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
-		renderer.draw("Lorenz Attractor (Points: " + m + ")", 2, h - 14);
+
+		if (ensemble != null)
+			renderer.draw("Lorenz Ensemble (Trajectories: " +
+						  ensemble.size() + " Time: " +
+						  String.format("%.2f", ensemble.getTime()) + ")",
+						  2, h - 14);
+		else
+			renderer.draw("Lorenz Attractor (Points: " +
+						  ((density != null) ? density.getPoints() : m) +
+						  ")", 2, h - 14);
+
 		renderer.endRendering();
 	}
 }
@@ -34,6 +34,7 @@ import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.*;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.Tessellation;
 
 //******************************************************************************
 
@@ -66,6 +67,7 @@ public final class Polygons
 
 	private float				thickline;		// Line thickness
 	private boolean			fillpolys;		// Fill polygons?
+	private double[]			arc;			// Scratch arc points
 
 	//**********************************************************************
 	// Main
@@ -484,16 +486,14 @@ public final class Polygons
 
 		setColor(gl, 224, 80, 48);				// Bright red
 
+		arc = Tessellation.arc(cx, cy, r, min, sides(step), fans, arc);
+
 		gl.glBegin(GL2.GL_TRIANGLE_FAN);
 
 		gl.glVertex2d(cx, cy);
 
 		for (int i=0; i<=fans; i++)
-		{
-			double	a = min + step * i;
-
-			gl.glVertex2d(cx + r * Math.cos(a), cy + r * Math.sin(a));
-		}
+			gl.glVertex2d(arc[2 * i], arc[2 * i + 1]);
 
 		gl.glEnd();
 	}
@@ -506,16 +506,15 @@ public final class Polygons
 
 		gl.glLineWidth(thickline);
 
-		double	a = min;
+		arc = Tessellation.arc(cx, cy, r, min, sides(step), fans, arc);
 
 		for (int i=0; i<fans; i++)
 		{
 			gl.glBegin(GL.GL_LINE_LOOP);
 
 			gl.glVertex2d(cx, cy);
-			gl.glVertex2d(cx + r * Math.cos(a), cy + r * Math.sin(a));
-			a += step;
-			gl.glVertex2d(cx + r * Math.cos(a), cy + r * Math.sin(a));
+			gl.glVertex2d(arc[2 * i], arc[2 * i + 1]);
+			gl.glVertex2d(arc[2 * i + 2], arc[2 * i + 3]);
 
 			gl.glEnd();
 		}
@@ -532,11 +531,13 @@ public final class Polygons
 
 		setColor(gl, 48, 80, 224);				// Bright blue
 
+		arc = Tessellation.arc(cx, cy, r, a1, sides(a2 - a1), 1, arc);
+
 		gl.glBegin(GL2.GL_POLYGON);
 
 		gl.glVertex2d(cx, cy);
-		gl.glVertex2d(cx + r * Math.cos(a1), cy + r * Math.sin(a1));
-		gl.glVertex2d(cx + r * Math.cos(a2), cy + r * Math.sin(a2));
+		gl.glVertex2d(arc[0], arc[1]);
+		gl.glVertex2d(arc[2], arc[3]);
 
 		gl.glEnd();
 	}
@@ -549,17 +550,26 @@ public final class Polygons
 
 		gl.glLineWidth(thickline);
 
+		arc = Tessellation.arc(cx, cy, r, a1, sides(a2 - a1), 1, arc);
+
 		gl.glBegin(GL.GL_LINE_LOOP);
 
 		gl.glVertex2d(cx, cy);
-		gl.glVertex2d(cx + r * Math.cos(a1), cy + r * Math.sin(a1));
-		gl.glVertex2d(cx + r * Math.cos(a2), cy + r * Math.sin(a2));
+		gl.glVertex2d(arc[0], arc[1]);
+		gl.glVertex2d(arc[2], arc[3]);
 
 		gl.glEnd();
 
 		gl.glLineWidth(1.0f);
 	}
 
+	// Kite blades are whole fractions of a turn, so the tessellation tables
+	// for that fraction have exactly the points needed.
+	private static int	sides(double step)
+	{
+		return (int)Math.round(2.0 * Math.PI / step);
+	}
+
 	//**********************************************************************
 	// Private Methods (Utility Functions)
 	//**********************************************************************
@@ -33,6 +33,7 @@ import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.ChaosGame;
 
 //******************************************************************************
 
@@ -68,6 +69,7 @@ public final class Viewgrid
 	private double				c = 0.0;		// Cosine of angle
 	private int				cmode = 0;		// Color mode [0-2]
 	private int				vmode = 0;		// Vertex mode [0-2]
+	private final ChaosGame	gasket = new ChaosGame();	// Points
 
 	//**********************************************************************
 	// Main
@@ -84,6 +86,7 @@ public final class Viewgrid
 
 	public Viewgrid(String[] args)
 	{
+		gasket.setTriangle(0.0, 0.0, 1.0, 0.0, 0.0, 1.0);	// Unit triangle
 	}
 
 	//**********************************************************************
@@ -141,6 +144,7 @@ public final class Viewgrid
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		gasket.dispose(drawable.getGL().getGL2());
 		renderer = null;
 	}
 
@@ -183,6 +187,12 @@ public final class Viewgrid
 
 			//System.out.println("CMode: " + cmode + " VMode: " + vmode);
 		}
+
+		// Add only the new gasket points, starting over at the cap
+		if (m == 1)
+			gasket.clear();
+
+		gasket.extend(m);
 	}
 
 	// Render the scene model and display the current animation frame.
@@ -275,29 +285,13 @@ public final class Viewgrid
 	// en.wikipedia.org/wiki/Sierpinski_triangle
 	private void	drawSierpinskiTriangle(GL2 gl)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
-		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
-
 		Point2D.Double[]	t = new Point2D.Double[3];
-		Point2D.Double		p = new Point2D.Double(c, c);
 
 		calcVertices(t, vmode);
 
-		p.x = t[0].x;							// Initial x coordinate
-		p.y = t[0].y;							// Initial y coordinate
-
-		for (int i=0; i<m; i++)
-		{
-			int	index = RANDOM.nextInt(3);
-
-			p.x = (p.x + t[index].x) / 2;		// Fold x,y inside base triable
-			p.y = (p.y + t[index].y) / 2;		// relative to a random vertex.
-			//System.out.println(" " + index + " " + p.x + " " + p.y);
-
-			gl.glVertex2d(p.x, p.y);
-		}
-
-		gl.glEnd();
+		// Map the points for the unit triangle onto the base triangle
+		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
+		gasket.drawOnto(gl, t[0].x, t[0].y, t[1].x, t[1].y, t[2].x, t[2].y);
 	}
 
 	private void	drawBounds(GL2 gl, float xmin, float xmax,
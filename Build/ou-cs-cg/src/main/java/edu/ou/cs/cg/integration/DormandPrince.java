@@ -0,0 +1,276 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 12:06:15 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The Dormand-Prince 5(4) method, the adaptive Runge-Kutta pair behind most
+// RK45 solvers. Each step gives a fifth-order result and a fourth-order one
+// from the same six evaluations, and their difference estimates the error of
+// the step. A step whose error is over the tolerance is taken again, shorter.
+// Either way the next step is sized from the error, so steps stay long where
+// the trajectory is gentle and shorten where it turns. A step that had to be
+// taken again does not suggest a longer one after it.
+//
+// A step whose error is not a number, as when a trial state overflows, is
+// taken again at the shortest it may shrink to. If it gets too short to
+// shorten and the error is still not a number, step() throws an
+// ArithmeticException rather than go on with a NaN state.
+//
+// The error is measured against the tolerance in both absolute and relative
+// terms, tolerance * (1 + |y|) per value, as a root mean square. Steps are
+// never longer than the maximum step, which keeps points from being too far
+// apart to draw a smooth curve through.
+//
+// The seventh evaluation is at the end of the step, so it is remembered as
+// the first evaluation of the next one ("first same as last").
+//
+// This page is helpful:
+// en.wikipedia.org/wiki/Dormand%E2%80%93Prince_method
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>DormandPrince</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class DormandPrince extends Integrator
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Tableau
+	private static final double	C2 = 1.0 / 5.0;
+	private static final double	C3 = 3.0 / 10.0;
+	private static final double	C4 = 4.0 / 5.0;
+	private static final double	C5 = 8.0 / 9.0;
+
+	private static final double	A21 = 1.0 / 5.0;
+	private static final double	A31 = 3.0 / 40.0;
+	private static final double	A32 = 9.0 / 40.0;
+	private static final double	A41 = 44.0 / 45.0;
+	private static final double	A42 = -56.0 / 15.0;
+	private static final double	A43 = 32.0 / 9.0;
+	private static final double	A51 = 19372.0 / 6561.0;
+	private static final double	A52 = -25360.0 / 2187.0;
+	private static final double	A53 = 64448.0 / 6561.0;
+	private static final double	A54 = -212.0 / 729.0;
+	private static final double	A61 = 9017.0 / 3168.0;
+	private static final double	A62 = -355.0 / 33.0;
+	private static final double	A63 = 46732.0 / 5247.0;
+	private static final double	A64 = 49.0 / 176.0;
+	private static final double	A65 = -5103.0 / 18656.0;
+
+	// Fifth-order weights, which are also the last row of the tableau
+	private static final double	B1 = 35.0 / 384.0;
+	private static final double	B3 = 500.0 / 1113.0;
+	private static final double	B4 = 125.0 / 192.0;
+	private static final double	B5 = -2187.0 / 6784.0;
+	private static final double	B6 = 11.0 / 84.0;
+
+	// Fifth-order weights less fourth-order weights, for the error
+	private static final double	E1 = 71.0 / 57600.0;
+	private static final double	E3 = -71.0 / 16695.0;
+	private static final double	E4 = 71.0 / 1920.0;
+	private static final double	E5 = -17253.0 / 339200.0;
+	private static final double	E6 = 22.0 / 525.0;
+	private static final double	E7 = -1.0 / 40.0;
+
+	// How much a step may shrink or grow at once, and a margin of safety
+	private static final double	SHRINK = 0.2;
+	private static final double	GROW = 5.0;
+	private static final double	SAFETY = 0.9;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private double				tolerance;
+	private double				maxStep;
+
+	private final double[]	k1;
+	private final double[]	k2;
+	private final double[]	k3;
+	private final double[]	k4;
+	private final double[]	k5;
+	private final double[]	k6;
+	private final double[]	k7;
+	private final double[]	tmp;
+
+	private double				next;			// Step suggested by the last
+	private long				rejected;		// Steps taken again
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public DormandPrince(OdeSystem system, double tolerance, double maxStep)
+	{
+		super(system);
+
+		setTolerance(tolerance);
+		setMaxStep(maxStep);
+
+		k1 = new double[n];
+		k2 = new double[n];
+		k3 = new double[n];
+		k4 = new double[n];
+		k5 = new double[n];
+		k6 = new double[n];
+		k7 = new double[n];
+		tmp = new double[n];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public double	getTolerance()
+	{
+		return tolerance;
+	}
+
+	public void	setTolerance(double tolerance)
+	{
+		if (!(tolerance > 0.0))
+			throw new IllegalArgumentException("Tolerance must be positive");
+
+		this.tolerance = tolerance;
+	}
+
+	public double	getMaxStep()
+	{
+		return maxStep;
+	}
+
+	public void	setMaxStep(double maxStep)
+	{
+		if (!(maxStep > 0.0))
+			throw new IllegalArgumentException("Maximum step must be positive");
+
+		this.maxStep = maxStep;
+	}
+
+	// Returns the number of steps that were over the tolerance.
+	public long	getRejected()
+	{
+		return rejected;
+	}
+
+	//**********************************************************************
+	// Override Methods (Integrator)
+	//**********************************************************************
+
+	public double	getNextStep(double h)
+	{
+		return ((next > 0.0) ? next : h);
+	}
+
+	public double	step(double t, double[] y, double h)
+	{
+		if (!(h > 0.0))
+			throw new IllegalArgumentException("Step must be positive: " + h);
+
+		h = Math.min(h, maxStep);
+
+		derivative(t, y, k1);
+
+		for (boolean retry=false; ; retry=true)
+		{
+			for (int i=0; i<n; i++)
+				tmp[i] = y[i] + h * A21 * k1[i];
+
+			evaluate(t + C2 * h, tmp, k2);
+
+			for (int i=0; i<n; i++)
+				tmp[i] = y[i] + h * (A31 * k1[i] + A32 * k2[i]);
+
+			evaluate(t + C3 * h, tmp, k3);
+
+			for (int i=0; i<n; i++)
+				tmp[i] = y[i] + h * (A41 * k1[i] + A42 * k2[i] + A43 * k3[i]);
+
+			evaluate(t + C4 * h, tmp, k4);
+
+			for (int i=0; i<n; i++)
+				tmp[i] = y[i] + h * (A51 * k1[i] + A52 * k2[i] +
+									 A53 * k3[i] + A54 * k4[i]);
+
+			evaluate(t + C5 * h, tmp, k5);
+
+			for (int i=0; i<n; i++)
+				tmp[i] = y[i] + h * (A61 * k1[i] + A62 * k2[i] +
+									 A63 * k3[i] + A64 * k4[i] + A65 * k5[i]);
+
+			evaluate(t + h, tmp, k6);
+
+			for (int i=0; i<n; i++)
+				tmp[i] = y[i] + h * (B1 * k1[i] + B3 * k3[i] + B4 * k4[i] +
+									 B5 * k5[i] + B6 * k6[i]);
+
+			evaluate(t + h, tmp, k7);
+
+			// Root mean square of the error, relative to the tolerance
+			double	sum = 0.0;
+
+			for (int i=0; i<n; i++)
+			{
+				double	e = h * (E1 * k1[i] + E3 * k3[i] + E4 * k4[i] +
+								 E5 * k5[i] + E6 * k6[i] + E7 * k7[i]);
+				double	s = tolerance * (1.0 + Math.max(Math.abs(y[i]),
+														Math.abs(tmp[i])));
+
+				sum += (e / s) * (e / s);
+			}
+
+			double	err = Math.sqrt(sum / n);
+
+			if (Double.isNaN(err))
+			{
+				if (h * SHRINK <= 16.0 * Math.ulp(t))
+					throw new ArithmeticException("Step error is NaN at t = " +
+												  t);
+
+				rejected++;
+				h *= SHRINK;
+				continue;
+			}
+
+			double	factor = ((err > 0.0) ? SAFETY * Math.pow(err, -0.2)
+										  : GROW);
+
+			factor = Math.max(SHRINK, Math.min(GROW, factor));
+
+			// Accept a step within the tolerance, or too short to shorten
+			if (err <= 1.0 || h * factor <= 16.0 * Math.ulp(t))
+			{
+				System.arraycopy(tmp, 0, y, 0, n);
+				remember(t + h, y, k7);
+				next = Math.min(h * (retry ? Math.min(1.0, factor) : factor),
+								maxStep);
+
+				return h;
+			}
+
+			rejected++;
+			h *= Math.max(SHRINK, Math.min(1.0, factor));
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,65 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 23:24:11 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Forward Euler, y += h f(t, y). First order, with one evaluation per step.
+// It gains energy on the Lorenz attractor, so it needs small steps to stay
+// near it.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Euler</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Euler extends Integrator
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double[]	k;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Euler(OdeSystem system)
+	{
+		super(system);
+
+		k = new double[n];
+	}
+
+	//**********************************************************************
+	// Override Methods (Integrator)
+	//**********************************************************************
+
+	public double	step(double t, double[] y, double h)
+	{
+		derivative(t, y, k);
+
+		for (int i=0; i<n; i++)
+			y[i] += h * k[i];
+
+		return h;
+	}
+}
+
+//******************************************************************************
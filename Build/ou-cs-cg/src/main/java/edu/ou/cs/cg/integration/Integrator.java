@@ -0,0 +1,171 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 23:21:37 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The base class of the integrators, which advance the state of an OdeSystem
+// one step at a time, in place. Each integrator is made for one system and
+// keeps its scratch arrays, so stepping allocates nothing. It counts how many
+// times it evaluated the system, which is what most of its time goes to.
+//
+// An adaptive integrator may take a shorter step than asked, when the step
+// asked for would be less accurate than its tolerance, and suggests the step
+// to try next. Fixed-step integrators always take the step asked for.
+//
+// Every method needs dy/dt at the start of a step, which is also the end of
+// the step before. So each integrator remembers the last derivative it
+// evaluated, and derivative() hands it back for the same time and state
+// instead of evaluating again. A Tracer asks for the derivative at the end
+// of each step for its curves, and gets the start of the next one for free.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Integrator</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public abstract class Integrator
+{
+	//**********************************************************************
+	// Protected Members
+	//**********************************************************************
+
+	protected final OdeSystem	system;
+	protected final int		n;				// Dimension of the state
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private long				evaluations;
+
+	// The last derivative evaluated, and where
+	private final double[]	lastY;
+	private final double[]	lastF;
+	private double				lastT = Double.NaN;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	protected Integrator(OdeSystem system)
+	{
+		this.system = system;
+		this.n = system.getDimension();
+
+		lastY = new double[n];
+		lastF = new double[n];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public OdeSystem	getSystem()
+	{
+		return system;
+	}
+
+	// Returns the number of times the system has been evaluated.
+	public long	getEvaluations()
+	{
+		return evaluations;
+	}
+
+	// Returns the step to try after a step of h. Adaptive integrators
+	// override this with the step their error estimate suggests.
+	public double	getNextStep(double h)
+	{
+		return h;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Advances y in place from time t by a step of at most h, and returns
+	// the step taken.
+	public abstract double	step(double t, double[] y, double h);
+
+	// Writes dy/dt at time t and state y, evaluating the system only if it
+	// was not the last derivative evaluated.
+	public final void	derivative(double t, double[] y, double[] dydt)
+	{
+		if (t == lastT && same(y))
+		{
+			System.arraycopy(lastF, 0, dydt, 0, n);
+			return;
+		}
+
+		evaluate(t, y, dydt);
+		remember(t, y, dydt);
+	}
+
+	// Takes count steps from time t, starting with a step of h, and writes
+	// the state after each one into out, n values at a time from offset.
+	// Returns the time reached.
+	public double	trace(double t, double[] y, double h, int count,
+						  double[] out, int offset)
+	{
+		for (int i=0; i<count; i++)
+		{
+			double	taken = step(t, y, h);
+
+			t += taken;
+			h = getNextStep(taken);
+
+			System.arraycopy(y, 0, out, offset + n * i, n);
+		}
+
+		return t;
+	}
+
+	//**********************************************************************
+	// Protected Methods
+	//**********************************************************************
+
+	// Evaluates the system, counting the evaluation.
+	protected final void	evaluate(double t, double[] y, double[] dydt)
+	{
+		system.evaluate(t, y, dydt);
+		evaluations++;
+	}
+
+	// Keeps dy/dt at time t and state y for derivative() to hand back.
+	protected final void	remember(double t, double[] y, double[] dydt)
+	{
+		System.arraycopy(y, 0, lastY, 0, n);
+		System.arraycopy(dydt, 0, lastF, 0, n);
+		lastT = t;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private boolean	same(double[] y)
+	{
+		for (int i=0; i<n; i++)
+			if (y[i] != lastY[i])
+				return false;
+
+		return true;
+	}
+}
+
+//******************************************************************************
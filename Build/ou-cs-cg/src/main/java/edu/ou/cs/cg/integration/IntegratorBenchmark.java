@@ -0,0 +1,192 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 03:22:45 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Compares the integrators on the Lorenz system from (0.1, 0, 0), as the
+// Lorenz example and the homework 3 galaxy trace it. Needs no display. Run
+// it with
+//
+//   IntegratorBenchmark [time] [trajectories]
+//
+// For each integrator and step or tolerance, it reports:
+//
+//   - steps/s:  steps per second, over many traces to the time (5 by
+//               default)
+//   - evals:    evaluations of the system to get to the time
+//   - error:    distance from a reference trajectory at the time, traced by
+//               Dormand-Prince with a tolerance of 1e-13
+//   - per pt:   evaluations per point, for the 10000 points of the galaxy
+//               traced by a Tracer at even spacing
+//
+// Then it times a LorenzEnsemble (of 2^20 trajectories by default) taking
+// RK4 steps of 0.005, two per frame as the Lorenz example does, and reports
+// the time per frame and the trajectory steps per second.
+//
+// The Lorenz system is chaotic, so errors grow about e^0.9 times per unit of
+// time. Past a time of 30 or so, every trajectory is as far from the
+// reference as it can be, and only the picture of the attractor is left to
+// compare.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+import java.util.concurrent.ForkJoinPool;
+
+//******************************************************************************
+
+/**
+ * The <CODE>IntegratorBenchmark</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class IntegratorBenchmark
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final double[]	START = { 0.1, 0.0, 0.0 };
+	private static final int		POINTS = 10000;		// As in the galaxy
+	private static final double	SPACING = 0.75;		// Of Euler at 0.01
+	private static final long		RUN = 500000000L;	// Nanoseconds each
+	private static final int		FRAMES = 100;		// Of the ensemble
+
+	//**********************************************************************
+	// Main
+	//**********************************************************************
+
+	public static void	main(String[] args)
+	{
+		double			time = ((args.length > 0) ?
+								Double.parseDouble(args[0]) : 5.0);
+		int				trajectories = ((args.length > 1) ?
+										Integer.parseInt(args[1]) : 1 << 20);
+		LorenzSystem	system = new LorenzSystem();
+		double[]		reference = START.clone();
+
+		trace(new DormandPrince(system, 1.0e-13, 0.01), reference, time,
+			  0.001);
+
+		System.out.println("Lorenz from (0.1, 0, 0) to t = " + time);
+		System.out.printf("%-22s %12s %10s %12s %8s%n", "integrator",
+						  "steps/s", "evals", "error", "per pt");
+
+		run("Euler h=0.01", new Euler(system), 0.01, time, reference);
+		run("Euler h=0.001", new Euler(system), 0.001, time, reference);
+		run("RK4 h=0.01", new RungeKutta4(system), 0.01, time, reference);
+		run("RK4 h=0.05", new RungeKutta4(system), 0.05, time, reference);
+		run("DP tol=1e-4", new DormandPrince(system, 1.0e-4, 0.05), 0.01,
+			time, reference);
+		run("DP tol=1e-6", new DormandPrince(system, 1.0e-6, 0.05), 0.01,
+			time, reference);
+		run("DP tol=1e-9", new DormandPrince(system, 1.0e-9, 0.05), 0.01,
+			time, reference);
+
+		ensemble(trajectories);
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static void	run(String name, Integrator integrator, double h,
+							double time, double[] reference)
+	{
+		double[]	y = START.clone();
+		long		e0 = integrator.getEvaluations();
+		long		steps = trace(integrator, y, time, h);
+		long		evals = integrator.getEvaluations() - e0;
+
+		// Trace over and over for long enough to time
+		long	total = 0L;
+		long	t0 = System.nanoTime();
+		long	t1;
+
+		do
+		{
+			System.arraycopy(START, 0, y, 0, START.length);
+			total += trace(integrator, y, time, h);
+			t1 = System.nanoTime();
+		}
+		while (t1 - t0 < RUN);
+
+		double	rate = total / ((t1 - t0) / 1.0e9);
+		double	error = 0.0;
+
+		for (int i=0; i<y.length; i++)
+			error += (y[i] - reference[i]) * (y[i] - reference[i]);
+
+		// Evaluations per point, at even spacing
+		Tracer		tracer = new Tracer(integrator, SPACING);
+		double[]	out = new double[START.length * POINTS];
+
+		e0 = integrator.getEvaluations();
+		tracer.start(0.0, START, h);
+		tracer.next(out, 0, POINTS);
+
+		double	perPoint = (integrator.getEvaluations() - e0) /
+			(double)POINTS;
+
+		System.out.printf("%-22s %12.0f %10d %12.3e %8.2f%n", name, rate,
+						  evals, Math.sqrt(error), perPoint);
+	}
+
+	private static void	ensemble(int trajectories)
+	{
+		LorenzEnsemble	ensemble = new LorenzEnsemble(trajectories);
+
+		ensemble.seed(0.1, 0.0, 0.0, 0.5, 1L);
+
+		for (int i=0; i<FRAMES / 4; i++)		// Warm up
+			ensemble.step(0.005, 2);
+
+		long	t0 = System.nanoTime();
+
+		for (int i=0; i<FRAMES; i++)
+			ensemble.step(0.005, 2);
+
+		long	t1 = System.nanoTime();
+		double	seconds = (t1 - t0) / 1.0e9;
+
+		System.out.printf("Ensemble of %d on %d threads: %.2f ms per frame, " +
+						  "%.0f steps/s%n", trajectories,
+						  ForkJoinPool.getCommonPoolParallelism(),
+						  seconds * 1.0e3 / FRAMES,
+						  2.0 * FRAMES * trajectories / seconds);
+	}
+
+	// Traces y from time zero to the time, ending on it exactly. Steps that
+	// add up to the time in rounding are taken to reach it. Returns the
+	// number of steps.
+	private static long	trace(Integrator integrator, double[] y, double time,
+							  double h)
+	{
+		double	t = 0.0;
+		long	steps = 0L;
+
+		while (time - t > 1.0e-9 * time)
+		{
+			double	taken = integrator.step(t, y, Math.min(h, time - t));
+
+			t += taken;
+
+			h = integrator.getNextStep(taken);
+			steps++;
+		}
+
+		return steps;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,294 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 03:04:18 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Advances many trajectories of the Lorenz system in lockstep, to show how
+// the flow spreads a cloud of starting points over the attractor.
+//
+// The trajectories are kept as a struct of arrays, one double[] each for x,
+// y, and z, rather than as an object per trajectory. Each step is one RK4
+// step for every trajectory, written out for the Lorenz system with no calls
+// and no branches, over consecutive array elements, so the JIT can compile it
+// into vector instructions. The arrays are split into runs of GRAIN
+// trajectories, stepped by a ForkJoinPool. A run does all the steps for a
+// frame at once, while its arrays are still in cache.
+//
+// Positions can be written out as x, y pairs for drawing, in parallel too.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+//******************************************************************************
+
+/**
+ * The <CODE>LorenzEnsemble</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class LorenzEnsemble
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	GRAIN = 1 << 14;	// Most trajectories per task
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final ForkJoinPool	pool;
+	private final int			n;				// Number of trajectories
+	private final double		sigma;			// Constant for updating x
+	private final double		rho;			// Constant for updating y
+	private final double		beta;			// Constant for updating z
+
+	// Trajectories, by index, and the time they are at
+	private final double[]	x;
+	private final double[]	y;
+	private final double[]	z;
+	private double				time;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public LorenzEnsemble(int n)
+	{
+		this(n, 10.0, 28.0, 8.0 / 3.0, ForkJoinPool.commonPool());
+	}
+
+	public LorenzEnsemble(int n, double sigma, double rho, double beta,
+						  ForkJoinPool pool)
+	{
+		if (n < 1)
+			throw new IllegalArgumentException("No trajectories");
+
+		this.pool = pool;
+		this.n = n;
+		this.sigma = sigma;
+		this.rho = rho;
+		this.beta = beta;
+
+		x = new double[n];
+		y = new double[n];
+		z = new double[n];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return n;
+	}
+
+	public double	getTime()
+	{
+		return time;
+	}
+
+	// Returns the x values of the trajectories. The array is live, so it
+	// changes with each step.
+	public double[]	getX()
+	{
+		return x;
+	}
+
+	public double[]	getY()
+	{
+		return y;
+	}
+
+	public double[]	getZ()
+	{
+		return z;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Starts the trajectories at random in a cube of the given half width
+	// around a point, at time zero. The same seed gives the same cloud.
+	public void	seed(double cx, double cy, double cz, double spread,
+					 long seed)
+	{
+		SplittableRandom	r = new SplittableRandom(seed);
+
+		for (int i=0; i<n; i++)
+		{
+			x[i] = cx + spread * (2.0 * r.nextDouble() - 1.0);
+			y[i] = cy + spread * (2.0 * r.nextDouble() - 1.0);
+			z[i] = cz + spread * (2.0 * r.nextDouble() - 1.0);
+		}
+
+		time = 0.0;
+	}
+
+	// Takes the given number of RK4 steps of h for every trajectory. Returns
+	// when all are done.
+	public void	step(double h, int steps)
+	{
+		pool.invoke(new Step(0, n, h, steps));
+		time += h * steps;
+	}
+
+	// Writes each trajectory's x and y, times the scale, into out as pairs
+	// from index zero.
+	public void	project(FloatBuffer out, double scale)
+	{
+		pool.invoke(new Project(out, 0, n, scale));
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// The RK4 steps for trajectories from one index up to another. Each
+	// stage is written out in full, so the loop body is plain arithmetic.
+	private void	advance(int from, int to, double h, int steps)
+	{
+		double	s = sigma;
+		double	r = rho;
+		double	b = beta;
+		double	h2 = 0.5 * h;
+		double	h6 = h / 6.0;
+
+		for (int k=0; k<steps; k++)
+		{
+			for (int i=from; i<to; i++)
+			{
+				double	x0 = x[i];
+				double	y0 = y[i];
+				double	z0 = z[i];
+
+				double	ax = s * (y0 - x0);
+				double	ay = x0 * (r - z0) - y0;
+				double	az = x0 * y0 - b * z0;
+
+				double	x1 = x0 + h2 * ax;
+				double	y1 = y0 + h2 * ay;
+				double	z1 = z0 + h2 * az;
+
+				double	bx = s * (y1 - x1);
+				double	by = x1 * (r - z1) - y1;
+				double	bz = x1 * y1 - b * z1;
+
+				double	x2 = x0 + h2 * bx;
+				double	y2 = y0 + h2 * by;
+				double	z2 = z0 + h2 * bz;
+
+				double	cx = s * (y2 - x2);
+				double	cy = x2 * (r - z2) - y2;
+				double	cz = x2 * y2 - b * z2;
+
+				double	x3 = x0 + h * cx;
+				double	y3 = y0 + h * cy;
+				double	z3 = z0 + h * cz;
+
+				double	dx = s * (y3 - x3);
+				double	dy = x3 * (r - z3) - y3;
+				double	dz = x3 * y3 - b * z3;
+
+				x[i] = x0 + h6 * (ax + 2.0 * (bx + cx) + dx);
+				y[i] = y0 + h6 * (ay + 2.0 * (by + cy) + dy);
+				z[i] = z0 + h6 * (az + 2.0 * (bz + cz) + dz);
+			}
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Steps the trajectories from one index up to another, splitting them
+	// among tasks of at most GRAIN trajectories.
+	private final class Step extends RecursiveAction
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final int		from;
+		private final int		to;
+		private final double	h;
+		private final int		steps;
+
+		public Step(int from, int to, double h, int steps)
+		{
+			this.from = from;
+			this.to = to;
+			this.h = h;
+			this.steps = steps;
+		}
+
+		protected void	compute()
+		{
+			if (to - from > GRAIN)
+			{
+				int	mid = (from + to) >>> 1;
+
+				invokeAll(new Step(from, mid, h, steps),
+						  new Step(mid, to, h, steps));
+				return;
+			}
+
+			advance(from, to, h, steps);
+		}
+	}
+
+	// Writes the positions from one index up to another.
+	private final class Project extends RecursiveAction
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final FloatBuffer	out;
+		private final int			from;
+		private final int			to;
+		private final double		scale;
+
+		public Project(FloatBuffer out, int from, int to, double scale)
+		{
+			this.out = out;
+			this.from = from;
+			this.to = to;
+			this.scale = scale;
+		}
+
+		protected void	compute()
+		{
+			if (to - from > GRAIN)
+			{
+				int	mid = (from + to) >>> 1;
+
+				invokeAll(new Project(out, from, mid, scale),
+						  new Project(out, mid, to, scale));
+				return;
+			}
+
+			for (int i=from; i<to; i++)
+			{
+				out.put(2 * i, (float)(x[i] * scale));
+				out.put(2 * i + 1, (float)(y[i] * scale));
+			}
+		}
+	}
+}
+
+//******************************************************************************
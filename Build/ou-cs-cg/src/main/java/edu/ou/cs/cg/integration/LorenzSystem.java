@@ -0,0 +1,78 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 23:14:02 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The Lorenz system, dx/dt = sigma (y - x), dy/dt = x (rho - z) - y, and
+// dz/dt = x y - beta z. The classic constants give the butterfly attractor.
+//
+// These pages are helpful:
+// en.wikipedia.org/wiki/Lorenz_system
+// www.algosome.com/articles/lorenz-attractor-programming-code.html
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>LorenzSystem</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class LorenzSystem
+	implements OdeSystem
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double		sigma;			// Constant for updating x
+	private final double		rho;			// Constant for updating y
+	private final double		beta;			// Constant for updating z
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public LorenzSystem()
+	{
+		this(10.0, 28.0, 8.0 / 3.0);
+	}
+
+	public LorenzSystem(double sigma, double rho, double beta)
+	{
+		this.sigma = sigma;
+		this.rho = rho;
+		this.beta = beta;
+	}
+
+	//**********************************************************************
+	// Override Methods (OdeSystem)
+	//**********************************************************************
+
+	public int	getDimension()
+	{
+		return 3;
+	}
+
+	public void	evaluate(double t, double[] y, double[] dydt)
+	{
+		dydt[0] = sigma * (y[1] - y[0]);
+		dydt[1] = y[0] * (rho - y[2]) - y[1];
+		dydt[2] = y[0] * y[1] - beta * y[2];
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,44 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 23:12:40 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A system of ordinary differential equations, dy/dt = f(t, y), for the
+// integrators in this package. The state is a primitive array, so nothing
+// is allocated per evaluation.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>OdeSystem</CODE> interface.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public interface OdeSystem
+{
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Returns the number of values in the state.
+	public int	getDimension();
+
+	// Writes dy/dt at time t and state y into dydt.
+	public void	evaluate(double t, double[] y, double[] dydt);
+}
+
+//******************************************************************************
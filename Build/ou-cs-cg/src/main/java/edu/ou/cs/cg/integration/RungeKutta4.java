@@ -0,0 +1,88 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 23:27:45 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The classic fourth-order Runge-Kutta method, with four evaluations per
+// step. Its error per unit of time falls with the fourth power of the step,
+// so it can take steps several times longer than Euler for far less error.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>RungeKutta4</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class RungeKutta4 extends Integrator
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double[]	k1;
+	private final double[]	k2;
+	private final double[]	k3;
+	private final double[]	k4;
+	private final double[]	tmp;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public RungeKutta4(OdeSystem system)
+	{
+		super(system);
+
+		k1 = new double[n];
+		k2 = new double[n];
+		k3 = new double[n];
+		k4 = new double[n];
+		tmp = new double[n];
+	}
+
+	//**********************************************************************
+	// Override Methods (Integrator)
+	//**********************************************************************
+
+	public double	step(double t, double[] y, double h)
+	{
+		derivative(t, y, k1);
+
+		for (int i=0; i<n; i++)
+			tmp[i] = y[i] + 0.5 * h * k1[i];
+
+		evaluate(t + 0.5 * h, tmp, k2);
+
+		for (int i=0; i<n; i++)
+			tmp[i] = y[i] + 0.5 * h * k2[i];
+
+		evaluate(t + 0.5 * h, tmp, k3);
+
+		for (int i=0; i<n; i++)
+			tmp[i] = y[i] + h * k3[i];
+
+		evaluate(t + h, tmp, k4);
+
+		for (int i=0; i<n; i++)
+			y[i] += h / 6.0 * (k1[i] + 2.0 * k2[i] + 2.0 * k3[i] + k4[i]);
+
+		return h;
+	}
+}
+
+//******************************************************************************
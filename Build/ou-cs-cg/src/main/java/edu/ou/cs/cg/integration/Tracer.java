@@ -0,0 +1,258 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 11:58:41 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Traces a trajectory with an Integrator and emits points along it at even
+// spacing in arc length, rather than one per step. A fixed-step method puts
+// its points closer together where the trajectory slows, and an adaptive one
+// puts them wherever its steps happen to end, so neither draws evenly.
+//
+// Between the ends of each step the trajectory is taken to be the cubic
+// Hermite curve through both ends, with the derivatives there as tangents.
+// That is accurate to third order within the step, so steps can be much
+// longer than the spacing. The curve is measured by CHORDS chords, and each
+// point is put on the curve where the chords reach its arc length.
+//
+// A tracer keeps its place, so a picture can grow a few points at a time with
+// next(), at no more cost than tracing them all at once.
+//
+// A trajectory that takes MAX_STEPS steps without reaching the next point,
+// as at a fixed point or while closing in on one, stalls: every point from
+// then on is where it stopped, with no more steps, and isStalled() says so.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.integration;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Tracer</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Tracer
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	CHORDS = 8;			// Per step, to measure
+	private static final int	MAX_STEPS = 1 << 12;	// Per point
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final Integrator	integrator;
+	private final int			n;				// Dimension of the state
+	private final double		spacing;		// Arc length between points
+
+	// The step being traced along, from y0 at t to y1 at t + h
+	private final double[]	y0;
+	private final double[]	f0;
+	private final double[]	y1;
+	private final double[]	f1;
+	private double				t;
+	private double				h;
+	private double				next;			// Step to try next
+
+	// Arc length at each chord end along the step, and of the next point
+	private final double[]	length = new double[CHORDS + 1];
+	private final double[]	p;				// Point on the curve
+	private final double[]	q;				// Point before it
+	private int				chord;
+	private double				along;
+	private boolean			stalled;		// Stopped making headway?
+
+	private long				steps;
+	private long				emitted;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Traces with an integrator, putting points the spacing apart.
+	public Tracer(Integrator integrator, double spacing)
+	{
+		if (!(spacing > 0.0))
+			throw new IllegalArgumentException("Spacing must be positive");
+
+		this.integrator = integrator;
+		this.n = integrator.getSystem().getDimension();
+		this.spacing = spacing;
+
+		y0 = new double[n];
+		f0 = new double[n];
+		y1 = new double[n];
+		f1 = new double[n];
+		p = new double[n];
+		q = new double[n];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public Integrator	getIntegrator()
+	{
+		return integrator;
+	}
+
+	public double	getSpacing()
+	{
+		return spacing;
+	}
+
+	// Returns the time at the end of the step being traced along.
+	public double	getTime()
+	{
+		return t + h;
+	}
+
+	// Returns the number of steps taken since start().
+	public long	getSteps()
+	{
+		return steps;
+	}
+
+	// Returns the number of points emitted since start().
+	public long	getEmitted()
+	{
+		return emitted;
+	}
+
+	// Returns true if the trajectory has stalled since start().
+	public boolean	isStalled()
+	{
+		return stalled;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Starts over at a state, with a first step of h. The state is the first
+	// point emitted.
+	public void	start(double t, double[] y, double h)
+	{
+		this.t = t;
+		this.h = 0.0;
+		this.next = h;
+
+		System.arraycopy(y, 0, y1, 0, n);
+		integrator.derivative(t, y1, f1);
+		System.arraycopy(y1, 0, y0, 0, n);
+		System.arraycopy(f1, 0, f0, 0, n);
+
+		for (int i=0; i<=CHORDS; i++)
+			length[i] = 0.0;
+
+		chord = 0;
+		along = 0.0;
+		stalled = false;
+		steps = 0L;
+		emitted = 0L;
+	}
+
+	// Writes the next count points into out, n values each from offset.
+	public void	next(double[] out, int offset, int count)
+	{
+		for (int j=0; j<count; j++)
+		{
+			for (int k=0; !stalled && along > length[CHORDS]; k++)
+			{
+				if (k == MAX_STEPS)
+					stalled = true;
+				else
+					advance();
+			}
+
+			// Stay at the end of the last step
+			if (stalled)
+				along = length[CHORDS];
+
+			while (length[chord + 1] < along)
+				chord++;
+
+			double	a = length[chord];
+			double	b = length[chord + 1];
+			double	f = ((b > a) ? (along - a) / (b - a) : 0.0);
+
+			hermite((chord + f) / CHORDS, p);
+			System.arraycopy(p, 0, out, offset + n * j, n);
+
+			along += spacing;
+		}
+
+		emitted += count;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Takes the next step, and measures the curve along it.
+	private void	advance()
+	{
+		along -= length[CHORDS];
+
+		System.arraycopy(y1, 0, y0, 0, n);
+		System.arraycopy(f1, 0, f0, 0, n);
+		t += h;
+
+		h = integrator.step(t, y1, next);
+		next = integrator.getNextStep(h);
+		integrator.derivative(t + h, y1, f1);
+		steps++;
+
+		System.arraycopy(y0, 0, q, 0, n);
+
+		for (int i=1; i<=CHORDS; i++)
+		{
+			hermite((double)i / CHORDS, p);
+
+			double	sum = 0.0;
+
+			for (int k=0; k<n; k++)
+			{
+				double	d = p[k] - q[k];
+
+				sum += d * d;
+				q[k] = p[k];
+			}
+
+			length[i] = length[i - 1] + Math.sqrt(sum);
+		}
+
+		chord = 0;
+	}
+
+	// Writes the point at s from 0 to 1 along the step.
+	private void	hermite(double s, double[] out)
+	{
+		double	s2 = s * s;
+		double	s3 = s2 * s;
+		double	h00 = 2.0 * s3 - 3.0 * s2 + 1.0;
+		double	h10 = s3 - 2.0 * s2 + s;
+		double	h01 = -2.0 * s3 + 3.0 * s2;
+		double	h11 = s3 - s2;
+
+		for (int k=0; k<n; k++)
+			out[k] = h00 * y0[k] + h10 * h * f0[k] +
+				h01 * y1[k] + h11 * h * f1[k];
+	}
+}
+
+//******************************************************************************
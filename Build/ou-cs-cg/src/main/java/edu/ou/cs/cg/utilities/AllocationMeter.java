@@ -0,0 +1,157 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 13:48:10 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Measures how many bytes the current thread allocates between begin() and
+// end(), such as during one frame, using the HotSpot extension of
+// ThreadMXBean. Asking for the count allocates a little by itself, so that
+// overhead is measured once up front and subtracted. On JVMs without the
+// extension, isSupported() returns false and every measurement is zero.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.lang.management.ManagementFactory;
+
+//******************************************************************************
+
+/**
+ * The <CODE>AllocationMeter</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class AllocationMeter
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final com.sun.management.ThreadMXBean	bean;	// Null if missing
+	private long				overhead;		// Bytes per begin/end pair
+
+	private long				start;			// Count at begin()
+	private long				last;			// Bytes in the last interval
+	private long				max;			// Most bytes in any interval
+	private long				total;			// Bytes in all intervals
+	private long				count;			// Number of intervals
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public AllocationMeter()
+	{
+		java.lang.management.ThreadMXBean	tmx =
+			ManagementFactory.getThreadMXBean();
+
+		if (tmx instanceof com.sun.management.ThreadMXBean &&
+			((com.sun.management.ThreadMXBean)tmx)
+				.isThreadAllocatedMemorySupported())
+		{
+			bean = (com.sun.management.ThreadMXBean)tmx;
+			bean.setThreadAllocatedMemoryEnabled(true);
+		}
+		else
+		{
+			bean = null;
+		}
+
+		calibrate();
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public boolean	isSupported()
+	{
+		return (bean != null);
+	}
+
+	public long	getLastBytes()
+	{
+		return last;
+	}
+
+	public long	getMaxBytes()
+	{
+		return max;
+	}
+
+	public long	getTotalBytes()
+	{
+		return total;
+	}
+
+	public long	getCount()
+	{
+		return count;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	public void	begin()
+	{
+		start = read();
+	}
+
+	public void	end()
+	{
+		last = Math.max(0L, read() - start - overhead);
+		max = Math.max(max, last);
+		total += last;
+		count++;
+	}
+
+	// Forgets all intervals, e.g. once warm-up is over.
+	public void	reset()
+	{
+		last = 0L;
+		max = 0L;
+		total = 0L;
+		count = 0L;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private long	read()
+	{
+		if (bean == null)
+			return 0L;
+
+		return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	// The smallest count seen for an empty interval is the meter's own cost.
+	private void	calibrate()
+	{
+		overhead = Long.MAX_VALUE;
+
+		for (int i=0; i<16; i++)
+		{
+			long	a = read();
+			long	b = read();
+
+			overhead = Math.min(overhead, b - a);
+		}
+
+		overhead = Math.max(0L, overhead);
+	}
+}
+
+//******************************************************************************
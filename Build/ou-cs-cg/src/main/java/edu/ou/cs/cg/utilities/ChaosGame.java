@@ -0,0 +1,400 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 01:41:20 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Generates the points of a chaos game in parallel, such as the Sierpinski
+// gasket: starting anywhere, move the given ratio of the way toward a vertex
+// picked at random, and repeat. The points soon lie on the attractor of the
+// vertices, whatever the starting point was.
+//
+// The points are split into runs of GRAIN points, filled by a ForkJoinPool.
+// Each run has its own SplittableRandom, split from its parent's, so no two
+// threads share a generator. Each run starts at a random vertex and takes
+// BURN_IN steps before its first point, which brings it within 2^-BURN_IN of
+// the attractor, well under a pixel. Runs write their points straight into
+// one shared PointBuffer, at their own indices, so no points are copied.
+//
+// Points can also be added to those already generated with extend(), which
+// goes on from the last point. Adding fewer than GRAIN points is done on the
+// calling thread, with no burn-in, so a picture that grows a little each
+// frame costs time in proportion to its growth. The PointBuffer uploads only
+// the new points, and draws them all with one glDrawArrays(), in the current
+// color.
+//
+// The chaos game commutes with affine maps: the points for a triangle are the
+// points for any other triangle, mapped by the affine map between the two.
+// So the points for a moving triangle can be generated once for the unit
+// triangle, and drawn onto the moving one by drawOnto(), which does the
+// mapping in the modelview matrix.
+//
+// A chaos game is also a PointSource, so its attractor can be counted into a
+// DensityImage instead of drawn as points.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ChaosGame</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class ChaosGame
+	implements PointSource
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	GRAIN = 8192;		// Most points per task
+	private static final int	BURN_IN = 24;		// Steps before a point
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final ForkJoinPool		pool;
+	private final SplittableRandom	random;		// Split for each task
+
+	// Vertices, and how far to move toward them each step
+	private double[]					vx = new double[3];
+	private double[]					vy = new double[3];
+	private int						vertices;
+	private double						ratio = 0.5;
+
+	// Points, and where the last one left off
+	private final PointBuffer			points = new PointBuffer(false);
+	private double						lastX;
+	private double						lastY;
+	private final double[]				matrix = new double[16];	// Onto
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public ChaosGame()
+	{
+		this(ForkJoinPool.commonPool(), new SplittableRandom());
+	}
+
+	// Uses the given pool, and a seed for repeatable points.
+	public ChaosGame(ForkJoinPool pool, long seed)
+	{
+		this(pool, new SplittableRandom(seed));
+	}
+
+	private ChaosGame(ForkJoinPool pool, SplittableRandom random)
+	{
+		this.pool = pool;
+		this.random = random;
+
+		matrix[10] = 1.0;
+		matrix[15] = 1.0;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Sets n vertices to move toward, from x, y pairs.
+	public void	setVertices(double[] xy, int n)
+	{
+		if (n < 1)
+			throw new IllegalArgumentException("No vertices");
+
+		if (n > vx.length)
+		{
+			vx = new double[n];
+			vy = new double[n];
+		}
+
+		for (int i=0; i<n; i++)
+		{
+			vx[i] = xy[2 * i];
+			vy[i] = xy[2 * i + 1];
+		}
+
+		vertices = n;
+		points.clear();
+	}
+
+	public void	setTriangle(double x0, double y0, double x1, double y1,
+							double x2, double y2)
+	{
+		setVertices(new double[] { x0, y0, x1, y1, x2, y2 }, 3);
+	}
+
+	public double	getRatio()
+	{
+		return ratio;
+	}
+
+	// Sets how far toward the vertex to move each step. A half makes the
+	// Sierpinski gasket of a triangle.
+	public void	setRatio(double ratio)
+	{
+		this.ratio = ratio;
+	}
+
+	// Returns the number of points generated.
+	public int	size()
+	{
+		return points.size();
+	}
+
+	// Returns the points generated, as x, y pairs from index zero. The
+	// buffer is reused, so copy anything that must outlast the next call.
+	public FloatBuffer	getPoints()
+	{
+		return points.getData();
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Forgets the points generated.
+	public void	clear()
+	{
+		points.clear();
+	}
+
+	// Replaces the points with count new ones. Returns when all are done.
+	public void	generate(int count)
+	{
+		points.clear();
+		extend(count);
+	}
+
+	// Adds points until there are count in all. Returns when all are done.
+	public void	extend(int count)
+	{
+		if (vertices == 0)
+			throw new IllegalStateException("No vertices");
+
+		int	from = points.size();
+
+		if (count <= from)
+			return;
+
+		FloatBuffer	b = points.reserve(count);
+
+		if (count - from <= GRAIN)
+		{
+			if (from == 0)
+				burnIn(random);
+
+			fill(b, from, count, random);		// Not worth a thread
+		}
+		else
+		{
+			pool.invoke(new Fill(b, from, count, random.split()));
+
+			lastX = b.get(2 * count - 2);
+			lastY = b.get(2 * count - 1);
+		}
+
+		points.setSize(count);
+	}
+
+	// Draws the points in the current color, uploading any new ones.
+	public void	draw(GL2 gl)
+	{
+		points.draw(gl);
+	}
+
+	// Draws points generated for the unit triangle (0, 0), (1, 0), (0, 1)
+	// onto another triangle, by way of the modelview matrix.
+	public void	drawOnto(GL2 gl, double x0, double y0, double x1, double y1,
+							 double x2, double y2)
+	{
+		matrix[0] = x1 - x0;
+		matrix[1] = y1 - y0;
+		matrix[4] = x2 - x0;
+		matrix[5] = y2 - y0;
+		matrix[12] = x0;
+		matrix[13] = y0;
+
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glMultMatrixd(matrix, 0);
+		points.draw(gl);
+		gl.glPopMatrix();
+	}
+
+	// Releases the buffer object. The points are kept.
+	public void	dispose(GL2 gl)
+	{
+		points.dispose(gl);
+	}
+
+	//**********************************************************************
+	// Override Methods (PointSource)
+	//**********************************************************************
+
+	// Returns a walker for the vertices and ratio as they are now.
+	public Walker	newWalker(final SplittableRandom r)
+	{
+		if (vertices == 0)
+			throw new IllegalStateException("No vertices");
+
+		final double[]	wx = Arrays.copyOf(vx, vertices);
+		final double[]	wy = Arrays.copyOf(vy, vertices);
+		final double	wr = ratio;
+		final double[]	xy = new double[2];
+		int			k = r.nextInt(wx.length);
+
+		xy[0] = wx[k];
+		xy[1] = wy[k];
+
+		for (int i=0; i<BURN_IN; i++)
+		{
+			k = r.nextInt(wx.length);
+			xy[0] += (wx[k] - xy[0]) * wr;
+			xy[1] += (wy[k] - xy[1]) * wr;
+		}
+
+		return new Walker() {
+				public void	walk(FloatBuffer out, int count)
+				{
+					double	x = xy[0];
+					double	y = xy[1];
+
+					for (int i=0; i<count; i++)
+					{
+						int	j = r.nextInt(wx.length);
+
+						x += (wx[j] - x) * wr;
+						y += (wy[j] - y) * wr;
+
+						out.put(2 * i, (float)x);
+						out.put(2 * i + 1, (float)y);
+					}
+
+					xy[0] = x;
+					xy[1] = y;
+				}
+			};
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Starts from a random vertex, and steps onto the attractor.
+	private void	burnIn(SplittableRandom r)
+	{
+		int	k = r.nextInt(vertices);
+
+		lastX = vx[k];
+		lastY = vy[k];
+
+		for (int i=0; i<BURN_IN; i++)
+		{
+			k = r.nextInt(vertices);
+			lastX += (vx[k] - lastX) * ratio;
+			lastY += (vy[k] - lastY) * ratio;
+		}
+	}
+
+	// Writes points from one index up to another, going on from the last
+	// point, and leaves it at the last one written.
+	private void	fill(FloatBuffer b, int from, int to, SplittableRandom r)
+	{
+		double	x = lastX;
+		double	y = lastY;
+
+		for (int i=from; i<to; i++)
+		{
+			int	k = r.nextInt(vertices);
+
+			x += (vx[k] - x) * ratio;
+			y += (vy[k] - y) * ratio;
+
+			b.put(2 * i, (float)x);
+			b.put(2 * i + 1, (float)y);
+		}
+
+		lastX = x;
+		lastY = y;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Fills the points from one index up to another, splitting the range
+	// among tasks of at most GRAIN points, each with its own burn-in.
+	private final class Fill extends RecursiveAction
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final FloatBuffer		b;
+		private final int				from;
+		private final int				to;
+		private final SplittableRandom	random;
+
+		public Fill(FloatBuffer b, int from, int to, SplittableRandom random)
+		{
+			this.b = b;
+			this.from = from;
+			this.to = to;
+			this.random = random;
+		}
+
+		protected void	compute()
+		{
+			if (to - from > GRAIN)
+			{
+				int	mid = (from + to) >>> 1;
+
+				invokeAll(new Fill(b, from, mid, random.split()),
+						  new Fill(b, mid, to, random));
+
+				return;
+			}
+
+			int		k = random.nextInt(vertices);
+			double	x = vx[k];
+			double	y = vy[k];
+
+			for (int i=0; i<BURN_IN; i++)
+			{
+				k = random.nextInt(vertices);
+				x += (vx[k] - x) * ratio;
+				y += (vy[k] - y) * ratio;
+			}
+
+			for (int i=from; i<to; i++)
+			{
+				k = random.nextInt(vertices);
+				x += (vx[k] - x) * ratio;
+				y += (vy[k] - y) * ratio;
+
+				b.put(2 * i, (float)x);
+				b.put(2 * i + 1, (float)y);
+			}
+		}
+	}
+}
+
+//******************************************************************************
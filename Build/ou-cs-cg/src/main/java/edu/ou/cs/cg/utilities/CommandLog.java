@@ -0,0 +1,426 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 19:42:26 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// An undo/redo history of small commands. Each entry is an op code and a
+// payload of longs, written with begin(), put(), and end(). The meaning of
+// the op codes and payloads is up to the caller, which applies or reverts an
+// entry after undo() or redo() has moved over it. An entry can also carry one
+// object, such as a block of storage that a command let go of, along with
+// the number of bytes it holds.
+//
+// Entries are stored back to back in chunks of longs, with their length both
+// before and after the payload, so the log can be walked either way without
+// any objects per entry. Undo and redo are O(1), plus the size of the entry.
+// Writing an entry drops everything that could have been redone.
+//
+// The log keeps to a budget of bytes, counting payloads and carried objects.
+// When it goes over, the oldest entries are dropped first, and their chunks
+// are reused for new entries. The newest entry is never dropped, so one
+// entry bigger than the budget is kept until the next one is written.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>CommandLog</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class CommandLog
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	SHIFT = 10;
+	private static final int	CHUNK = 1 << SHIFT;		// Longs per chunk
+	private static final int	SPARES = 8;				// Chunks kept for reuse
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final long		budget;			// Most bytes to keep
+
+	// Chunks in a ring, indexed by chunk number, covering base to limit
+	private long[][]			chunks = new long[16][];
+	private final long[][]	spares = new long[SPARES][];
+	private int				spareCount;
+
+	// Positions in the log, counted in longs since it was created
+	private long				base;			// Start of the oldest entry
+	private long				cursor;			// End of the last undoable
+	private long				limit;			// End of the last redoable
+	private long				start = -1L;	// Entry being written, or -1
+	private long				current = -1L;	// Entry last moved over
+
+	// Objects carried by entries, in entry order, indexed like entries
+	private Object[]			objects = new Object[16];
+	private long[]			objectBytes = new long[16];
+	private int				objectCount;	// Objects from base to limit
+	private int				objectCursor;	// Objects from base to cursor
+	private long				carried;		// Sum of objectBytes
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public CommandLog(long budget)
+	{
+		this.budget = budget;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public boolean	canUndo()
+	{
+		return (cursor > base);
+	}
+
+	public boolean	canRedo()
+	{
+		return (limit > cursor);
+	}
+
+	// Returns the bytes held, in payloads and carried objects.
+	public long	getBytes()
+	{
+		return 8L * (limit - base) + carried;
+	}
+
+	public long	getBudget()
+	{
+		return budget;
+	}
+
+	//**********************************************************************
+	// Public Methods (Writing)
+	//**********************************************************************
+
+	// Starts a new entry, dropping everything that could have been redone.
+	public void	begin(int op)
+	{
+		truncate();
+
+		start = limit;
+		push((long)op << 32);
+	}
+
+	public void	put(long v)
+	{
+		push(v);
+	}
+
+	// Carries an object with the entry being written.
+	public void	carry(Object o, long bytes)
+	{
+		if (objectCount == objects.length)
+		{
+			objects = Arrays.copyOf(objects, 2 * objectCount);
+			objectBytes = Arrays.copyOf(objectBytes, 2 * objectCount);
+		}
+
+		objects[objectCount] = o;
+		objectBytes[objectCount] = bytes;
+		objectCount++;
+		carried += bytes;
+
+		write(start, read(start) | (1L << 31));
+	}
+
+	public void	end()
+	{
+		int	n = (int)(limit - start - 1);
+
+		write(start, read(start) | n);
+		push(n);
+
+		cursor = limit;
+		objectCursor = objectCount;
+		current = start;
+		start = -1L;
+
+		trim();
+	}
+
+	// Returns the op of the newest entry if nothing can be redone, so that
+	// it can be changed or added to, or -1. The getters below then read the
+	// newest entry.
+	public int	getLastOp()
+	{
+		if (limit != cursor || cursor == base)
+			return -1;
+
+		current = cursor - read(cursor - 1) - 2;
+
+		return getOp();
+	}
+
+	// Adds a long to the payload of the newest entry. Only use this when
+	// getLastOp() says there is one.
+	public void	append(long v)
+	{
+		int		n = (int)read(limit - 1);
+		long	s = limit - n - 2;
+
+		write(limit - 1, v);
+		write(s, read(s) + 1);
+		push(n + 1);
+
+		cursor = limit;
+		current = s;
+
+		trim();
+	}
+
+	// Forgets every entry, such as when what they change is replaced.
+	public void	clear()
+	{
+		if (limit > base)
+			for (long c=base>>>SHIFT; c<=(limit - 1)>>>SHIFT; c++)
+				release(c);
+
+		Arrays.fill(objects, 0, objectCount, null);
+
+		// Start again at a chunk boundary, so the next entry claims a chunk
+		base = ((limit + CHUNK - 1) >>> SHIFT) << SHIFT;
+		cursor = base;
+		limit = base;
+		current = -1L;
+		objectCount = 0;
+		objectCursor = 0;
+		carried = 0L;
+	}
+
+	//**********************************************************************
+	// Public Methods (Moving)
+	//**********************************************************************
+
+	// Moves back over the newest undoable entry and returns its op, or -1 if
+	// there is none. Read the entry with the getters below, then revert it.
+	public int	undo()
+	{
+		if (cursor == base)
+			return -1;
+
+		current = cursor - read(cursor - 1) - 2;
+		cursor = current;
+
+		if (hasObject())
+			objectCursor--;
+
+		return getOp();
+	}
+
+	// Moves forward over the oldest redoable entry and returns its op, or -1
+	// if there is none. Read the entry with the getters below, then apply it.
+	public int	redo()
+	{
+		if (cursor == limit)
+			return -1;
+
+		current = cursor;
+		cursor += getLength() + 2;
+
+		if (hasObject())
+			objectCursor++;
+
+		return getOp();
+	}
+
+	//**********************************************************************
+	// Public Methods (Reading the Entry Last Moved Over or Written)
+	//**********************************************************************
+
+	public int	getOp()
+	{
+		return (int)(read(current) >>> 32);
+	}
+
+	public int	getLength()
+	{
+		return (int)(read(current) & 0x7fffffffL);
+	}
+
+	public long	get(int i)
+	{
+		return read(current + 1 + i);
+	}
+
+	public void	set(int i, long v)
+	{
+		write(current + 1 + i, v);
+	}
+
+	public boolean	hasObject()
+	{
+		return ((read(current) & (1L << 31)) != 0L);
+	}
+
+	public Object	getObject()
+	{
+		return objects[objectIndex()];
+	}
+
+	// Replaces the object carried by the entry, such as when redoing makes a
+	// new one.
+	public void	setObject(Object o)
+	{
+		objects[objectIndex()] = o;
+	}
+
+	//**********************************************************************
+	// Public Class Methods (Packing)
+	//**********************************************************************
+
+	// Packs two floats into one long.
+	public static long	pack(float a, float b)
+	{
+		return ((long)Float.floatToRawIntBits(a) << 32) |
+			(Float.floatToRawIntBits(b) & 0xffffffffL);
+	}
+
+	public static float	unpackFirst(long v)
+	{
+		return Float.intBitsToFloat((int)(v >>> 32));
+	}
+
+	public static float	unpackSecond(long v)
+	{
+		return Float.intBitsToFloat((int)v);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// The object of the entry last moved over is the last one before the
+	// object cursor after a redo, and the first one at it after an undo.
+	private int	objectIndex()
+	{
+		return ((current < cursor) ? objectCursor - 1 : objectCursor);
+	}
+
+	private long	read(long i)
+	{
+		return chunks[(int)((i >>> SHIFT) & (chunks.length - 1))]
+			[(int)(i & (CHUNK - 1))];
+	}
+
+	private void	write(long i, long v)
+	{
+		chunks[(int)((i >>> SHIFT) & (chunks.length - 1))]
+			[(int)(i & (CHUNK - 1))] = v;
+	}
+
+	// Writes a long at the end of the log, starting a chunk if need be.
+	private void	push(long v)
+	{
+		if ((limit & (CHUNK - 1)) == 0)
+			claim(limit >>> SHIFT);
+
+		write(limit++, v);
+	}
+
+	// Makes room in the ring for a new chunk number, and gives it a chunk.
+	private void	claim(long c)
+	{
+		long	first = base >>> SHIFT;
+
+		if (c - first >= chunks.length)
+		{
+			long[][]	ring = new long[2 * chunks.length][];
+
+			for (long k=first; k<c; k++)
+				ring[(int)(k & (ring.length - 1))] =
+					chunks[(int)(k & (chunks.length - 1))];
+
+			chunks = ring;
+		}
+
+		int	slot = (int)(c & (chunks.length - 1));
+
+		if (chunks[slot] == null)
+			chunks[slot] = ((spareCount > 0) ? spares[--spareCount]
+											 : new long[CHUNK]);
+	}
+
+	private void	release(long c)
+	{
+		int		slot = (int)(c & (chunks.length - 1));
+		long[]	chunk = chunks[slot];
+
+		chunks[slot] = null;
+
+		if (chunk != null && spareCount < SPARES)
+			spares[spareCount++] = chunk;
+	}
+
+	// Drops the redoable entries and their objects.
+	private void	truncate()
+	{
+		if (limit == cursor)
+			return;
+
+		for (long c=(cursor + CHUNK - 1)>>>SHIFT; c<=(limit - 1)>>>SHIFT; c++)
+			release(c);
+
+		for (int i=objectCursor; i<objectCount; i++)
+		{
+			carried -= objectBytes[i];
+			objects[i] = null;
+		}
+
+		objectCount = objectCursor;
+		limit = cursor;
+	}
+
+	// Drops the oldest entries, but never the newest, while over budget.
+	private void	trim()
+	{
+		while (getBytes() > budget && base < cursor)
+		{
+			long	next = base + (read(base) & 0x7fffffffL) + 2;
+
+			if (next >= limit)
+				break;
+
+			if ((read(base) & (1L << 31)) != 0L)
+			{
+				carried -= objectBytes[0];
+
+				System.arraycopy(objects, 1, objects, 0, objectCount - 1);
+				System.arraycopy(objectBytes, 1, objectBytes, 0,
+								 objectCount - 1);
+
+				objects[--objectCount] = null;
+				objectCursor--;
+			}
+
+			for (long c=base>>>SHIFT; c<next>>>SHIFT; c++)
+				release(c);
+
+			base = next;
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,488 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 02:12:37 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Draws an attractor as a density image: points from a PointSource are
+// counted into a grid of cells over a window of the plane, and the counts
+// are tone-mapped into one texture. Drawing millions of translucent points
+// is bound by fill rate, and how they blend depends on their order, so the
+// picture is noisy. Counting costs no GPU time per point, and the picture
+// only gets smoother as more points are counted.
+//
+// Counting is split among as many tasks as the ForkJoinPool has threads.
+// Each task has its own Walker and its own int[] grid, so no two threads
+// write the same memory. Then the grids are merged into the total by rows,
+// in parallel, and cleared for next time. Counts saturate rather than wrap.
+//
+// The tone map is
+//
+//   v = (log(1 + count) / log(1 + max)) ^ (1 / gamma)
+//
+// so a cell hit once is visible and the densest cell is at full intensity,
+// however many points there are. The result is an alpha texture, so it is
+// drawn in the current color, blended over what is behind it.
+//
+// Counts accumulate over calls to accumulate(), so a picture can be refined a
+// frame at a time. Changing the size or the window starts over.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>DensityImage</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class DensityImage
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	BATCH = 4096;		// Points per walk
+	private static final int	ROWS = 16;			// Most rows per merge task
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final ForkJoinPool		pool;
+	private final SplittableRandom	random;		// Split for each task
+
+	// Grid, and the window of the plane it covers
+	private int					w;
+	private int					h;
+	private double					x0 = 0.0;
+	private double					y0 = 0.0;
+	private double					x1 = 1.0;
+	private double					y1 = 1.0;
+	private double					gamma = 2.2;
+
+	// Counts, in total and per task, and how many points were walked
+	private int[]					total;
+	private int[][]				grids;
+	private long					points;
+
+	// Tone-mapped image, and its texture
+	private ByteBuffer				image;
+	private boolean				dirty;
+	private int					texture;
+	private int					textureW;
+	private int					textureH;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public DensityImage(int w, int h)
+	{
+		this(w, h, ForkJoinPool.commonPool(), new SplittableRandom());
+	}
+
+	// Uses the given pool, and a seed for repeatable points.
+	public DensityImage(int w, int h, ForkJoinPool pool, long seed)
+	{
+		this(w, h, pool, new SplittableRandom(seed));
+	}
+
+	private DensityImage(int w, int h, ForkJoinPool pool,
+						 SplittableRandom random)
+	{
+		this.pool = pool;
+		this.random = random;
+
+		setSize(w, h);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getWidth()
+	{
+		return w;
+	}
+
+	public int	getHeight()
+	{
+		return h;
+	}
+
+	// Sets the number of cells across and down, usually the canvas size in
+	// pixels, and starts over.
+	public void	setSize(int w, int h)
+	{
+		if (w < 1 || h < 1)
+			throw new IllegalArgumentException("Size must be positive");
+
+		if (w == this.w && h == this.h)
+			return;
+
+		this.w = w;
+		this.h = h;
+
+		total = new int[w * h];
+		grids = new int[pool.getParallelism()][];
+		image = Buffers.newDirectByteBuffer(w * h);
+		clear();
+	}
+
+	// Sets the window of the plane to count, and starts over. The window
+	// may be flipped, with x1 < x0 or y1 < y0.
+	public void	setWindow(double x0, double y0, double x1, double y1)
+	{
+		if (x0 == this.x0 && y0 == this.y0 && x1 == this.x1 && y1 == this.y1)
+			return;
+
+		this.x0 = x0;
+		this.y0 = y0;
+		this.x1 = x1;
+		this.y1 = y1;
+
+		clear();
+	}
+
+	public double	getGamma()
+	{
+		return gamma;
+	}
+
+	public void	setGamma(double gamma)
+	{
+		if (!(gamma > 0.0))
+			throw new IllegalArgumentException("Gamma must be positive");
+
+		this.gamma = gamma;
+		tone();
+	}
+
+	// Returns the number of points walked since starting over, in the
+	// window or not.
+	public long	getPoints()
+	{
+		return points;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Starts over, with no points counted.
+	public void	clear()
+	{
+		Arrays.fill(total, 0);
+		points = 0L;
+		tone();
+	}
+
+	// Counts count more points from the source, in parallel. Returns when
+	// they are all counted and the image is tone-mapped.
+	public void	accumulate(PointSource source, long count)
+	{
+		if (count <= 0L)
+			return;
+
+		int					tasks = grids.length;
+		ArrayList<Count>	counts = new ArrayList<Count>(tasks);
+
+		for (int i=0; i<tasks; i++)
+		{
+			long	n = count / tasks + ((i < count % tasks) ? 1 : 0);
+
+			if (grids[i] == null)
+				grids[i] = new int[w * h];
+
+			counts.add(new Count(source, random.split(), grids[i], n));
+		}
+
+		pool.invoke(new RecursiveAction() {
+				private static final long	serialVersionUID = 1L;
+
+				protected void	compute()
+				{
+					invokeAll(counts);
+				}
+			});
+
+		pool.invoke(new Merge(0, h));
+		points += count;
+		tone();
+	}
+
+	// Draws the image over the window, in the current color, uploading it
+	// first if it changed.
+	public void	draw(GL2 gl)
+	{
+		drawOnto(gl, x0, y0, x1, y0, x0, y1);
+	}
+
+	// Draws the image onto a parallelogram, with the corners of the window
+	// at (x0, y0) on the lower left, (x1, y1) on the lower right, and (x2,
+	// y2) on the upper left, as ChaosGame.drawOnto() maps its points.
+	public void	drawOnto(GL2 gl, double x0, double y0, double x1, double y1,
+							 double x2, double y2)
+	{
+		upload(gl);
+
+		gl.glPushAttrib(GL2.GL_ENABLE_BIT | GL2.GL_COLOR_BUFFER_BIT |
+						GL2.GL_TEXTURE_BIT);
+		gl.glEnable(GL.GL_TEXTURE_2D);
+		gl.glEnable(GL.GL_BLEND);
+		gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+		gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+		gl.glTexEnvi(GL2.GL_TEXTURE_ENV, GL2.GL_TEXTURE_ENV_MODE,
+					 GL2.GL_MODULATE);
+
+		gl.glBegin(GL2.GL_QUADS);
+		gl.glTexCoord2d(0.0, 0.0);
+		gl.glVertex2d(x0, y0);
+		gl.glTexCoord2d(1.0, 0.0);
+		gl.glVertex2d(x1, y1);
+		gl.glTexCoord2d(1.0, 1.0);
+		gl.glVertex2d(x1 + x2 - x0, y1 + y2 - y0);
+		gl.glTexCoord2d(0.0, 1.0);
+		gl.glVertex2d(x2, y2);
+		gl.glEnd();
+
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+		gl.glPopAttrib();
+	}
+
+	// Releases the texture. The counts are kept.
+	public void	dispose(GL2 gl)
+	{
+		if (texture != 0)
+			gl.glDeleteTextures(1, new int[] { texture }, 0);
+
+		texture = 0;
+		dirty = true;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Tone-maps the total counts into the image.
+	private void	tone()
+	{
+		int	max = 0;
+
+		for (int i=0; i<total.length; i++)
+			max = Math.max(max, total[i]);
+
+		pool.invoke(new Tone(0, h, Math.log1p(max)));
+		dirty = true;
+	}
+
+	private void	upload(GL2 gl)
+	{
+		if (texture == 0)
+		{
+			int[]	ids = new int[1];
+
+			gl.glGenTextures(1, ids, 0);
+			texture = ids[0];
+			textureW = 0;
+			textureH = 0;
+		}
+
+		if (!dirty)
+			return;
+
+		gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+		gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+
+		image.rewind();
+
+		if (textureW != w || textureH != h)
+		{
+			gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER,
+							   GL.GL_LINEAR);
+			gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER,
+							   GL.GL_LINEAR);
+			gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S,
+							   GL.GL_CLAMP_TO_EDGE);
+			gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T,
+							   GL.GL_CLAMP_TO_EDGE);
+			gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, GL.GL_ALPHA, w, h, 0,
+							GL.GL_ALPHA, GL.GL_UNSIGNED_BYTE, image);
+
+			textureW = w;
+			textureH = h;
+		}
+		else
+		{
+			gl.glTexSubImage2D(GL.GL_TEXTURE_2D, 0, 0, 0, w, h,
+							   GL.GL_ALPHA, GL.GL_UNSIGNED_BYTE, image);
+		}
+
+		gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 4);
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+		dirty = false;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Walks n points with its own walker, counting them into its own grid.
+	private final class Count extends RecursiveAction
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final PointSource		source;
+		private final SplittableRandom	random;
+		private final int[]			grid;
+		private final long				n;
+
+		public Count(PointSource source, SplittableRandom random, int[] grid,
+					 long n)
+		{
+			this.source = source;
+			this.random = random;
+			this.grid = grid;
+			this.n = n;
+		}
+
+		protected void	compute()
+		{
+			if (n == 0L)
+				return;
+
+			PointSource.Walker	walker = source.newWalker(random);
+			FloatBuffer			batch = FloatBuffer.allocate(2 * BATCH);
+			double				sx = w / (x1 - x0);
+			double				sy = h / (y1 - y0);
+
+			for (long done=0L; done<n; done+=BATCH)
+			{
+				int	count = (int)Math.min(BATCH, n - done);
+
+				walker.walk(batch, count);
+
+				for (int i=0; i<count; i++)
+				{
+					double	fx = (batch.get(2 * i) - x0) * sx;
+					double	fy = (batch.get(2 * i + 1) - y0) * sy;
+
+					// Out of the window, or not a number
+					if (!(fx >= 0.0 && fx < w && fy >= 0.0 && fy < h))
+						continue;
+
+					grid[(int)fy * w + (int)fx]++;
+				}
+			}
+		}
+	}
+
+	// Adds the task grids into the total, for rows from one up to another,
+	// and clears them.
+	private final class Merge extends RecursiveAction
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final int	from;
+		private final int	to;
+
+		public Merge(int from, int to)
+		{
+			this.from = from;
+			this.to = to;
+		}
+
+		protected void	compute()
+		{
+			if (to - from > ROWS)
+			{
+				int	mid = (from + to) >>> 1;
+
+				invokeAll(new Merge(from, mid), new Merge(mid, to));
+				return;
+			}
+
+			int	a = from * w;
+			int	b = to * w;
+
+			for (int[] grid : grids)
+			{
+				if (grid == null)
+					continue;
+
+				for (int i=a; i<b; i++)
+				{
+					long	sum = (long)total[i] + grid[i];
+
+					total[i] = (int)Math.min(sum, Integer.MAX_VALUE);
+					grid[i] = 0;
+				}
+			}
+		}
+	}
+
+	// Tone-maps the counts into the image, for rows from one up to another.
+	private final class Tone extends RecursiveAction
+	{
+		private static final long	serialVersionUID = 1L;
+
+		private final int		from;
+		private final int		to;
+		private final double	scale;			// Log of the densest count
+
+		public Tone(int from, int to, double scale)
+		{
+			this.from = from;
+			this.to = to;
+			this.scale = scale;
+		}
+
+		protected void	compute()
+		{
+			if (to - from > ROWS)
+			{
+				int	mid = (from + to) >>> 1;
+
+				invokeAll(new Tone(from, mid, scale), new Tone(mid, to, scale));
+				return;
+			}
+
+			double	g = 1.0 / gamma;
+
+			for (int i=from*w; i<to*w; i++)
+			{
+				int	c = total[i];
+				int	v = 0;
+
+				if (c > 0)
+					v = (int)Math.round(255.0 *
+										Math.pow(Math.log1p(c) / scale, g));
+
+				image.put(i, (byte)v);
+			}
+		}
+	}
+}
+
+//******************************************************************************
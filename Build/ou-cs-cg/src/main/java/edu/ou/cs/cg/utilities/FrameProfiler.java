@@ -0,0 +1,294 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Tue Oct 20 11:23:45 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Times the stages of a frame. Register each stage once with add(), then wrap
+// the stage in begin() and end() every frame. Stages must not nest. While the
+// profiler is disabled, begin() and end() return right away.
+//
+// A stage that runs only on some frames, such as drawing into a cache, is
+// added with a label saying when it runs. Its percentiles describe only those
+// frames, so the label goes with them in the CSV.
+//
+// Each stage keeps its last WINDOW times, so p50, p95, and p99 follow recent
+// frames rather than the whole run. CPU times come from System.nanoTime().
+// If the context supports timer queries, GPU times are measured too. Query
+// results are read a few uses later, when the GPU is done with them, so
+// measuring never stalls the pipeline in the usual case.
+//
+// All methods that take a GL must be called on the GL thread. The other
+// methods only read numbers, and are meant for the same thread as well.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.io.*;
+import java.util.Arrays;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>FrameProfiler</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class FrameProfiler
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int	WINDOW = 240;		// Samples per percentile
+	public static final int	MAX_STAGES = 32;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	LATENCY = 4;		// Queries in flight per stage
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final String[]		names = new String[MAX_STAGES];
+	private final String[]		whens = new String[MAX_STAGES];	// Or null
+	private int				stages;
+	private boolean			enabled;
+
+	// CPU times, WINDOW per stage, in nanoseconds
+	private final long[]		cpu = new long[MAX_STAGES * WINDOW];
+	private final int[]		cpuCount = new int[MAX_STAGES];	// All-time
+	private final long[]		started = new long[MAX_STAGES];
+
+	// GPU times from timer queries, WINDOW per stage, in nanoseconds
+	private final long[]		gpu = new long[MAX_STAGES * WINDOW];
+	private final int[]		gpuCount = new int[MAX_STAGES];
+	private int[]				queries;		// LATENCY per stage, or null
+	private final boolean[]	pending = new boolean[MAX_STAGES * LATENCY];
+	private final int[]		nextQuery = new int[MAX_STAGES];
+	private boolean			checked;		// Looked for timer queries?
+	private final long[]		result = new long[1];
+
+	// Scratch space for percentiles
+	private final long[]		sorted = new long[WINDOW];
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public FrameProfiler()
+	{
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public boolean	isEnabled()
+	{
+		return enabled;
+	}
+
+	public void	setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	public int	getStageCount()
+	{
+		return stages;
+	}
+
+	public String	getName(int stage)
+	{
+		return names[stage];
+	}
+
+	// Returns when a stage runs, if only on some frames, or null.
+	public String	getWhen(int stage)
+	{
+		return whens[stage];
+	}
+
+	// Returns true if GPU times are being measured.
+	public boolean	hasGPUTimes()
+	{
+		return (queries != null);
+	}
+
+	//**********************************************************************
+	// Public Methods (Timing)
+	//**********************************************************************
+
+	// Registers a stage and returns its index for begin() and end().
+	public int	add(String name)
+	{
+		return add(name, null);
+	}
+
+	// Registers a stage that runs only on some frames, saying when.
+	public int	add(String name, String when)
+	{
+		if (stages == MAX_STAGES)
+			throw new IllegalStateException("Too many stages");
+
+		names[stages] = name;
+		whens[stages] = when;
+
+		return stages++;
+	}
+
+	public void	begin(GL2 gl, int stage)
+	{
+		if (!enabled)
+			return;
+
+		if (!checked)
+			initQueries(gl);
+
+		if (queries != null)
+		{
+			int	q = stage * LATENCY + nextQuery[stage];
+
+			if (pending[q])
+				readQuery(gl, stage, q);
+
+			gl.glBeginQuery(GL2.GL_TIME_ELAPSED, queries[q]);
+		}
+
+		started[stage] = System.nanoTime();
+	}
+
+	public void	end(GL2 gl, int stage)
+	{
+		if (!enabled)
+			return;
+
+		long	t = System.nanoTime() - started[stage];
+
+		cpu[stage * WINDOW + cpuCount[stage] % WINDOW] = t;
+		cpuCount[stage]++;
+
+		if (queries != null)
+		{
+			int	q = stage * LATENCY + nextQuery[stage];
+
+			gl.glEndQuery(GL2.GL_TIME_ELAPSED);
+			pending[q] = true;
+			nextQuery[stage] = (nextQuery[stage] + 1) % LATENCY;
+		}
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		if (queries != null)
+			gl.glDeleteQueries(queries.length, queries, 0);
+
+		queries = null;
+		checked = false;
+		Arrays.fill(pending, false);
+	}
+
+	//**********************************************************************
+	// Public Methods (Results)
+	//**********************************************************************
+
+	// Returns the number of CPU times taken for a stage, ever.
+	public int	getSamples(int stage)
+	{
+		return cpuCount[stage];
+	}
+
+	// Returns the given percentile (0 to 100) of the recent CPU times of a
+	// stage, in milliseconds, or zero if the stage has never run.
+	public double	getCPUPercentile(int stage, double percent)
+	{
+		return percentile(cpu, cpuCount[stage], stage, percent);
+	}
+
+	// Same, for GPU times. Zero if there are none.
+	public double	getGPUPercentile(int stage, double percent)
+	{
+		return percentile(gpu, gpuCount[stage], stage, percent);
+	}
+
+	// Writes the recent percentiles of every stage as CSV.
+	public void	writeCSV(Writer out) throws IOException
+	{
+		out.write("stage,runs,samples,cpu_p50_ms,cpu_p95_ms,cpu_p99_ms," +
+				  "gpu_p50_ms,gpu_p95_ms,gpu_p99_ms\n");
+
+		for (int i=0; i<stages; i++)
+		{
+			String	when = ((whens[i] != null) ? whens[i] : "every frame");
+
+			out.write(names[i] + "," + when + "," + cpuCount[i] + "," +
+					  getCPUPercentile(i, 50.0) + "," +
+					  getCPUPercentile(i, 95.0) + "," +
+					  getCPUPercentile(i, 99.0) + "," +
+					  getGPUPercentile(i, 50.0) + "," +
+					  getGPUPercentile(i, 95.0) + "," +
+					  getGPUPercentile(i, 99.0) + "\n");
+		}
+
+		out.flush();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	initQueries(GL2 gl)
+	{
+		checked = true;
+
+		if (!gl.isExtensionAvailable("GL_ARB_timer_query") &&
+			!gl.isExtensionAvailable("GL_EXT_timer_query"))
+			return;
+
+		queries = new int[MAX_STAGES * LATENCY];
+		gl.glGenQueries(queries.length, queries, 0);
+	}
+
+	// Waits for a query if it is still running, which only happens when the
+	// GPU is more than LATENCY uses of the stage behind.
+	private void	readQuery(GL2 gl, int stage, int q)
+	{
+		gl.glGetQueryObjecti64v(queries[q], GL2.GL_QUERY_RESULT, result, 0);
+
+		gpu[stage * WINDOW + gpuCount[stage] % WINDOW] = result[0];
+		gpuCount[stage]++;
+		pending[q] = false;
+	}
+
+	private double	percentile(long[] times, int count, int stage,
+							   double percent)
+	{
+		int	n = Math.min(count, WINDOW);
+
+		if (n == 0)
+			return 0.0;
+
+		System.arraycopy(times, stage * WINDOW, sorted, 0, n);
+		Arrays.sort(sorted, 0, n);
+
+		int	i = (int)Math.ceil(percent / 100.0 * n) - 1;
+
+		return sorted[Math.max(0, Math.min(n - 1, i))] / 1.0e6;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,213 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 11:36:02 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A LayerCache keeps a rarely-changing layer of the scene in an offscreen
+// framebuffer, and composites it into the canvas with a single textured quad.
+// The layer is rendered again only when its key (a value summarizing all of
+// the inputs that affect it) or the canvas size changes. Use it like this:
+//
+//   if (cache.begin(gl, key, w, h))
+//       drawLayer(gl);
+//
+//   cache.end(gl);
+//
+// The layer is rendered with separate alpha blending, so the texture holds
+// premultiplied colors, and is composited with GL_ONE, GL_ONE_MINUS_SRC_ALPHA.
+// Anti-aliased edges and translucent fills come out the same as they would
+// if drawn directly. If framebuffer objects are not available, begin() always
+// returns true and the layer is simply drawn directly every frame.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
+
+//******************************************************************************
+
+/**
+ * The <CODE>LayerCache</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class LayerCache
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	DIRECT = 0;		// Layer drawn directly
+	private static final int	CACHED = 1;		// Layer already in texture
+	private static final int	CAPTURE = 2;	// Layer being drawn to texture
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int[]		ids = new int[2];	// Framebuffer, texture
+	private int				w;				// Texture width
+	private int				h;				// Texture height
+	private int				key;			// Key the texture was drawn for
+	private boolean			valid;			// Texture holds the layer?
+
+	private int				state;			// Set by begin(), used by end()
+	private int				previous;		// Framebuffer bound before begin()
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public LayerCache()
+	{
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Forces the layer to be rendered again at the next begin().
+	public void	invalidate()
+	{
+		valid = false;
+	}
+
+	// Returns true if the caller must draw the layer before calling end().
+	public boolean	begin(GL2 gl, int key, int w, int h)
+	{
+		if (!gl.hasBasicFBOSupport() || w <= 0 || h <= 0)
+		{
+			state = DIRECT;
+			return true;
+		}
+
+		if (valid && key == this.key && w == this.w && h == this.h)
+		{
+			state = CACHED;
+			return false;
+		}
+
+		if (ids[0] == 0 || w != this.w || h != this.h)
+			allocate(gl, w, h);
+
+		this.key = key;
+		previous = gl.getBoundFramebuffer(GL.GL_FRAMEBUFFER);
+
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, ids[0]);
+		gl.glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+		gl.glClear(GL.GL_COLOR_BUFFER_BIT);
+		gl.glBlendFuncSeparate(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA,
+							   GL.GL_ONE, GL.GL_ONE_MINUS_SRC_ALPHA);
+
+		state = CAPTURE;
+		return true;
+	}
+
+	// Finishes capturing, if begin() started it, and composites the layer.
+	public void	end(GL2 gl)
+	{
+		if (state == DIRECT)
+			return;
+
+		if (state == CAPTURE)
+		{
+			gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, previous);
+			valid = true;
+		}
+
+		gl.glMatrixMode(GLMatrixFunc.GL_PROJECTION);
+		gl.glPushMatrix();
+		gl.glLoadIdentity();
+		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glLoadIdentity();
+
+		gl.glBlendFunc(GL.GL_ONE, GL.GL_ONE_MINUS_SRC_ALPHA);
+		gl.glEnable(GL.GL_TEXTURE_2D);
+		gl.glBindTexture(GL.GL_TEXTURE_2D, ids[1]);
+		gl.glColor4f(1.0f, 1.0f, 1.0f, 1.0f);
+
+		gl.glBegin(GL2.GL_QUADS);
+		gl.glTexCoord2f(0.0f, 0.0f);
+		gl.glVertex2f(-1.0f, -1.0f);
+		gl.glTexCoord2f(1.0f, 0.0f);
+		gl.glVertex2f(1.0f, -1.0f);
+		gl.glTexCoord2f(1.0f, 1.0f);
+		gl.glVertex2f(1.0f, 1.0f);
+		gl.glTexCoord2f(0.0f, 1.0f);
+		gl.glVertex2f(-1.0f, 1.0f);
+		gl.glEnd();
+
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+		gl.glDisable(GL.GL_TEXTURE_2D);
+		gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+
+		gl.glPopMatrix();
+		gl.glMatrixMode(GLMatrixFunc.GL_PROJECTION);
+		gl.glPopMatrix();
+		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		if (ids[0] != 0)
+		{
+			gl.glDeleteFramebuffers(1, ids, 0);
+			gl.glDeleteTextures(1, ids, 1);
+		}
+
+		ids[0] = 0;
+		ids[1] = 0;
+		valid = false;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	allocate(GL2 gl, int w, int h)
+	{
+		if (ids[0] == 0)
+		{
+			gl.glGenFramebuffers(1, ids, 0);
+			gl.glGenTextures(1, ids, 1);
+		}
+
+		gl.glBindTexture(GL.GL_TEXTURE_2D, ids[1]);
+		gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER,
+						   GL.GL_NEAREST);
+		gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER,
+						   GL.GL_NEAREST);
+		gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S,
+						   GL.GL_CLAMP_TO_EDGE);
+		gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T,
+						   GL.GL_CLAMP_TO_EDGE);
+		gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, GL.GL_RGBA8, w, h, 0,
+						GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, null);
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+
+		int	bound = gl.getBoundFramebuffer(GL.GL_FRAMEBUFFER);
+
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, ids[0]);
+		gl.glFramebufferTexture2D(GL.GL_FRAMEBUFFER, GL.GL_COLOR_ATTACHMENT0,
+								  GL.GL_TEXTURE_2D, ids[1], 0);
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, bound);
+
+		this.w = w;
+		this.h = h;
+		valid = false;
+	}
+}
+
+//******************************************************************************
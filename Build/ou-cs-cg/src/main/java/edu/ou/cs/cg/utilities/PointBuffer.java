@@ -0,0 +1,247 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 00:31:18 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A growable list of points, drawn as GL_POINTS (or another primitive) from a
+// vertex buffer object, for pictures that gain points over time. Each point
+// is an x, y, and, if the buffer was made with colors, an r, g, b.
+//
+// Points are only ever appended, or all cleared. Drawing uploads just the
+// points appended since the last draw, so keeping a picture growing costs
+// time in proportion to the points added, not to all of them. The buffer
+// object doubles when it runs out of room, and then everything is uploaded
+// once more.
+//
+// Points can be added one at a time, or written straight into the buffer by
+// index after reserve(), even from several threads at once, and then counted
+// with setSize().
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PointBuffer</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class PointBuffer
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final int			floats;			// Per point: 2, or 5 with rgb
+	private FloatBuffer		data;
+	private int				count;			// Number of points
+	private int				uploaded;		// Points in the buffer object
+
+	// Vertex buffer object
+	private int				vbo;
+	private int				vboCapacity;	// In points
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PointBuffer(boolean colors)
+	{
+		floats = (colors ? 5 : 2);
+		data = Buffers.newDirectFloatBuffer(floats * 256);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return count;
+	}
+
+	public boolean	hasColors()
+	{
+		return (floats == 5);
+	}
+
+	// Returns the number of floats per point.
+	public int	getStride()
+	{
+		return floats;
+	}
+
+	// Returns the points, by index. The buffer is replaced when it grows.
+	public FloatBuffer	getData()
+	{
+		return data;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	public void	clear()
+	{
+		count = 0;
+		uploaded = 0;
+	}
+
+	public void	add(double x, double y)
+	{
+		reserve(count + 1);
+
+		int	i = floats * count++;
+
+		data.put(i, (float)x);
+		data.put(i + 1, (float)y);
+	}
+
+	public void	add(double x, double y, float r, float g, float b)
+	{
+		reserve(count + 1);
+
+		int	i = floats * count++;
+
+		data.put(i, (float)x);
+		data.put(i + 1, (float)y);
+
+		if (floats == 5)
+		{
+			data.put(i + 2, r);
+			data.put(i + 3, g);
+			data.put(i + 4, b);
+		}
+	}
+
+	// Makes room for n points in all, and returns the buffer to write them
+	// into. Point i starts at index i * getStride(). Call setSize() after.
+	public FloatBuffer	reserve(int n)
+	{
+		if (floats * n > data.capacity())
+		{
+			FloatBuffer	bigger = Buffers.newDirectFloatBuffer(
+				Math.max(floats * n, 2 * data.capacity()));
+
+			data.clear();
+			data.limit(floats * count);
+			bigger.put(data);
+			bigger.clear();
+			data = bigger;
+		}
+
+		return data;
+	}
+
+	// Counts the points written after reserve(), up to n in all.
+	public void	setSize(int n)
+	{
+		count = n;
+		uploaded = Math.min(uploaded, n);
+	}
+
+	// Uploads the points added since the last draw, then draws them all.
+	public void	draw(GL2 gl)
+	{
+		draw(gl, GL.GL_POINTS);
+	}
+
+	// Same as draw(), as another primitive, such as GL_LINE_STRIP.
+	public void	draw(GL2 gl, int mode)
+	{
+		if (count == 0)
+			return;
+
+		upload(gl);
+
+		int	stride = floats * Buffers.SIZEOF_FLOAT;
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+		gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+		gl.glVertexPointer(2, GL.GL_FLOAT, stride, 0L);
+
+		if (floats == 5)
+		{
+			gl.glEnableClientState(GL2.GL_COLOR_ARRAY);
+			gl.glColorPointer(3, GL.GL_FLOAT, stride,
+							  2L * Buffers.SIZEOF_FLOAT);
+		}
+
+		gl.glDrawArrays(mode, 0, count);
+
+		if (floats == 5)
+			gl.glDisableClientState(GL2.GL_COLOR_ARRAY);
+
+		gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+	}
+
+	// Releases the buffer object. The points are kept, so they can be drawn
+	// again in a new context.
+	public void	dispose(GL2 gl)
+	{
+		if (vbo != 0)
+			gl.glDeleteBuffers(1, new int[] { vbo }, 0);
+
+		vbo = 0;
+		vboCapacity = 0;
+		uploaded = 0;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	upload(GL2 gl)
+	{
+		long	size = floats * Buffers.SIZEOF_FLOAT;
+
+		if (vbo == 0)
+		{
+			int[]	ids = new int[1];
+
+			gl.glGenBuffers(1, ids, 0);
+			vbo = ids[0];
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+
+		if (count > vboCapacity)
+		{
+			vboCapacity = Math.max(count, 2 * vboCapacity);
+			uploaded = 0;
+
+			gl.glBufferData(GL.GL_ARRAY_BUFFER, vboCapacity * size, null,
+							GL.GL_DYNAMIC_DRAW);
+		}
+
+		if (uploaded < count)
+		{
+			data.position(floats * uploaded);
+			gl.glBufferSubData(GL.GL_ARRAY_BUFFER, uploaded * size,
+							   (count - uploaded) * size, data);
+			data.position(0);
+
+			uploaded = count;
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+	}
+}
+
+//******************************************************************************
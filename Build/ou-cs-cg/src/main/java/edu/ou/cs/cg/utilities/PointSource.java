@@ -0,0 +1,56 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Mon Oct 19 01:34:51 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Something that makes points on an attractor without end, such as a chaos
+// game, an iterated map, or a flow, for a DensityImage to count. Each thread
+// gets its own Walker, with its own state and random numbers, so walkers
+// never share anything as they go.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import java.util.SplittableRandom;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PointSource</CODE> interface.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public interface PointSource
+{
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Returns a new walker, already on the attractor, that takes its random
+	// numbers (if any) from the given generator.
+	public Walker	newWalker(SplittableRandom random);
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Goes on from its last point, one batch at a time.
+	public interface Walker
+	{
+		// Writes the next count points into out as x, y pairs from zero.
+		public void	walk(FloatBuffer out, int count);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,257 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 18:51:07 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Thins out the points of a stroke drawn by dragging, so that how many points
+// a stroke gets depends on how far it goes, not on how often the mouse
+// reports motion. Between begin() and end(), add() keeps a point only if it
+// is at least the spacing away from the last point kept, and only until the
+// stroke has the maximum number of points.
+//
+// When the stroke ends, the kept points can also be simplified with the
+// Ramer-Douglas-Peucker algorithm: a point is dropped if it is within the
+// tolerance of the line between the points kept around it. The first and last
+// points are always kept. A tolerance of zero turns simplification off.
+//
+// Distances are in whatever units the points are given in. Nothing is
+// allocated after a stroke reaches its largest size so far.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>StrokeFilter</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class StrokeFilter
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Settings
+	private double			spacing;		// Least distance between points
+	private double			tolerance;		// For simplifying; zero if off
+	private int			maxPoints;		// Most points per stroke
+
+	// The points kept in the current stroke, as x, y pairs
+	private double[]		xy = new double[256];
+	private boolean[]		kept = new boolean[128];	// After end()
+	private int[]			stack = new int[256];		// Ranges for end()
+	private int			n;
+	private boolean		active;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public StrokeFilter(double spacing, double tolerance, int maxPoints)
+	{
+		setSpacing(spacing);
+		setTolerance(tolerance);
+		setMaxPoints(maxPoints);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public double	getSpacing()
+	{
+		return spacing;
+	}
+
+	public void	setSpacing(double spacing)
+	{
+		this.spacing = Math.max(0.0, spacing);
+	}
+
+	public double	getTolerance()
+	{
+		return tolerance;
+	}
+
+	public void	setTolerance(double tolerance)
+	{
+		this.tolerance = Math.max(0.0, tolerance);
+	}
+
+	public int	getMaxPoints()
+	{
+		return maxPoints;
+	}
+
+	public void	setMaxPoints(int maxPoints)
+	{
+		this.maxPoints = Math.max(1, maxPoints);
+	}
+
+	public boolean	isActive()
+	{
+		return active;
+	}
+
+	// Returns the number of points kept by add() in the current or last
+	// stroke.
+	public int	getCount()
+	{
+		return n;
+	}
+
+	// Returns true if simplifying at the end of the last stroke kept the
+	// point that add() kept as the i-th.
+	public boolean	isKept(int i)
+	{
+		return kept[i];
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Starts a stroke, forgetting the last one.
+	public void	begin()
+	{
+		n = 0;
+		active = true;
+	}
+
+	// Offers the next point of the stroke. Returns true if it is kept.
+	public boolean	add(double x, double y)
+	{
+		if (!active || n == maxPoints)
+			return false;
+
+		if (n > 0)
+		{
+			double	dx = x - xy[2 * n - 2];
+			double	dy = y - xy[2 * n - 1];
+
+			if (dx * dx + dy * dy < spacing * spacing)
+				return false;
+		}
+
+		if (2 * n == xy.length)
+			xy = Arrays.copyOf(xy, 2 * xy.length);
+
+		xy[2 * n] = x;
+		xy[2 * n + 1] = y;
+		n++;
+
+		return true;
+	}
+
+	// Ends the stroke and simplifies it. Returns how many of its points are
+	// still kept; isKept() tells which.
+	public int	end()
+	{
+		active = false;
+
+		if (kept.length < n)
+			kept = new boolean[Math.max(n, 2 * kept.length)];
+
+		Arrays.fill(kept, 0, n, true);
+
+		if (tolerance == 0.0 || n < 3)
+			return n;
+
+		Arrays.fill(kept, 1, n - 1, false);
+
+		// Ranges still to simplify, as pairs of the points kept at their ends
+		int	top = push(0, 0, n - 1);
+		int	count = 2;
+
+		while (top > 0)
+		{
+			int	hi = stack[--top];
+			int	lo = stack[--top];
+			int	far = farthest(lo, hi);
+
+			if (far >= 0)
+			{
+				kept[far] = true;
+				count++;
+
+				top = push(top, lo, far);
+				top = push(top, far, hi);
+			}
+		}
+
+		return count;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private int	push(int top, int lo, int hi)
+	{
+		if (hi - lo < 2)
+			return top;
+
+		if (top + 2 > stack.length)
+			stack = Arrays.copyOf(stack, 2 * stack.length);
+
+		stack[top] = lo;
+		stack[top + 1] = hi;
+
+		return top + 2;
+	}
+
+	// Returns the point between lo and hi farthest from the line through
+	// them, if it is farther than the tolerance, or -1.
+	private int	farthest(int lo, int hi)
+	{
+		double	x0 = xy[2 * lo];
+		double	y0 = xy[2 * lo + 1];
+		double	dx = xy[2 * hi] - x0;
+		double	dy = xy[2 * hi + 1] - y0;
+		double	len2 = dx * dx + dy * dy;
+		double	best = tolerance * tolerance;
+		int		found = -1;
+
+		for (int i=lo+1; i<hi; i++)
+		{
+			double	px = xy[2 * i] - x0;
+			double	py = xy[2 * i + 1] - y0;
+			double	d;
+
+			if (len2 == 0.0)				// Closed loop; use the distance
+			{								// to the end point instead
+				d = px * px + py * py;
+			}
+			else
+			{
+				double	c = px * dy - py * dx;
+
+				d = c * c / len2;
+			}
+
+			if (d > best)
+			{
+				best = d;
+				found = i;
+			}
+		}
+
+		return found;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,183 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 12:20:47 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Shared tessellation of circles, fans, and arcs. Points come from cached
+// tables of cos and sin for each segment count, so no trig is done per point.
+// An arc that starts at an arbitrary angle is a rotation of the table, which
+// costs one cos and one sin per arc.
+//
+// How many segments a circle needs depends on how big it is on the screen,
+// not in the scene. Pass the radius in pixels to segments(). It returns the
+// fewest segments (a multiple of 4, for symmetry) that keep every chord within
+// the given tolerance of the true circle. A 4-pixel door knob then gets 12
+// segments instead of 360, while a large circle still gets enough.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Tessellation</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class Tessellation
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final double	TOLERANCE = 0.25;	// Pixels
+	public static final int	MIN_SEGMENTS = 8;
+	public static final int	MAX_SEGMENTS = 1024;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final Table[]	TABLES = new Table[MAX_SEGMENTS + 1];
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	private Tessellation()
+	{
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Returns the number of segments for a full circle with the given radius
+	// in pixels, so that no chord strays more than tolerance pixels inside.
+	public static int	segments(double radius, double tolerance)
+	{
+		if (radius <= tolerance)
+			return MIN_SEGMENTS;
+
+		double	n = Math.PI / Math.acos(1.0 - tolerance / radius);
+
+		if (!(n < MAX_SEGMENTS))				// Also catches NaN
+			return MAX_SEGMENTS;
+
+		int	m = 4 * (int)Math.ceil(n / 4.0);
+
+		return Math.max(MIN_SEGMENTS, Math.min(MAX_SEGMENTS, m));
+	}
+
+	public static int	segments(double radius)
+	{
+		return segments(radius, TOLERANCE);
+	}
+
+	// Writes the n points of a circle of radius r around (cx, cy), starting
+	// at angle zero, into xy as x, y pairs. Returns xy, or a larger array if
+	// xy was too small, so callers can keep the result as scratch space.
+	public static double[]	circle(double cx, double cy, double r, int n,
+								   double[] xy)
+	{
+		return arc(cx, cy, r, 0.0, n, n - 1, xy);
+	}
+
+	// Writes the count + 1 points of an arc of radius r around (cx, cy) that
+	// starts at angle a0 and advances 2 * PI / n per point. Returns xy, or a
+	// larger array if xy was too small.
+	public static double[]	arc(double cx, double cy, double r, double a0,
+								int n, int count, double[] xy)
+	{
+		Table		t = table(n);
+		double[]	out = xy;
+
+		if (out == null || out.length < 2 * (count + 1))
+			out = new double[2 * (count + 1)];
+
+		if (a0 == 0.0)
+		{
+			for (int i=0; i<=count; i++)
+			{
+				int	j = i % n;
+
+				out[2 * i] = cx + r * t.cos[j];
+				out[2 * i + 1] = cy + r * t.sin[j];
+			}
+		}
+		else
+		{
+			double	c = Math.cos(a0);
+			double	s = Math.sin(a0);
+
+			for (int i=0; i<=count; i++)
+			{
+				int	j = i % n;
+
+				out[2 * i] = cx + r * (c * t.cos[j] - s * t.sin[j]);
+				out[2 * i + 1] = cy + r * (s * t.cos[j] + c * t.sin[j]);
+			}
+		}
+
+		return out;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Tables are built on first use. A race only builds a table twice.
+	private static Table	table(int n)
+	{
+		if (n < 1 || n > MAX_SEGMENTS)
+			throw new IllegalArgumentException("Segments: " + n);
+
+		Table	t = TABLES[n];
+
+		if (t == null)
+		{
+			t = new Table(n);
+			TABLES[n] = t;
+		}
+
+		return t;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Cos and sin of 2 * PI * i / n for i in [0, n).
+	private static final class Table
+	{
+		public final double[]	cos;
+		public final double[]	sin;
+
+		public Table(int n)
+		{
+			cos = new double[n];
+			sin = new double[n];
+
+			for (int i=0; i<n; i++)
+			{
+				double	a = 2.0 * Math.PI * i / n;
+
+				cos[i] = Math.cos(a);
+				sin[i] = Math.sin(a);
+			}
+		}
+	}
+}
+
+//******************************************************************************
@@ -18,7 +18,6 @@ package edu.ou.cs.cg.utilities;
 //import java.lang.*;
 import java.awt.event.*;
 import com.jogamp.opengl.*;
-import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
 
 //******************************************************************************
@@ -31,6 +30,18 @@ import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
  */
 public final class Utilities
 {
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Scratch space for the mappings that read the matrices from GL. Reading
+	// needs a current GL context, so these are only used on the GL thread.
+	// Code that keeps its own ViewTransform can map without reading GL.
+	private static final ViewTransform	TRANSFORM = new ViewTransform();
+	private static final double[]	MV = new double[16];	// modelview
+	private static final double[]	PR = new double[16];	// projection
+	private static final int[]		VP = new int[4];		// viewport
+
 	//**********************************************************************
 	// Private Methods (Coordinate Mapping)
 	//**********************************************************************
@@ -38,39 +49,55 @@ public final class Utilities
 	// Give this method integer x and y coordinates, e.g. of a mouse event.
 	public static double[]	mapViewToScene(GL2 gl, double x, double y, double z)
 	{
-		GLU		glu = GLU.createGLU();
-		double[]	mv = new double[16];		// modelview
-		double[]	pr = new double[16];		// projection
-		int[]		vp = new int[4];			// viewport
-
-		gl.glGetDoublev(GLMatrixFunc.GL_MODELVIEW_MATRIX, mv, 0);
-		gl.glGetDoublev(GLMatrixFunc.GL_PROJECTION_MATRIX, pr, 0);
-		gl.glGetIntegerv(GL.GL_VIEWPORT, vp, 0);
+		return mapViewToScene(gl, x, y, z, new double[3]);
+	}
 
-		double[]	p = new double[3];			// Scene coordinates
+	// Receive from this method integer x and y pixel coordinates of scene item.
+	public static double[]	mapSceneToView(GL2 gl, double x, double y, double z)
+	{
+		return mapSceneToView(gl, x, y, z, new double[3]);
+	}
 
-		glu.gluUnProject(x, y, z, mv, 0, pr, 0, vp, 0, p, 0);
+	// Same as above, but writes the scene coordinates into p and returns it.
+	// Allocates nothing, so it is safe to call every frame.
+	public static double[]	mapViewToScene(GL2 gl, double x, double y,
+										   double z, double[] p)
+	{
+		readMatrices(gl);
 
-		return p;
+		return TRANSFORM.mapViewToScene(x, y, z, p);
 	}
 
-	// Receive from this method integer x and y pixel coordinates of scene item.
-	public static double[]	mapSceneToView(GL2 gl, double x, double y, double z)
+	// Same as above, but writes the view coordinates into p and returns it.
+	// Allocates nothing, so it is safe to call every frame.
+	public static double[]	mapSceneToView(GL2 gl, double x, double y,
+										   double z, double[] p)
 	{
-		GLU		glu = GLU.createGLU();
-		double[]	mv = new double[16];		// modelview
-		double[]	pr = new double[16];		// projection
-		int[]		vp = new int[4];			// viewport
+		readMatrices(gl);
 
-		gl.glGetDoublev(GLMatrixFunc.GL_MODELVIEW_MATRIX, mv, 0);
-		gl.glGetDoublev(GLMatrixFunc.GL_PROJECTION_MATRIX, pr, 0);
-		gl.glGetIntegerv(GL.GL_VIEWPORT, vp, 0);
+		return TRANSFORM.mapSceneToView(x, y, z, p);
+	}
 
-		double[]	p = new double[3];			// Screen coordinates
+	// Maps n points, given as x, y pairs in xy, writing scene x, y pairs into
+	// p. The matrices are read, and inverted, once for all of the points.
+	// Returns p.
+	public static double[]	mapViewToScene(GL2 gl, double[] xy, int n,
+										   double[] p)
+	{
+		readMatrices(gl);
+
+		return TRANSFORM.mapViewToScene(xy, n, p);
+	}
 
-		glu.gluProject(x, y, z, mv, 0, pr, 0, vp, 0, p, 0);
+	private static void	readMatrices(GL2 gl)
+	{
+		gl.glGetDoublev(GLMatrixFunc.GL_MODELVIEW_MATRIX, MV, 0);
+		gl.glGetDoublev(GLMatrixFunc.GL_PROJECTION_MATRIX, PR, 0);
+		gl.glGetIntegerv(GL.GL_VIEWPORT, VP, 0);
 
-		return p;
+		TRANSFORM.setModelview(MV, 0);
+		TRANSFORM.setProjection(PR, 0);
+		TRANSFORM.setViewport(VP[0], VP[1], VP[2], VP[3]);
 	}
 
 	//**********************************************************************
@@ -0,0 +1,414 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 09:12:40 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A VertexBatch records geometry with the same begin/vertex/end calls used in
+// immediate mode, but keeps the vertices in a vertex buffer object so that the
+// whole batch can be drawn again and again with a handful of glDrawArrays()
+// calls. Polygons, fans, and strips are converted to triangles; loops and
+// strips of lines are converted to separate line segments. Consecutive
+// primitives of the same kind are merged, but the recording order is kept so
+// that later fills still cover earlier edges exactly as they did before.
+//
+// Part of a batch can be recorded again in place by calling seek() with the
+// index of its first vertex (from size() at the time it was first recorded),
+// recording the same kinds of primitives with the same number of vertices,
+// and then calling commit(). Only the rewritten vertices are uploaded.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>VertexBatch</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class VertexBatch
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	FLOATS = 6;			// x, y, r, g, b, a
+	private static final int	STRIDE = FLOATS * Buffers.SIZEOF_FLOAT;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// Recorded vertices, interleaved
+	private float[]			data = new float[FLOATS * 256];
+	private int				count;			// Number of vertices
+
+	// Recorded spans of vertices that share a mode and line width
+	private int[]				spanMode = new int[16];
+	private int[]				spanFirst = new int[16];
+	private int[]				spanCount = new int[16];
+	private float[]			spanWidth = new float[16];
+	private int				spans;			// Number of spans
+
+	// Current attribute state
+	private float				r = 1.0f;
+	private float				g = 1.0f;
+	private float				b = 1.0f;
+	private float				a = 1.0f;
+	private float				width = 1.0f;
+
+	// Primitive being recorded between begin() and end()
+	private int				mode = -1;
+	private float[]			prim = new float[2 * 64];
+	private int				pcount;			// Vertices in the primitive
+	private int				cursor = -1;	// Vertex to overwrite, or -1
+
+	// Buffer object state
+	private int				vbo;			// Zero until first upload
+	private int				vboCapacity;	// In vertices
+	private FloatBuffer		staging;
+	private int				dirtyLo = Integer.MAX_VALUE;
+	private int				dirtyHi = 0;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public VertexBatch()
+	{
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return count;
+	}
+
+	public boolean	isEmpty()
+	{
+		return (count == 0);
+	}
+
+	//**********************************************************************
+	// Public Methods (Recording)
+	//**********************************************************************
+
+	// Forgets all recorded geometry so the batch can be recorded again.
+	public void	clear()
+	{
+		count = 0;
+		spans = 0;
+		mode = -1;
+		pcount = 0;
+		cursor = -1;
+		r = g = b = a = 1.0f;
+		width = 1.0f;
+		dirtyLo = 0;
+		dirtyHi = 0;
+	}
+
+	public void	setColor(float r, float g, float b, float a)
+	{
+		this.r = r;
+		this.g = g;
+		this.b = b;
+		this.a = a;
+	}
+
+	// Non-positive widths are ignored, just as glLineWidth() ignores them.
+	public void	setLineWidth(float width)
+	{
+		if (width > 0.0f)
+			this.width = width;
+	}
+
+	public void	begin(int mode)
+	{
+		this.mode = mode;
+		pcount = 0;
+	}
+
+	public void	vertex(double x, double y)
+	{
+		if (2 * pcount + 2 > prim.length)
+			prim = Arrays.copyOf(prim, 2 * prim.length);
+
+		prim[2 * pcount] = (float)x;
+		prim[2 * pcount + 1] = (float)y;
+		pcount++;
+	}
+
+	public void	end()
+	{
+		switch (mode)
+		{
+			case GL.GL_POINTS:
+				for (int i=0; i<pcount; i++)
+					emit(GL.GL_POINTS, i);
+				break;
+
+			case GL.GL_LINES:
+				for (int i=0; i+1<pcount; i+=2)
+				{
+					emit(GL.GL_LINES, i);
+					emit(GL.GL_LINES, i + 1);
+				}
+				break;
+
+			case GL.GL_LINE_STRIP:
+			case GL.GL_LINE_LOOP:
+				for (int i=0; i+1<pcount; i++)
+				{
+					emit(GL.GL_LINES, i);
+					emit(GL.GL_LINES, i + 1);
+				}
+
+				if (mode == GL.GL_LINE_LOOP && pcount > 2)
+				{
+					emit(GL.GL_LINES, pcount - 1);
+					emit(GL.GL_LINES, 0);
+				}
+				break;
+
+			case GL.GL_TRIANGLES:
+				for (int i=0; i+2<pcount; i+=3)
+				{
+					emit(GL.GL_TRIANGLES, i);
+					emit(GL.GL_TRIANGLES, i + 1);
+					emit(GL.GL_TRIANGLES, i + 2);
+				}
+				break;
+
+			case GL.GL_TRIANGLE_STRIP:
+			case GL2.GL_QUAD_STRIP:
+				for (int i=0; i+2<pcount; i++)
+				{
+					// Alternate winding so every triangle faces the same way
+					boolean	odd = ((i % 2) == 1);
+
+					emit(GL.GL_TRIANGLES, odd ? i + 1 : i);
+					emit(GL.GL_TRIANGLES, odd ? i : i + 1);
+					emit(GL.GL_TRIANGLES, i + 2);
+				}
+				break;
+
+			case GL.GL_TRIANGLE_FAN:
+			case GL2.GL_POLYGON:			// Convex polygons only
+				for (int i=1; i+1<pcount; i++)
+				{
+					emit(GL.GL_TRIANGLES, 0);
+					emit(GL.GL_TRIANGLES, i);
+					emit(GL.GL_TRIANGLES, i + 1);
+				}
+				break;
+
+			default:
+				throw new IllegalStateException("Unsupported mode: " + mode);
+		}
+
+		mode = -1;
+		pcount = 0;
+	}
+
+	// Starts recording over the vertices beginning at the given index.
+	public void	seek(int vertex)
+	{
+		if (vertex < 0 || vertex > count)
+			throw new IndexOutOfBoundsException("Vertex: " + vertex);
+
+		cursor = vertex;
+	}
+
+	// Goes back to appending vertices at the end of the batch.
+	public void	commit()
+	{
+		cursor = -1;
+	}
+
+	//**********************************************************************
+	// Public Methods (Drawing)
+	//**********************************************************************
+
+	// Uploads any newly recorded vertices, then draws all spans in order.
+	public void	draw(GL2 gl)
+	{
+		if (count == 0)
+			return;
+
+		upload(gl);
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+		gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+		gl.glEnableClientState(GL2.GL_COLOR_ARRAY);
+		gl.glVertexPointer(2, GL.GL_FLOAT, STRIDE, 0L);
+		gl.glColorPointer(4, GL.GL_FLOAT, STRIDE, 2L * Buffers.SIZEOF_FLOAT);
+
+		float	current = 1.0f;
+
+		for (int i=0; i<spans; i++)
+		{
+			if (spanWidth[i] != current)
+			{
+				current = spanWidth[i];
+				gl.glLineWidth(current);
+			}
+
+			gl.glDrawArrays(spanMode[i], spanFirst[i], spanCount[i]);
+		}
+
+		if (current != 1.0f)
+			gl.glLineWidth(1.0f);
+
+		gl.glDisableClientState(GL2.GL_COLOR_ARRAY);
+		gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+	}
+
+	// Releases the buffer object. The recorded vertices are kept, so the
+	// batch can be drawn again in a new context.
+	public void	dispose(GL2 gl)
+	{
+		if (vbo != 0)
+			gl.glDeleteBuffers(1, new int[] { vbo }, 0);
+
+		vbo = 0;
+		vboCapacity = 0;
+		dirtyLo = 0;
+		dirtyHi = count;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Appends the i-th vertex of the current primitive as a vertex of the
+	// given (independent) mode, extending the last span when possible.
+	private void	emit(int m, int i)
+	{
+		if (cursor >= 0)
+		{
+			if (cursor >= count)
+				throw new IllegalStateException("Rewrite past end of batch");
+
+			put(cursor, i);
+			dirtyLo = Math.min(dirtyLo, cursor);
+			dirtyHi = Math.max(dirtyHi, cursor + 1);
+			cursor++;
+			return;
+		}
+
+		if (FLOATS * (count + 1) > data.length)
+			data = Arrays.copyOf(data, 2 * data.length);
+
+		put(count, i);
+
+		float	w = ((m == GL.GL_POINTS) ? 1.0f : width);
+		int		last = spans - 1;
+
+		if (spans > 0 && spanMode[last] == m && spanWidth[last] == w &&
+			spanFirst[last] + spanCount[last] == count)
+		{
+			spanCount[last]++;
+		}
+		else
+		{
+			if (spans == spanMode.length)
+			{
+				spanMode = Arrays.copyOf(spanMode, 2 * spans);
+				spanFirst = Arrays.copyOf(spanFirst, 2 * spans);
+				spanCount = Arrays.copyOf(spanCount, 2 * spans);
+				spanWidth = Arrays.copyOf(spanWidth, 2 * spans);
+			}
+
+			spanMode[spans] = m;
+			spanFirst[spans] = count;
+			spanCount[spans] = 1;
+			spanWidth[spans] = w;
+			spans++;
+		}
+
+		dirtyLo = Math.min(dirtyLo, count);
+		dirtyHi = Math.max(dirtyHi, count + 1);
+		count++;
+	}
+
+	// Stores the i-th vertex of the current primitive at vertex index v.
+	private void	put(int v, int i)
+	{
+		int	o = FLOATS * v;
+
+		data[o] = prim[2 * i];
+		data[o + 1] = prim[2 * i + 1];
+		data[o + 2] = r;
+		data[o + 3] = g;
+		data[o + 4] = b;
+		data[o + 5] = a;
+	}
+
+	// Copies the dirty range of vertices into the buffer object, growing it
+	// (and copying everything) only when it is too small.
+	private void	upload(GL2 gl)
+	{
+		if (dirtyLo >= dirtyHi && vbo != 0)
+			return;
+
+		if (vbo == 0)
+		{
+			int[]	ids = new int[1];
+
+			gl.glGenBuffers(1, ids, 0);
+			vbo = ids[0];
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+
+		if (count > vboCapacity)
+		{
+			vboCapacity = Math.max(count, 2 * vboCapacity);
+			staging = Buffers.newDirectFloatBuffer(FLOATS * vboCapacity);
+			staging.put(data, 0, FLOATS * count);
+			staging.rewind();
+
+			gl.glBufferData(GL.GL_ARRAY_BUFFER,
+							(long)vboCapacity * STRIDE, staging,
+							GL.GL_STATIC_DRAW);
+		}
+		else
+		{
+			int	lo = Math.min(dirtyLo, count);
+			int	hi = Math.min(dirtyHi, count);
+
+			staging.clear();
+			staging.put(data, FLOATS * lo, FLOATS * (hi - lo));
+			staging.flip();
+
+			gl.glBufferSubData(GL.GL_ARRAY_BUFFER, (long)lo * STRIDE,
+							   (long)(hi - lo) * STRIDE, staging);
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+
+		dirtyLo = Integer.MAX_VALUE;
+		dirtyHi = 0;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,314 @@
+//******************************************************************************
+// Copyright (C) 2020 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sun Oct 18 18:24:15 2026 by Tony Nguyen
+//******************************************************************************
+// Major Modification History:
+//
+// 20201018 [nguyen]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A copy of the projection matrix, modelview matrix, and viewport, kept on the
+// CPU so that points can be mapped between view and scene coordinates without
+// asking GL for its state. Matrices are column-major, as in OpenGL. The
+// mappings match gluProject() and gluUnProject().
+//
+// The combined matrix and its inverse are computed the first time they are
+// needed after a change, and then reused until the next change. Mapping a
+// whole stroke of points takes one inversion at most, and mapping allocates
+// nothing. Use loadProjection() and loadModelview() to put the same matrices
+// into GL, so that what is drawn and what is mapped always agree.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ViewTransform</CODE> class.<P>
+ *
+ * @author  Tony Nguyen
+ * @version %I%, %G%
+ */
+public final class ViewTransform
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private final double[]	projection = new double[16];
+	private final double[]	modelview = new double[16];
+	private final double[]	viewport = new double[4];	// x, y, w, h
+
+	// Projection times modelview, and its inverse, as of the last change
+	private final double[]	m = new double[16];
+	private final double[]	inverse = new double[16];
+	private boolean		stale = true;
+	private boolean		singular;
+	private int			inversions;				// For measuring
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public ViewTransform()
+	{
+		identity(projection);
+		identity(modelview);
+
+		viewport[2] = 1.0;
+		viewport[3] = 1.0;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Returns how many times the inverse has been computed.
+	public int	getInversions()
+	{
+		return inversions;
+	}
+
+	// Sets the projection to the same matrix as glOrtho() makes from identity.
+	public void	setOrtho(double l, double r, double b, double t,
+						 double n, double f)
+	{
+		identity(projection);
+
+		projection[0] = 2.0 / (r - l);
+		projection[5] = 2.0 / (t - b);
+		projection[10] = -2.0 / (f - n);
+		projection[12] = -(r + l) / (r - l);
+		projection[13] = -(t + b) / (t - b);
+		projection[14] = -(f + n) / (f - n);
+
+		stale = true;
+	}
+
+	public void	setProjection(double[] a, int offset)
+	{
+		System.arraycopy(a, offset, projection, 0, 16);
+		stale = true;
+	}
+
+	public void	setModelview(double[] a, int offset)
+	{
+		System.arraycopy(a, offset, modelview, 0, 16);
+		stale = true;
+	}
+
+	public void	setModelviewIdentity()
+	{
+		identity(modelview);
+		stale = true;
+	}
+
+	public void	setViewport(int x, int y, int w, int h)
+	{
+		viewport[0] = x;
+		viewport[1] = y;
+		viewport[2] = w;
+		viewport[3] = h;
+	}
+
+	//**********************************************************************
+	// Public Methods (GL)
+	//**********************************************************************
+
+	// Replaces the GL projection matrix with this one. Leaves the matrix mode
+	// set to GL_PROJECTION.
+	public void	loadProjection(GL2 gl)
+	{
+		gl.glMatrixMode(GLMatrixFunc.GL_PROJECTION);
+		gl.glLoadMatrixd(projection, 0);
+	}
+
+	// Replaces the GL modelview matrix with this one. Leaves the matrix mode
+	// set to GL_MODELVIEW.
+	public void	loadModelview(GL2 gl)
+	{
+		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+		gl.glLoadMatrixd(modelview, 0);
+	}
+
+	//**********************************************************************
+	// Public Methods (Mapping)
+	//**********************************************************************
+
+	// Maps a point in view (window) coordinates to the scene, like
+	// gluUnProject(). Writes x, y, z into p and returns it. If the matrices
+	// cannot be inverted, p is left as it was.
+	public double[]	mapViewToScene(double x, double y, double z, double[] p)
+	{
+		update();
+
+		if (singular)
+			return p;
+
+		double	nx = 2.0 * (x - viewport[0]) / viewport[2] - 1.0;
+		double	ny = 2.0 * (y - viewport[1]) / viewport[3] - 1.0;
+		double	nz = 2.0 * z - 1.0;
+		double[]	a = inverse;
+		double	w = a[3] * nx + a[7] * ny + a[11] * nz + a[15];
+
+		p[0] = (a[0] * nx + a[4] * ny + a[8] * nz + a[12]) / w;
+		p[1] = (a[1] * nx + a[5] * ny + a[9] * nz + a[13]) / w;
+		p[2] = (a[2] * nx + a[6] * ny + a[10] * nz + a[14]) / w;
+
+		return p;
+	}
+
+	// Maps a point in scene coordinates to the view, like gluProject().
+	// Writes x, y, z into p and returns it.
+	public double[]	mapSceneToView(double x, double y, double z, double[] p)
+	{
+		update();
+
+		double	w = m[3] * x + m[7] * y + m[11] * z + m[15];
+		double	nx = (m[0] * x + m[4] * y + m[8] * z + m[12]) / w;
+		double	ny = (m[1] * x + m[5] * y + m[9] * z + m[13]) / w;
+		double	nz = (m[2] * x + m[6] * y + m[10] * z + m[14]) / w;
+
+		p[0] = viewport[0] + viewport[2] * (nx + 1.0) / 2.0;
+		p[1] = viewport[1] + viewport[3] * (ny + 1.0) / 2.0;
+		p[2] = (nz + 1.0) / 2.0;
+
+		return p;
+	}
+
+	// Maps n points, given as view x, y pairs in xy at depth 0, writing scene
+	// x, y pairs into p. The arrays may be the same. Returns p.
+	public double[]	mapViewToScene(double[] xy, int n, double[] p)
+	{
+		update();
+
+		if (singular)
+			return p;
+
+		double[]	a = inverse;
+
+		for (int i=0; i<n; i++)
+		{
+			double	nx = 2.0 * (xy[2 * i] - viewport[0]) / viewport[2] - 1.0;
+			double	ny = 2.0 * (xy[2 * i + 1] - viewport[1]) / viewport[3] - 1.0;
+			double	w = a[3] * nx + a[7] * ny - a[11] + a[15];
+
+			p[2 * i] = (a[0] * nx + a[4] * ny - a[8] + a[12]) / w;
+			p[2 * i + 1] = (a[1] * nx + a[5] * ny - a[9] + a[13]) / w;
+		}
+
+		return p;
+	}
+
+	// Maps n points, given as scene x, y pairs in xy at z 0, writing view
+	// x, y pairs into p. The arrays may be the same. Returns p.
+	public double[]	mapSceneToView(double[] xy, int n, double[] p)
+	{
+		update();
+
+		for (int i=0; i<n; i++)
+		{
+			double	x = xy[2 * i];
+			double	y = xy[2 * i + 1];
+			double	w = m[3] * x + m[7] * y + m[15];
+			double	nx = (m[0] * x + m[4] * y + m[12]) / w;
+			double	ny = (m[1] * x + m[5] * y + m[13]) / w;
+
+			p[2 * i] = viewport[0] + viewport[2] * (nx + 1.0) / 2.0;
+			p[2 * i + 1] = viewport[1] + viewport[3] * (ny + 1.0) / 2.0;
+		}
+
+		return p;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private static void	identity(double[] a)
+	{
+		for (int i=0; i<16; i++)
+			a[i] = ((i % 5 == 0) ? 1.0 : 0.0);
+	}
+
+	// Recomputes the combined matrix and its inverse after a change.
+	private void	update()
+	{
+		if (!stale)
+			return;
+
+		for (int c=0; c<4; c++)
+		{
+			for (int r=0; r<4; r++)
+			{
+				double	v = 0.0;
+
+				for (int k=0; k<4; k++)
+					v += projection[4 * k + r] * modelview[4 * c + k];
+
+				m[4 * c + r] = v;
+			}
+		}
+
+		singular = !invert(m, inverse);
+		stale = false;
+		inversions++;
+	}
+
+	// Inverts a 4x4 matrix by cofactors. Returns false if it is singular.
+	private static boolean	invert(double[] a, double[] b)
+	{
+		b[0] = a[5]*a[10]*a[15] - a[5]*a[11]*a[14] - a[9]*a[6]*a[15] +
+			a[9]*a[7]*a[14] + a[13]*a[6]*a[11] - a[13]*a[7]*a[10];
+		b[4] = -a[4]*a[10]*a[15] + a[4]*a[11]*a[14] + a[8]*a[6]*a[15] -
+			a[8]*a[7]*a[14] - a[12]*a[6]*a[11] + a[12]*a[7]*a[10];
+		b[8] = a[4]*a[9]*a[15] - a[4]*a[11]*a[13] - a[8]*a[5]*a[15] +
+			a[8]*a[7]*a[13] + a[12]*a[5]*a[11] - a[12]*a[7]*a[9];
+		b[12] = -a[4]*a[9]*a[14] + a[4]*a[10]*a[13] + a[8]*a[5]*a[14] -
+			a[8]*a[6]*a[13] - a[12]*a[5]*a[10] + a[12]*a[6]*a[9];
+		b[1] = -a[1]*a[10]*a[15] + a[1]*a[11]*a[14] + a[9]*a[2]*a[15] -
+			a[9]*a[3]*a[14] - a[13]*a[2]*a[11] + a[13]*a[3]*a[10];
+		b[5] = a[0]*a[10]*a[15] - a[0]*a[11]*a[14] - a[8]*a[2]*a[15] +
+			a[8]*a[3]*a[14] + a[12]*a[2]*a[11] - a[12]*a[3]*a[10];
+		b[9] = -a[0]*a[9]*a[15] + a[0]*a[11]*a[13] + a[8]*a[1]*a[15] -
+			a[8]*a[3]*a[13] - a[12]*a[1]*a[11] + a[12]*a[3]*a[9];
+		b[13] = a[0]*a[9]*a[14] - a[0]*a[10]*a[13] - a[8]*a[1]*a[14] +
+			a[8]*a[2]*a[13] + a[12]*a[1]*a[10] - a[12]*a[2]*a[9];
+		b[2] = a[1]*a[6]*a[15] - a[1]*a[7]*a[14] - a[5]*a[2]*a[15] +
+			a[5]*a[3]*a[14] + a[13]*a[2]*a[7] - a[13]*a[3]*a[6];
+		b[6] = -a[0]*a[6]*a[15] + a[0]*a[7]*a[14] + a[4]*a[2]*a[15] -
+			a[4]*a[3]*a[14] - a[12]*a[2]*a[7] + a[12]*a[3]*a[6];
+		b[10] = a[0]*a[5]*a[15] - a[0]*a[7]*a[13] - a[4]*a[1]*a[15] +
+			a[4]*a[3]*a[13] + a[12]*a[1]*a[7] - a[12]*a[3]*a[5];
+		b[14] = -a[0]*a[5]*a[14] + a[0]*a[6]*a[13] + a[4]*a[1]*a[14] -
+			a[4]*a[2]*a[13] - a[12]*a[1]*a[6] + a[12]*a[2]*a[5];
+		b[3] = -a[1]*a[6]*a[11] + a[1]*a[7]*a[10] + a[5]*a[2]*a[11] -
+			a[5]*a[3]*a[10] - a[9]*a[2]*a[7] + a[9]*a[3]*a[6];
+		b[7] = a[0]*a[6]*a[11] - a[0]*a[7]*a[10] - a[4]*a[2]*a[11] +
+			a[4]*a[3]*a[10] + a[8]*a[2]*a[7] - a[8]*a[3]*a[6];
+		b[11] = -a[0]*a[5]*a[11] + a[0]*a[7]*a[9] + a[4]*a[1]*a[11] -
+			a[4]*a[3]*a[9] - a[8]*a[1]*a[7] + a[8]*a[3]*a[5];
+		b[15] = a[0]*a[5]*a[10] - a[0]*a[6]*a[9] - a[4]*a[1]*a[10] +
+			a[4]*a[2]*a[9] + a[8]*a[1]*a[6] - a[8]*a[2]*a[5];
+
+		double	det = a[0] * b[0] + a[1] * b[4] + a[2] * b[8] + a[3] * b[12];
+
+		if (det == 0.0)
+			return false;
+
+		for (int i=0; i<16; i++)
+			b[i] /= det;
+
+		return true;
+	}
+}
+
+//******************************************************************************